@@ -0,0 +1,74 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compara dois resultados JSON do JMH (-rf json) e aponta regressões acima do limite.
+// Uso: BenchmarkComparison <antes.json> <depois.json> [limite em %, padrão 10]
+// Sai com código 1 se algum benchmark piorou além do limite, para poder ser usado no CI.
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BenchmarkComparison <antes.json> <depois.json> [limite%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> before = read(new File(args[0]));
+        Map<String, Score> after = read(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "antes", "depois", "variação");
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = before.get(entry.getKey());
+            if (previous == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  (novo)%n", entry.getKey(), "-", current.value(), "-");
+                continue;
+            }
+            // Em throughput maior é melhor; nos demais modos (tempo), menor é melhor
+            double change = (current.value() - previous.value()) / previous.value() * 100.0;
+            double worsening = current.higherIsBetter() ? -change : change;
+            boolean flag = worsening > threshold;
+            regressed |= flag;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), previous.value(), current.value(), change,
+                    flag ? "  REGRESSÃO" : "");
+        }
+        for (String removed : before.keySet()) {
+            if (!after.containsKey(removed)) {
+                System.out.printf("%-90s  (removido)%n", removed);
+            }
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(" ").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            key.append(" [").append(run.path("primaryMetric").path("scoreUnit").asText()).append(']');
+            scores.put(key.toString(), new Score(run.path("primaryMetric").path("score").asDouble(),
+                    "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private record Score(double value, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.dto.CategorySuggestion;
+import com.gustavoresende.FinApp.services.categorization.NaiveBayesModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Vazão da categorização de um lote de importação em uma thread (meta: 100 mil descrições/s).
+// O score sai em descrições por segundo.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategorizationBenchmark {
+
+    private static final int BATCH = 10_000;
+    private static final String[] MERCHANTS = {"Supermercado Dia", "Mercado Livre", "Padaria Pão de Açúcar", "Farmácia São João",
+            "Posto Ipiranga", "Uber Trip", "iFood Restaurante", "Netflix", "Spotify", "Aluguel Apartamento", "Drogaria Raia",
+            "Café Central", "Livraria Cultura", "Academia Smart Fit", "Energia Elétrica", "Internet Fibra", "Pet Shop Cobasi",
+            "Cinema Cinemark", "Estacionamento Estapar", "Seguro Auto Porto", "Escola Inglês", "Amazon Marketplace"};
+
+    private NaiveBayesModel model;
+    private List<String> batch;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        model = new NaiveBayesModel();
+        // 100 mil transações de histórico em 30 categorias
+        for (int i = 0; i < 100_000; i++) {
+            int merchant = random.nextInt(MERCHANTS.length);
+            long category = random.nextInt(10) == 0 ? random.nextInt(30) + 1 : merchant + 1;
+            model.learn(MERCHANTS[merchant] + " " + random.nextInt(1000), category, 1);
+        }
+        batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            batch.add(MERCHANTS[random.nextInt(MERCHANTS.length)].toUpperCase() + " *" + random.nextInt(100_000));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<CategorySuggestion> categorizeBatch() {
+        return model.predict(batch, 0.8);
+    }
+}
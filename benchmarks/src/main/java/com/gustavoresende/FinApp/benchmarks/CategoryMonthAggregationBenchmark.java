@@ -0,0 +1,89 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Agregação por categoria e mês sobre 1 milhão de transações em memória: o custo de base
+// que qualquer relatório calculado no servidor paga antes de tocar no banco
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class CategoryMonthAggregationBenchmark {
+
+    private static final int TRANSACTIONS = 1_000_000;
+    private static final int CATEGORIES = 40;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Category[] categories = new Category[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories[i] = new Category();
+            categories[i].setId((long) i + 1);
+        }
+        transactions = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 500_000), 2);
+            TransactionType type = random.nextInt(10) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            Transaction transaction = new Transaction(amount, "Lançamento " + i, FIRST_DAY.plusDays(random.nextInt(5 * 365)), type,
+                    categories[random.nextInt(CATEGORIES)], null, null);
+            transaction.setId((long) i + 1);
+            transactions.add(transaction);
+        }
+    }
+
+    @Benchmark
+    public Map<CategoryMonth, BigDecimal> groupingByCollector() {
+        return transactions.stream().collect(Collectors.groupingBy(
+                t -> new CategoryMonth(t.getCategory().getId(), YearMonth.from(t.getDate()), t.getType()),
+                Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+    }
+
+    @Benchmark
+    public Map<CategoryMonth, BigDecimal> mergeLoop() {
+        Map<CategoryMonth, BigDecimal> totals = new HashMap<>();
+        for (Transaction t : transactions) {
+            totals.merge(new CategoryMonth(t.getCategory().getId(), YearMonth.from(t.getDate()), t.getType()),
+                    t.getAmount(), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<CategoryMonth, BigDecimal> parallelGroupingBy() {
+        return transactions.parallelStream().collect(Collectors.groupingByConcurrent(
+                t -> new CategoryMonth(t.getCategory().getId(), YearMonth.from(t.getDate()), t.getType()),
+                Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+    }
+
+    public record CategoryMonth(Long categoryId, YearMonth month, TransactionType type) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.services.analytics.TransactionColumns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Os mesmos relatórios de CategoryMonthAggregationBenchmark, sobre as colunas do cache analítico
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ColumnarAggregationBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    @Param({"100000", "1000000"})
+    private int transactions;
+
+    private TransactionColumns columns;
+    private int fromDay;
+    private int toDay;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        TransactionColumns.Builder builder = new TransactionColumns.Builder(transactions);
+        for (int i = 0; i < transactions; i++) {
+            builder.add(i + 1, random.nextLong(1, 500_000), (int) FIRST_DAY.plusDays(random.nextInt(5 * 365)).toEpochDay(),
+                    random.nextInt(40) + 1, random.nextInt(3) + 1, random.nextInt(10) == 0);
+        }
+        columns = builder.build();
+        fromDay = (int) FIRST_DAY.toEpochDay();
+        toDay = (int) FIRST_DAY.plusYears(5).toEpochDay();
+    }
+
+    @Benchmark
+    public long[] sumPeriod() {
+        return columns.sum(fromDay, toDay);
+    }
+
+    @Benchmark
+    public long[] sumByCategory() {
+        return columns.sumByCategory(fromDay, toDay);
+    }
+
+    @Benchmark
+    public long[] sumByMonth() {
+        return columns.sumByMonth(fromDay, toDay);
+    }
+}
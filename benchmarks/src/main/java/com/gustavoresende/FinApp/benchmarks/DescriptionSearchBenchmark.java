@@ -0,0 +1,81 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.TransactionSearch;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchResult;
+import com.gustavoresende.FinApp.services.search.DescriptionIndex;
+import com.gustavoresende.FinApp.services.search.SearchMatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Latência da busca textual por usuário (meta: poucos milissegundos com centenas de milhares de transações)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DescriptionSearchBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final String[] MERCHANTS = {"Supermercado Dia", "Mercado Livre", "Padaria Pão de Açúcar", "Farmácia São João",
+            "Posto Ipiranga", "Uber Trip", "iFood Restaurante", "Netflix", "Spotify", "Aluguel Apartamento", "Drogaria Raia",
+            "Café Central", "Livraria Cultura", "Academia Smart Fit", "Energia Elétrica", "Internet Fibra"};
+
+    @Param({"100000", "500000"})
+    private int transactions;
+
+    private DescriptionIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new DescriptionIndex(transactions);
+        for (int i = 0; i < transactions; i++) {
+            String description = MERCHANTS[random.nextInt(MERCHANTS.length)] + " #" + random.nextInt(100_000);
+            index.put(new TransactionSearchHit((long) i + 1, FIRST_DAY.plusDays(random.nextInt(5 * 365)), description,
+                    BigDecimal.valueOf(random.nextLong(1, 500_000), 2), TransactionType.EXPENSE, 1L, random.nextLong(1, 41)));
+        }
+    }
+
+    @Benchmark
+    public TransactionSearchResult prefix() {
+        return index.search(query("farm", SearchMatch.PREFIX, null, null, null), 50);
+    }
+
+    @Benchmark
+    public TransactionSearchResult substring() {
+        return index.search(query("mercado", SearchMatch.SUBSTRING, null, null, null), 50);
+    }
+
+    // Vários termos (E) com filtros de data, valor e categoria
+    @Benchmark
+    public TransactionSearchResult multiTermFiltered() {
+        return index.search(query("pao acucar", SearchMatch.PREFIX, 7L, FIRST_DAY.plusYears(1), new BigDecimal("100.00")), 50);
+    }
+
+    // Termo de duas letras, resolvido pelos bigramas
+    @Benchmark
+    public TransactionSearchResult shortTerm() {
+        return index.search(query("ub", SearchMatch.SUBSTRING, null, null, null), 50);
+    }
+
+    private static TransactionSearch query(String text, SearchMatch match, Long categoryId, LocalDate from, BigDecimal maxAmount) {
+        return new TransactionSearch(text, match, categoryId, from, null, null, maxAmount);
+    }
+}
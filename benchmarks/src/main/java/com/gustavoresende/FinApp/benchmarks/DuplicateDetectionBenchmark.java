@@ -0,0 +1,68 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.services.duplicates.FingerprintBloomFilter;
+import com.gustavoresende.FinApp.services.duplicates.Fingerprints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Custo do pré-filtro por linha importada (impressão digital + consulta ao Bloom na janela de ±2 dias),
+// a etapa que evita ir ao banco para as linhas novas de um extrato
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DuplicateDetectionBenchmark {
+
+    private static final int CHUNK = 1000;
+    private static final String[] MERCHANTS = {"Supermercado Dia", "Mercado Livre", "Padaria Pão de Açúcar", "Farmácia São João",
+            "Posto Ipiranga", "Uber Trip", "iFood Restaurante", "Netflix", "Spotify", "Drogaria Raia"};
+
+    @Param({"100000", "1000000"})
+    private int existing;
+
+    private FingerprintBloomFilter filter;
+    private String[] descriptions;
+    private long[] days;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        filter = new FingerprintBloomFilter(2L * existing, 0.01);
+        for (int i = 0; i < existing; i++) {
+            String description = MERCHANTS[random.nextInt(MERCHANTS.length)] + " #" + random.nextInt(100_000);
+            filter.add(Fingerprints.of(1L, TransactionType.EXPENSE, description), 18_000 + random.nextInt(5 * 365));
+        }
+        descriptions = new String[CHUNK];
+        days = new long[CHUNK];
+        for (int i = 0; i < CHUNK; i++) {
+            descriptions[i] = MERCHANTS[random.nextInt(MERCHANTS.length)] + " #" + random.nextInt(100_000);
+            days[i] = 18_000 + random.nextInt(5 * 365);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void prefilterChunk(Blackhole blackhole) {
+        for (int i = 0; i < CHUNK; i++) {
+            long fingerprint = Fingerprints.of(1L, TransactionType.EXPENSE, descriptions[i]);
+            blackhole.consume(filter.mightContain(fingerprint, days[i] - 2, days[i] + 2));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// equals/hashCode das entidades usadas como chave em coleções (deduplicação, agrupamentos,
+// contexto de persistência). Mede a montagem das coleções e as buscas com cópias "destacadas"
+// das mesmas entidades, que é o caso comum depois de um merge ou de uma nova sessão.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityHashingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private User[] users;
+    private User[] userLookups;
+    private Transaction[] transactions;
+    private Transaction[] transactionLookups;
+    private Set<User> userSet;
+    private Map<Transaction, Integer> transactionMap;
+
+    @Setup
+    public void setUp() {
+        users = new User[size];
+        userLookups = new User[size];
+        transactions = new Transaction[size];
+        transactionLookups = new Transaction[size];
+        for (int i = 0; i < size; i++) {
+            users[i] = user(i);
+            userLookups[i] = user(i);
+            transactions[i] = transaction(i);
+            transactionLookups[i] = transaction(i);
+        }
+        userSet = new HashSet<>(Arrays.asList(users));
+        transactionMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            transactionMap.put(transactions[i], i);
+        }
+    }
+
+    @Benchmark
+    public Set<User> buildUserSet() {
+        Set<User> set = new HashSet<>(size * 2);
+        for (User user : users) {
+            set.add(user);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public void lookupUsers(Blackhole blackhole) {
+        for (User user : userLookups) {
+            blackhole.consume(userSet.contains(user));
+        }
+    }
+
+    @Benchmark
+    public Map<Transaction, Integer> buildTransactionMap() {
+        Map<Transaction, Integer> map = new HashMap<>(size * 2);
+        for (int i = 0; i < transactions.length; i++) {
+            map.put(transactions[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void lookupTransactions(Blackhole blackhole) {
+        for (Transaction transaction : transactionLookups) {
+            blackhole.consume(transactionMap.get(transaction));
+        }
+    }
+
+    private static User user(int i) {
+        User user = new User("usuario" + i + "@finapp.test", "$2a$10$hashhashhashhashhashhashhashhashhashhashhashhashhash" + i, "Usuário " + i);
+        user.setId((long) i + 1);
+        return user;
+    }
+
+    private static Transaction transaction(int i) {
+        Transaction transaction = new Transaction();
+        transaction.setId((long) i + 1);
+        return transaction;
+    }
+}
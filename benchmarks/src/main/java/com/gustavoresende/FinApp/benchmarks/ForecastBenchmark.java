@@ -0,0 +1,63 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.GoalStatus;
+import com.gustavoresende.FinApp.models.dto.RecurringRule;
+import com.gustavoresende.FinApp.services.forecast.ForecastEngine;
+import com.gustavoresende.FinApp.services.forecast.ForecastModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Projeção de 1.000 regras recorrentes (sem regras diárias) e 20 metas ao longo de 10 anos
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastBenchmark {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 1, 15);
+    private static final RecurrenceFrequency[] FREQUENCIES = {RecurrenceFrequency.WEEKLY, RecurrenceFrequency.FORTNIGHTLY,
+            RecurrenceFrequency.MONTHLY, RecurrenceFrequency.QUARTERLY, RecurrenceFrequency.SEMI_ANNUALLY, RecurrenceFrequency.ANNUAL};
+
+    private List<RecurringRule> rules;
+    private List<GoalStatus> goals;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rules = new ArrayList<>();
+        for (long i = 1; i <= 1000; i++) {
+            TransactionType type = random.nextInt(3) == 0 ? TransactionType.INCOME : TransactionType.EXPENSE;
+            rules.add(new RecurringRule(i, 1L, (long) random.nextInt(5) + 1, 1L, BigDecimal.valueOf(random.nextLong(100, 500_000), 2),
+                    "Regra " + i, AS_OF.minusDays(random.nextInt(2000)), type, FREQUENCIES[random.nextInt(FREQUENCIES.length)], null));
+        }
+        goals = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            goals.add(new GoalStatus(i, "Meta " + i, BigDecimal.valueOf(random.nextLong(100_000, 10_000_000), 2), BigDecimal.ZERO,
+                    AS_OF.plusMonths(random.nextInt(120))));
+        }
+    }
+
+    @Benchmark
+    public ForecastModel tenYears() {
+        return ForecastEngine.project(rules, goals, AS_OF, 120, 120);
+    }
+}
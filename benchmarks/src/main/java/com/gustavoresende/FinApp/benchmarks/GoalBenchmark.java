@@ -0,0 +1,50 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.Goal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Progresso e aporte de metas: chamados para cada meta em toda tela de resumo
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GoalBenchmark {
+
+    private static final BigDecimal CONTRIBUTION = new BigDecimal("37.45");
+
+    private Goal goal;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        goal = new Goal("Viagem", new BigDecimal("1000000000.00"), LocalDate.now().plusYears(1), null, null);
+        goal.setCurrentAmount(new BigDecimal("12345.67"));
+    }
+
+    @Benchmark
+    public double progressPercentage() {
+        return goal.getProgressPercentage();
+    }
+
+    // O alvo é alto o suficiente para a meta não ser atingida durante a iteração
+    @Benchmark
+    public BigDecimal addToCurrentAmount() {
+        goal.addToCurrentAmount(CONTRIBUTION);
+        return goal.getCurrentAmount();
+    }
+}
@@ -0,0 +1,100 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.UserAuthenticationService;
+import com.gustavoresende.FinApp.services.events.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Capacidade de login por núcleo, separando as duas partes do custo:
+// - passwordHash: só o BCrypt.matches na força configurada (finapp.security.bcrypt-strength);
+// - lookupCached / lookupMiss: UserAuthenticationService com o principal em cache ou recarregado
+//   (a busca aqui é um mapa em memória; no banco, a falta soma uma consulta por índice de username,
+//   medida em finapp.persistence.*);
+// - login: o DaoAuthenticationProvider inteiro, com o principal em cache.
+// Logins/s por nó ~ núcleos x login; se login ~ passwordHash, o que dimensiona o nó é a força do hash.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "senha-segura-123";
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private final int users = 10_000;
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+    private String[] usernames;
+    private UserAuthenticationService service;
+    private DaoAuthenticationProvider provider;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+        Map<String, UserPrincipal> byUsername = new HashMap<>();
+        usernames = new String[users];
+        for (int i = 0; i < users; i++) {
+            usernames[i] = "usuario" + i + "@finapp.test";
+            byUsername.put(usernames[i], new UserPrincipal((long) i + 1, usernames[i], hash));
+        }
+        service = new UserAuthenticationService(username -> Optional.ofNullable(byUsername.get(username)),
+                new SimpleMeterRegistry(), 2L * users, Duration.ofHours(1), users, Duration.ofHours(1));
+        for (String username : usernames) {
+            service.loadUserByUsername(username);
+        }
+        provider = new DaoAuthenticationProvider(encoder);
+        provider.setUserDetailsService(service);
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public boolean passwordHash() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public UserDetails lookupCached() {
+        return service.loadUserByUsername(usernames[random.nextInt(users)]);
+    }
+
+    @Benchmark
+    public UserDetails lookupMiss() {
+        String username = usernames[random.nextInt(users)];
+        service.onUserChanged(new UserChangedEvent(null, username));
+        return service.loadUserByUsername(username);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(usernames[random.nextInt(users)], PASSWORD));
+    }
+}
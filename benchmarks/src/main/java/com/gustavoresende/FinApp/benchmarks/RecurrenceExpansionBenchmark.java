@@ -0,0 +1,46 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Expansão de uma regra recorrente em todas as suas ocorrências num horizonte de 10 anos,
+// do mesmo jeito que a materialização noturna percorre as regras
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurrenceExpansionBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 31);
+    private static final LocalDate END = START.plusYears(10);
+
+    @Param
+    private RecurrenceFrequency frequency;
+
+    @Benchmark
+    public long expand(Blackhole blackhole) {
+        long index = 0;
+        LocalDate next = frequency.occurrence(START, index);
+        while (!next.isAfter(END)) {
+            blackhole.consume(next);
+            index++;
+            next = frequency.occurrence(START, index);
+        }
+        return index;
+    }
+}
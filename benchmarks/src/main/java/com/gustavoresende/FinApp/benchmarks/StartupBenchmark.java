@@ -0,0 +1,184 @@
+package com.gustavoresende.FinApp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Mede a partida do jar gerado pelo perfil fast-startup (mvn -Pfast-startup package, na raiz):
+// tempo do launch até a primeira resposta HTTP e RSS do processo nesse momento, com o H2 embutido
+// (perfil startup-bench) no lugar do MySQL. Cada variante sobe o mesmo jar extraído; as execuções
+// são intercaladas entre variantes para que ruído da máquina afete todas por igual.
+//
+// Uso: StartupBenchmark [diretório, padrão ../target/startup] [execuções, padrão 5]
+// O resultado vai para target/startup-result.json no formato do JMH (modo ss), então
+// BenchmarkComparison compara duas rodadas da mesma forma que os microbenchmarks.
+public final class StartupBenchmark {
+
+    private static final String JAR = "FinApp-0.0.1-SNAPSHOT-exec.jar";
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+
+    // Variantes: JVM comum, só Spring AOT, AOT + arquivo CDS do treino. Nenhuma cai em silêncio para
+    // a partida comum: sem as classes geradas pelo process-aot o Spring recusa subir com
+    // spring.aot.enabled=true, e com -Xshare:on a JVM recusa subir se não conseguir mapear o arquivo CDS
+    // (JVM ou classpath diferentes dos do treino)
+    private static final Map<String, List<String>> VARIANTS = new LinkedHashMap<>();
+
+    static {
+        VARIANTS.put("jit", List.of("-Dspring.aot.enabled=false", "-Xshare:auto"));
+        VARIANTS.put("aot", List.of("-Dspring.aot.enabled=true", "-Xshare:auto"));
+        VARIANTS.put("aot+cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa", "-Xshare:on"));
+    }
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(args.length > 0 ? args[0] : "../target/startup").toAbsolutePath().normalize();
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        if (!Files.exists(directory.resolve(JAR))) {
+            System.err.println("Jar não encontrado em " + directory + ". Rode mvn -Pfast-startup package na raiz.");
+            System.exit(2);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        VARIANTS.keySet().forEach(name -> samples.put(name, new ArrayList<>()));
+        // Uma rodada de aquecimento por variante (cache de disco do SO), descartada
+        for (int run = -1; run < runs; run++) {
+            for (Map.Entry<String, List<String>> variant : VARIANTS.entrySet()) {
+                Sample sample = launch(directory, variant.getValue(), client);
+                if (run >= 0) {
+                    samples.get(variant.getKey()).add(sample);
+                }
+            }
+        }
+
+        System.out.printf("%-10s %22s %22s%n", "variante", "primeira resposta (ms)", "RSS (MB)");
+        ArrayNode results = new ObjectMapper().createArrayNode();
+        for (Map.Entry<String, List<Sample>> entry : samples.entrySet()) {
+            double[] millis = entry.getValue().stream().mapToDouble(Sample::millis).toArray();
+            double[] rss = entry.getValue().stream().mapToDouble(s -> s.rssKb() / 1024.0).toArray();
+            System.out.printf("%-10s %22s %22s%n", entry.getKey(), summary(millis), summary(rss));
+            results.add(result(entry.getKey(), "timeToFirstRequest", "ms", millis));
+            results.add(result(entry.getKey(), "residentSetSize", "MB", rss));
+        }
+        File output = new File("target/startup-result.json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output, results);
+        System.out.println("Resultado: " + output.getAbsolutePath());
+    }
+
+    private static Sample launch(Path directory, List<String> jvmArgs, HttpClient client) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", JAR, "--spring.profiles.active=startup-bench", "--server.port=" + port));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        long start = System.nanoTime();
+        try {
+            // Qualquer status conta (sem credenciais o Spring Security redireciona para o login): o que
+            // se mede é o servidor atendendo, não a regra de acesso
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health")).build();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("A aplicação encerrou antes de responder: " + String.join(" ", command));
+                }
+                if (System.nanoTime() - start > TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Sem resposta em " + TIMEOUT);
+                }
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    break;
+                } catch (ConnectException e) {
+                    Thread.sleep(5);
+                }
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            return new Sample(millis, residentSetKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // VmRSS de /proc (Linux); 0 em sistemas sem procfs
+    private static long residentSetKb(long pid) {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D+", ""));
+                }
+            }
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String summary(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return "%.0f (%.0f..%.0f)".formatted(median(sorted), sorted[0], sorted[sorted.length - 1]);
+    }
+
+    private static double median(double[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+
+    // Mesmo formato do -rf json do JMH, com a mediana como score
+    private static ObjectNode result(String variant, String metric, String unit, double[] values) {
+        ObjectMapper mapper = new ObjectMapper();
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        ObjectNode run = mapper.createObjectNode();
+        run.put("benchmark", StartupBenchmark.class.getName() + "." + metric);
+        run.put("mode", "ss");
+        run.putObject("params").put("variant", variant);
+        ObjectNode primary = run.putObject("primaryMetric");
+        primary.put("score", median(sorted));
+        primary.put("scoreUnit", unit);
+        ArrayNode raw = primary.putArray("rawData").addArray();
+        Arrays.stream(values).forEach(raw::add);
+        return run;
+    }
+
+    private record Sample(double millis, long rssKb) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.gustavoresende.FinApp.configs;
+
+import com.gustavoresende.FinApp.services.BalanceCheckpointService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Reconstrução completa da balance_checkpoint na inicialização:
+// java -jar FinApp.jar --finapp.balance-history.rebuild=true
+@Component
+@ConditionalOnProperty(name = "finapp.balance-history.rebuild", havingValue = "true")
+public class BalanceCheckpointRebuildRunner implements ApplicationRunner {
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        balanceCheckpointService.rebuildAll();
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.gustavoresende.FinApp.configs;
+
+import com.gustavoresende.FinApp.services.DuplicateDetectionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Preenche transaction.fingerprint das transações gravadas antes da coluna existir:
+// java -jar FinApp.jar --finapp.duplicates.backfill=true
+@Component
+@ConditionalOnProperty(name = "finapp.duplicates.backfill", havingValue = "true")
+public class FingerprintBackfillRunner implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        duplicateDetectionService.backfillFingerprints(BATCH_SIZE);
+    }
+
+}
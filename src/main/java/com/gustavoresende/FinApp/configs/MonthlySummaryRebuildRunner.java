@@ -0,0 +1,24 @@
+package com.gustavoresende.FinApp.configs;
+
+import com.gustavoresende.FinApp.services.MonthlySummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Reconstrução completa da monthly_summary na inicialização:
+// java -jar FinApp.jar --finapp.monthly-summary.rebuild=true
+@Component
+@ConditionalOnProperty(name = "finapp.monthly-summary.rebuild", havingValue = "true")
+public class MonthlySummaryRebuildRunner implements ApplicationRunner {
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        monthlySummaryService.rebuildAll();
+    }
+
+}
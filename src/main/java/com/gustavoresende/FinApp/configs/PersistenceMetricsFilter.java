@@ -0,0 +1,80 @@
+package com.gustavoresende.FinApp.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Métricas de banco por endpoint (/actuator/metrics/finapp.persistence.statements?tag=uri:...):
+// comandos SQL, tempo JDBC e entidades carregadas em cada requisição. Acima do limite
+// configurado a requisição é registrada em log e contada em finapp.persistence.statements.excess;
+// os testes conferem que esse contador fica zerado, o que pega N+1 introduzidos em listagens. Nada
+// é lançado daqui: a resposta já foi escrita (e possivelmente enviada) quando a contagem fecha.
+@Component
+public class PersistenceMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long maxStatements;
+
+    public PersistenceMetricsFilter(MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory,
+                                    @Value("${finapp.persistence.max-statements-per-request:0}") long maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, event -> {
+                    PersistenceStats stats = PersistenceStats.current();
+                    if (stats != null) {
+                        stats.entityLoaded();
+                    }
+                });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        PersistenceStats stats = PersistenceStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PersistenceStats.end();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        DistributionSummary.builder("finapp.persistence.statements").baseUnit("statements")
+                .description("Comandos SQL executados por requisição")
+                .tags("uri", uri, "method", method).register(meterRegistry).record(stats.statements());
+        Timer.builder("finapp.persistence.jdbc").description("Tempo de execução JDBC por requisição")
+                .tags("uri", uri, "method", method).register(meterRegistry).record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("finapp.persistence.entity.loads").baseUnit("entities")
+                .description("Entidades carregadas por requisição")
+                .tags("uri", uri, "method", method).register(meterRegistry).record(stats.entityLoads());
+
+        if (maxStatements > 0 && stats.statements() > maxStatements) {
+            Counter.builder("finapp.persistence.statements.excess").description("Requisições acima do limite de comandos SQL")
+                    .tags("uri", uri, "method", method).register(meterRegistry).increment();
+            logger.warn("{} {} executou {} comandos SQL (limite: {})", method, uri, stats.statements(), maxStatements);
+        }
+    }
+}
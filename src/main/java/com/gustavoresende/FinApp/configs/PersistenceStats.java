@@ -0,0 +1,67 @@
+package com.gustavoresende.FinApp.configs;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contadores de acesso ao banco da requisição HTTP corrente: comandos JDBC executados, tempo
+// gasto neles e entidades carregadas. Ficam num ThreadLocal aberto pelo PersistenceMetricsFilter;
+// trabalho feito em outras threads só entra na conta se for embrulhado com propagate().
+public final class PersistenceStats {
+
+    private static final ThreadLocal<PersistenceStats> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong jdbcNanos = new AtomicLong();
+    private final AtomicLong entityLoads = new AtomicLong();
+
+    static PersistenceStats begin() {
+        PersistenceStats stats = new PersistenceStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static PersistenceStats current() {
+        return CURRENT.get();
+    }
+
+    // Faz a tarefa contabilizar na requisição que a criou (ex.: subconsultas em virtual threads)
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        PersistenceStats parent = CURRENT.get();
+        if (parent == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(parent);
+            try {
+                return task.call();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    void statementExecuted(long nanos) {
+        statements.incrementAndGet();
+        jdbcNanos.addAndGet(nanos);
+    }
+
+    void entityLoaded() {
+        entityLoads.incrementAndGet();
+    }
+
+    public long statements() {
+        return statements.get();
+    }
+
+    public long jdbcNanos() {
+        return jdbcNanos.get();
+    }
+
+    public long entityLoads() {
+        return entityLoads.get();
+    }
+}
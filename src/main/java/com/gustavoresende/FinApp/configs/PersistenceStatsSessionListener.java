@@ -0,0 +1,38 @@
+package com.gustavoresende.FinApp.configs;
+
+import org.hibernate.SessionEventListener;
+
+// Uma instância por Session (hibernate.session.events.auto). Cada execução JDBC, avulsa ou em
+// lote, conta como um comando; o tempo medido é o de execução no driver.
+public class PersistenceStatsSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        PersistenceStats stats = PersistenceStats.current();
+        if (stats != null) {
+            stats.statementExecuted(System.nanoTime() - start);
+        }
+    }
+}
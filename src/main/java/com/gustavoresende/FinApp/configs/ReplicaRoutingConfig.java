@@ -0,0 +1,94 @@
+package com.gustavoresende.FinApp.configs;
+
+import com.gustavoresende.FinApp.configs.routing.ReadYourWritesFilter;
+import com.gustavoresende.FinApp.configs.routing.ReplicaLagMonitor;
+import com.gustavoresende.FinApp.configs.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Leituras em réplicas (finapp.replicas.enabled=true). O DataSource da aplicação passa a ser um
+// LazyConnectionDataSourceProxy: a conexão física só é obtida no primeiro comando, quando o
+// gerenciador de transações já marcou a conexão como somente leitura. Transações readOnly vão para
+// o ReplicaRoutingDataSource (rodízio entre réplicas saudáveis); as demais, para o primário.
+@Configuration
+@ConditionalOnProperty(name = "finapp.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    // O pool do primário continua configurado por spring.datasource.* e spring.datasource.hikari.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Um pool por URL em finapp.replicas.urls[i] (indexado: URLs JDBC podem conter vírgulas);
+    // usuário e senha, se omitidos, são os do primário
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                               MeterRegistry meterRegistry, Environment environment,
+                                               @Value("${finapp.replicas.username:}") String username,
+                                               @Value("${finapp.replicas.password:}") String password,
+                                               @Value("${finapp.replicas.maximum-pool-size:10}") int maximumPoolSize,
+                                               @Value("${finapp.replicas.max-lag-ms:2000}") long maxLagMillis) {
+        List<String> urls = Binder.get(environment).bind("finapp.replicas.urls", Bindable.listOf(String.class)).orElse(List.of());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .username(username.isEmpty() ? properties.determineUsername() : username)
+                    .password(password.isEmpty() ? properties.determinePassword() : password)
+                    .build();
+            replica.setPoolName(name);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        return new ReplicaLagMonitor(primaryDataSource, replicas, maxLagMillis, meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                                      MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        return proxy;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${finapp.replicas.sticky-window:5s}") Duration stickyWindow) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyWindow));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gustavoresende.FinApp.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+
+// Login pelo UserDetailsService (UserAuthenticationService) com este PasswordEncoder: o usuário em
+// memória gerado na inicialização deixa de existir. Os usuários são criados pelo cadastro (POST /user).
+@Configuration
+public class SecurityConfig {
+
+    // A cadeia padrão do Spring Boot (tudo autenticado, form login e HTTP Basic), com o cadastro
+    // aberto. /error também: sem ele, um 400 do cadastro anônimo viraria 401 no despacho de erro
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        http.authorizeHttpRequests(requests -> requests
+                .requestMatchers(HttpMethod.POST, "/user").permitAll()
+                .requestMatchers("/error").permitAll()
+                .anyRequest().authenticated());
+        http.formLogin(Customizer.withDefaults());
+        http.httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+
+    // Cada ponto de força dobra o custo do hash (e do login); ver LoginBenchmark antes de mudar
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${finapp.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
@@ -0,0 +1,61 @@
+package com.gustavoresende.FinApp.configs.routing;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+// Marca a thread atual para ler do primário mesmo em transações readOnly. Usado pelo filtro de
+// "read-your-writes" e pelas cargas de caches em memória que depois são mantidos por eventos
+// (montados a partir de uma réplica atrasada, perderiam as escritas recentes para sempre).
+// Só tem efeito quando o roteamento para réplicas está ligado.
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PRIMARY.get());
+    }
+
+    // A conexão é escolhida no primeiro comando da transação: work deve abrir a própria transação
+    // (ou ser o primeiro acesso ao banco dentro dela)
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = pin();
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // Leva a marcação da thread atual para uma tarefa executada em outra thread (ex.: as partes do
+    // dashboard, cada uma numa virtual thread)
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        if (!isPinnedToPrimary()) {
+            return task;
+        }
+        return () -> {
+            Boolean previous = pin();
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    static Boolean pin() {
+        Boolean previous = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            PRIMARY.remove();
+        } else {
+            PRIMARY.set(previous);
+        }
+    }
+}
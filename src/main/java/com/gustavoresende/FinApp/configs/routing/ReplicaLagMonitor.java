@@ -0,0 +1,103 @@
+package com.gustavoresende.FinApp.configs.routing;
+
+import com.gustavoresende.FinApp.models.ReplicaHeartbeat;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Atraso de cada réplica medido por heartbeat (no estilo do pt-heartbeat, sem privilégios extras
+// no MySQL): a cada intervalo grava o relógio atual no primário e lê o último valor replicado em
+// cada réplica. Réplicas acima de max-lag, ou que não respondem, saem do rodízio até a próxima
+// medição abaixo do limite; sem nenhuma réplica saudável as leituras vão para o primário.
+public class ReplicaLagMonitor implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final Map<String, DataSource> dataSources;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final long maxLagMillis;
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+    private volatile List<String> healthy = List.of();
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.maxLagMillis = maxLagMillis;
+        replicas.forEach((name, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(2);
+            this.replicas.put(name, jdbcTemplate);
+            Gauge.builder("finapp.datasource.replica.lag", lags, l -> l.getOrDefault(name, -1L) / 1000.0)
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .description("Atraso da réplica (-1: sem medição)")
+                    .register(meterRegistry);
+        });
+    }
+
+    public Map<String, DataSource> dataSources() {
+        return dataSources;
+    }
+
+    // Réplicas aptas a receber leituras, na ordem da configuração
+    public List<String> healthy() {
+        return healthy;
+    }
+
+    @Scheduled(fixedDelayString = "${finapp.replicas.heartbeat-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = ?", now, ReplicaHeartbeat.ID) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (?, ?)", ReplicaHeartbeat.ID, now);
+            }
+        } catch (RuntimeException e) {
+            // Sem heartbeat novo as réplicas parecem atrasadas e as leituras voltam para o primário
+            logger.warn("Falha ao gravar o heartbeat das réplicas no primário", e);
+        }
+        List<String> next = new ArrayList<>(replicas.size());
+        replicas.forEach((name, jdbcTemplate) -> {
+            long lag;
+            try {
+                List<Long> beats = jdbcTemplate.queryForList("SELECT beat_at FROM replica_heartbeat WHERE id = ?", Long.class,
+                        ReplicaHeartbeat.ID);
+                lag = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, now - beats.getFirst());
+            } catch (RuntimeException e) {
+                logger.debug("Réplica {} não respondeu ao heartbeat", name, e);
+                lag = Long.MAX_VALUE;
+            }
+            lags.put(name, lag == Long.MAX_VALUE ? -1L : lag);
+            if (lag <= maxLagMillis) {
+                next.add(name);
+            }
+        });
+        if (!next.equals(healthy)) {
+            logger.info("Réplicas no rodízio de leitura: {} (de {})", next, replicas.keySet());
+        }
+        healthy = List.copyOf(next);
+    }
+
+    // Os pools das réplicas são criados pela configuração de roteamento e fechados junto com o monitor
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources.values()) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.gustavoresende.FinApp.configs.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Destino das conexões somente leitura (LazyConnectionDataSourceProxy#setReadOnlyDataSource):
+// rodízio entre as réplicas saudáveis; primário quando a thread está fixada nele (escrita recente
+// do cliente, carga de cache) ou quando nenhuma réplica está dentro do atraso aceito.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> reads = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        Map<Object, Object> targets = new HashMap<>(lagMonitor.dataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        for (Object name : targets.keySet()) {
+            reads.put((String) name, Counter.builder("finapp.datasource.reads").tag("target", (String) name).register(meterRegistry));
+        }
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = PRIMARY;
+        if (!ReadRouting.isPinnedToPrimary()) {
+            List<String> healthy = lagMonitor.healthy();
+            if (!healthy.isEmpty()) {
+                target = healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+            }
+        }
+        reads.get(target).increment();
+        return target;
+    }
+}
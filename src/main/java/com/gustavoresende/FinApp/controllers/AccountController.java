@@ -0,0 +1,120 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Account.CreateAccount;
+import com.gustavoresende.FinApp.models.Account.UpdateAccount;
+import com.gustavoresende.FinApp.models.dto.AccountBalance;
+import com.gustavoresende.FinApp.models.dto.AccountBalanceAt;
+import com.gustavoresende.FinApp.models.dto.BalancePoint;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.AccountService;
+import com.gustavoresende.FinApp.services.BalanceCheckpointService;
+import com.gustavoresende.FinApp.services.DataVersionService;
+import com.gustavoresende.FinApp.services.JsonStreamingService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/account")
+@Validated
+public class AccountController {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private JsonStreamingService jsonStreamingService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Leituras devolvem projeções (records), nunca a entidade: nada de LAZY nem recursão na serialização
+    @GetMapping("/{id}")
+    public ResponseEntity<AccountBalance> findById(@PathVariable Long id) {
+        return ResponseEntity.ok().body(this.accountService.findViewById(id));
+    }
+
+    // Escrita em streaming na própria requisição: uma consulta, linha a linha para o JsonGenerator.
+    // ETag pela versão dos dados do usuário: sem escrita desde a última leitura, 304 sem consultar a lista
+    @GetMapping("/user/{userId}")
+    public void findAllByUserId(@PathVariable Long userId,
+                                @AuthenticationPrincipal UserPrincipal principal, WebRequest request, HttpServletResponse response) throws IOException {
+        UserAccess.checkOwner(principal, userId);
+        if (request.checkNotModified(this.dataVersionService.etag(userId))) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        this.dataVersionService.readFresh(() -> this.jsonStreamingService.writeArray(() -> this.accountService.streamAllByUserId(userId), out));
+    }
+
+    @PostMapping
+    @Validated(CreateAccount.class)
+    public ResponseEntity<Void> create(@Valid @RequestBody Account obj) {
+        this.accountService.create(obj);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(obj.getId()).toUri();
+        return ResponseEntity.created(uri).build();
+    }
+
+    @PutMapping("/{id}")
+    @Validated(UpdateAccount.class)
+    public ResponseEntity<Void> update(@Valid @RequestBody Account obj, @PathVariable Long id) {
+        obj.setId(id);
+        this.accountService.update(obj);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Saldo ao final de um dia, ex.: /account/1/balance?date=2019-03-15
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<AccountBalanceAt> balanceAt(@PathVariable Long id, @RequestParam LocalDate date) {
+        return ResponseEntity.ok().body(this.balanceCheckpointService.balanceAt(id, date));
+    }
+
+    // Saldo de fechamento de cada mês, ex.: /account/1/balance-history?from=2015-01&to=2025-12
+    @GetMapping("/{id}/balance-history")
+    public ResponseEntity<List<BalancePoint>> balanceHistory(@PathVariable Long id,
+                                                             @RequestParam YearMonth from,
+                                                             @RequestParam YearMonth to) {
+        return ResponseEntity.ok().body(this.balanceCheckpointService.history(id, from, to));
+    }
+
+    @PostMapping("/{id}/balance-history/rebuild")
+    public ResponseEntity<Void> rebuildBalanceHistory(@PathVariable Long id) {
+        this.balanceCheckpointService.rebuild(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        this.accountService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.dto.CategoryTotal;
+import com.gustavoresende.FinApp.models.dto.MonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.PeriodTotals;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.TransactionAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+// Relatórios sobre qualquer intervalo de datas, calculados em memória (não dependem do resumo mensal)
+@RestController
+@RequestMapping("/analytics")
+@Validated
+public class AnalyticsController {
+
+    @Autowired
+    private TransactionAnalyticsService transactionAnalyticsService;
+
+    // Receitas, despesas e saldo do período, ex.: /analytics/user/1?from=2025-01-01&to=2025-03-31
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<PeriodTotals> findTotals(@PathVariable Long userId,
+                                                   @AuthenticationPrincipal UserPrincipal principal,
+                                                   @RequestParam LocalDate from,
+                                                   @RequestParam LocalDate to) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.transactionAnalyticsService.findTotals(userId, from, to));
+    }
+
+    @GetMapping("/user/{userId}/categories")
+    public ResponseEntity<List<CategoryTotal>> findCategoryTotals(@PathVariable Long userId,
+                                                                  @AuthenticationPrincipal UserPrincipal principal,
+                                                                  @RequestParam LocalDate from,
+                                                                  @RequestParam LocalDate to) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.transactionAnalyticsService.findCategoryTotals(userId, from, to));
+    }
+
+    @GetMapping("/user/{userId}/months")
+    public ResponseEntity<List<MonthlyTotal>> findMonthlyTotals(@PathVariable Long userId,
+                                                                @AuthenticationPrincipal UserPrincipal principal,
+                                                                @RequestParam YearMonth from,
+                                                                @RequestParam YearMonth to) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.transactionAnalyticsService.findMonthlyTotals(userId, from, to));
+    }
+
+}
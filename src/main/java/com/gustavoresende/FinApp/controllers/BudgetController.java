@@ -0,0 +1,64 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.dto.BudgetAlertView;
+import com.gustavoresende.FinApp.models.dto.BudgetStatus;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.BudgetService;
+import jakarta.validation.constraints.DecimalMin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/budget")
+@Validated
+public class BudgetController {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    // Define (ou troca) o limite mensal da categoria, ex.: PUT /budget/category/3?limit=800.00
+    @PutMapping("/category/{categoryId}")
+    public ResponseEntity<Void> setLimit(@PathVariable Long categoryId,
+                                         @RequestParam @DecimalMin(value = "0.01", message = "O limite mensal deve ser positivo e maior que zero.") BigDecimal limit) {
+        this.budgetService.setLimit(categoryId, limit);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/category/{categoryId}")
+    public ResponseEntity<Void> removeLimit(@PathVariable Long categoryId) {
+        this.budgetService.removeLimit(categoryId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Limite x gasto de cada categoria com orçamento, ex.: /budget/user/1?month=2025-03 (padrão: mês atual)
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<BudgetStatus>> findStatus(@PathVariable Long userId,
+                                                         @AuthenticationPrincipal UserPrincipal principal,
+                                                         @RequestParam(required = false) YearMonth month) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.budgetService.findStatus(userId, month != null ? month : YearMonth.now()));
+    }
+
+    // Alertas mais recentes primeiro
+    @GetMapping("/user/{userId}/alerts")
+    public ResponseEntity<List<BudgetAlertView>> findAlerts(@PathVariable Long userId,
+                                                            @AuthenticationPrincipal UserPrincipal principal,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.budgetService.findAlerts(userId, limit));
+    }
+
+}
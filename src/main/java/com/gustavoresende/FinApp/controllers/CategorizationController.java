@@ -0,0 +1,34 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.dto.CategorizationResult;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.CategorizationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/categorization")
+@Validated
+public class CategorizationController {
+
+    @Autowired
+    private CategorizationService categorizationService;
+
+    // Sugere categorias para um lote de descrições (JSON: ["UBER *TRIP", "PADARIA REAL", ...])
+    @PostMapping("/user/{userId}")
+    public ResponseEntity<CategorizationResult> categorize(@PathVariable Long userId,
+                                                           @AuthenticationPrincipal UserPrincipal principal, @RequestBody List<String> descriptions) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.categorizationService.categorize(userId, descriptions));
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Category.CreateCategory;
+import com.gustavoresende.FinApp.models.Category.UpdateCategory;
+import com.gustavoresende.FinApp.models.dto.CategoryListItem;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.CategoryService;
+import com.gustavoresende.FinApp.services.DataVersionService;
+import com.gustavoresende.FinApp.services.JsonStreamingService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/category")
+@Validated
+public class CategoryController {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JsonStreamingService jsonStreamingService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CategoryListItem> findById(@PathVariable Long id) {
+        return ResponseEntity.ok().body(this.categoryService.findViewById(id));
+    }
+
+    @GetMapping("/user/{userId}")
+    public void findAllByUserId(@PathVariable Long userId,
+                                @AuthenticationPrincipal UserPrincipal principal, WebRequest request, HttpServletResponse response) throws IOException {
+        UserAccess.checkOwner(principal, userId);
+        if (request.checkNotModified(this.dataVersionService.etag(userId))) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        this.dataVersionService.readFresh(() -> this.jsonStreamingService.writeArray(() -> this.categoryService.streamAllByUserId(userId), out));
+    }
+
+    @PostMapping
+    @Validated(CreateCategory.class)
+    public ResponseEntity<Void> create(@Valid @RequestBody Category obj) {
+        this.categoryService.create(obj);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(obj.getId()).toUri();
+        return ResponseEntity.created(uri).build();
+    }
+
+    @PutMapping("/{id}")
+    @Validated(UpdateCategory.class)
+    public ResponseEntity<Void> update(@Valid @RequestBody Category obj, @PathVariable Long id) {
+        obj.setId(id);
+        this.categoryService.update(obj);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        this.categoryService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+}
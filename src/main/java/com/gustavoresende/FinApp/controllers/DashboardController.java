@@ -0,0 +1,66 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.services.DashboardService;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.DashboardService.RenderedDashboard;
+import com.gustavoresende.FinApp.services.DataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/dashboard")
+@Validated
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    // Contas, metas, gastos do mês por categoria e últimas transações numa só chamada. Com
+    // If-None-Match e nada alterado desde então, 304 sem montar nem ler o cache
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<byte[]> load(@PathVariable Long userId, @AuthenticationPrincipal UserPrincipal principal, WebRequest request) {
+        UserAccess.checkOwner(principal, userId);
+        YearMonth month = YearMonth.now();
+        long version = this.dataVersionService.current(userId);
+        String etag = DataVersionService.etag(userId, version, month);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        RenderedDashboard dashboard = this.dashboardService.render(userId, month, version);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (dashboard.partial()) {
+            // Parcial: sem ETag, senão o If-None-Match seguinte daria 304 e o cliente ficaria com ela
+            response.cacheControl(CacheControl.noStore());
+        } else {
+            response.eTag(etag);
+        }
+        return response.body(dashboard.json());
+    }
+
+    // Comparação fraca, como em checkNotModified, que não serve aqui por já gravar o ETag na resposta
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.dto.CashFlowForecast;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.ForecastService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/forecast")
+@Validated
+public class ForecastController {
+
+    @Autowired
+    private ForecastService forecastService;
+
+    // Saldo projetado de cada conta nos próximos meses e data prevista de cada meta
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<CashFlowForecast> forecast(@PathVariable Long userId,
+                                                     @AuthenticationPrincipal UserPrincipal principal,
+                                                     @RequestParam(defaultValue = "24") int months) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.forecastService.forecast(userId, months));
+    }
+
+}
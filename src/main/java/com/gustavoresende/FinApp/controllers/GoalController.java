@@ -0,0 +1,95 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.Goal.CreateGoal;
+import com.gustavoresende.FinApp.models.Goal.UpdateGoal;
+import com.gustavoresende.FinApp.models.dto.GoalListItem;
+import com.gustavoresende.FinApp.services.GoalService;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.DataVersionService;
+import com.gustavoresende.FinApp.services.JsonStreamingService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/goal")
+@Validated
+public class GoalController {
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private JsonStreamingService jsonStreamingService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<GoalListItem> findById(@PathVariable Long id) {
+        return ResponseEntity.ok().body(this.goalService.findViewById(id));
+    }
+
+    @GetMapping("/user/{userId}")
+    public void findAllByUserId(@PathVariable Long userId,
+                                @AuthenticationPrincipal UserPrincipal principal, WebRequest request, HttpServletResponse response) throws IOException {
+        UserAccess.checkOwner(principal, userId);
+        if (request.checkNotModified(this.dataVersionService.etag(userId))) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        this.dataVersionService.readFresh(() -> this.jsonStreamingService.writeArray(() -> this.goalService.streamAllByUserId(userId), out));
+    }
+
+    @PostMapping
+    @Validated(CreateGoal.class)
+    public ResponseEntity<Void> create(@Valid @RequestBody Goal obj) {
+        this.goalService.create(obj);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(obj.getId()).toUri();
+        return ResponseEntity.created(uri).build();
+    }
+
+    @PutMapping("/{id}")
+    @Validated(UpdateGoal.class)
+    public ResponseEntity<Void> update(@Valid @RequestBody Goal obj, @PathVariable Long id) {
+        obj.setId(id);
+        this.goalService.update(obj);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/contribution")
+    public ResponseEntity<Void> contribute(@PathVariable Long id, @RequestParam BigDecimal amount) {
+        this.goalService.contribute(id, amount);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        this.goalService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.dto.CategoryMonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.MonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.MonthlySummaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/monthly-summary")
+@Validated
+public class MonthlySummaryController {
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    // Receitas x despesas por mês, ex.: /monthly-summary/user/1?from=2025-01&to=2025-12
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<MonthlyTotal>> findMonthlyTotals(@PathVariable Long userId,
+                                                                @AuthenticationPrincipal UserPrincipal principal,
+                                                                @RequestParam YearMonth from,
+                                                                @RequestParam YearMonth to) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.monthlySummaryService.findMonthlyTotals(userId, from, to));
+    }
+
+    // Gasto/receita por categoria em cada mês do intervalo
+    @GetMapping("/user/{userId}/categories")
+    public ResponseEntity<List<CategoryMonthlyTotal>> findCategoryTotals(@PathVariable Long userId,
+                                                                         @AuthenticationPrincipal UserPrincipal principal,
+                                                                         @RequestParam YearMonth from,
+                                                                         @RequestParam YearMonth to) {
+        UserAccess.checkOwner(principal, userId);
+        return ResponseEntity.ok().body(this.monthlySummaryService.findCategoryTotals(userId, from, to));
+    }
+
+    @PostMapping("/user/{userId}/rebuild")
+    public ResponseEntity<Void> rebuild(@PathVariable Long userId, @AuthenticationPrincipal UserPrincipal principal) {
+        UserAccess.checkOwner(principal, userId);
+        this.monthlySummaryService.rebuild(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+}
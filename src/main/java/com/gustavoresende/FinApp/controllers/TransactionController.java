@@ -0,0 +1,142 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.Transaction.CreateTransaction;
+import com.gustavoresende.FinApp.models.Transaction.UpdateTransaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.CursorPage;
+import com.gustavoresende.FinApp.models.dto.TransactionDetail;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.TransactionListItem;
+import com.gustavoresende.FinApp.models.dto.TransactionSearch;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchResult;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.DataVersionService;
+import com.gustavoresende.FinApp.services.TransactionExportService;
+import com.gustavoresende.FinApp.services.TransactionSearchService;
+import com.gustavoresende.FinApp.services.TransactionService;
+import com.gustavoresende.FinApp.services.exports.ExportFormat;
+import com.gustavoresende.FinApp.services.search.SearchMatch;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/transaction")
+@Validated
+public class TransactionController {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TransactionDetail> findById(@PathVariable Long id) {
+        return ResponseEntity.ok().body(this.transactionService.findViewById(id));
+    }
+
+    // Histórico paginado por cursor: envie o nextCursor da resposta para obter a próxima página.
+    // Com If-None-Match e nenhuma escrita do usuário desde então, 304 sem consultar a página
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<CursorPage<TransactionListItem>> findAllByUserId(@PathVariable Long userId,
+                                                                           @AuthenticationPrincipal UserPrincipal principal,
+                                                                           @RequestParam(required = false) Long accountId,
+                                                                           @RequestParam(required = false) Long categoryId,
+                                                                           @RequestParam(required = false) TransactionType type,
+                                                                           @RequestParam(required = false) LocalDate from,
+                                                                           @RequestParam(required = false) LocalDate to,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "50") int size,
+                                                                           WebRequest request) {
+        UserAccess.checkOwner(principal, userId);
+        if (request.checkNotModified(this.dataVersionService.etag(userId))) {
+            return null;
+        }
+        TransactionFilter filter = new TransactionFilter(userId, accountId, categoryId, type, from, to);
+        return ResponseEntity.ok().body(this.dataVersionService.readFresh(() -> this.transactionService.findPage(filter, cursor, size)));
+    }
+
+    // Busca na descrição, ex.: /transaction/user/1/search?q=mercado+dia&match=PREFIX&from=2025-01-01&maxAmount=100
+    @GetMapping("/user/{userId}/search")
+    public ResponseEntity<TransactionSearchResult> search(@PathVariable Long userId,
+                                                          @AuthenticationPrincipal UserPrincipal principal,
+                                                          @RequestParam(defaultValue = "") String q,
+                                                          @RequestParam(defaultValue = "SUBSTRING") SearchMatch match,
+                                                          @RequestParam(required = false) Long categoryId,
+                                                          @RequestParam(required = false) LocalDate from,
+                                                          @RequestParam(required = false) LocalDate to,
+                                                          @RequestParam(required = false) BigDecimal minAmount,
+                                                          @RequestParam(required = false) BigDecimal maxAmount,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        UserAccess.checkOwner(principal, userId);
+        TransactionSearch query = new TransactionSearch(q, match, categoryId, from, to, minAmount, maxAmount);
+        return ResponseEntity.ok().body(this.transactionSearchService.search(userId, query, limit));
+    }
+
+    // Exporta o histórico completo (ou o intervalo informado) em CSV ou NDJSON, em streaming
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long userId,
+                                                        @AuthenticationPrincipal UserPrincipal principal,
+                                                        @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                        @RequestParam(required = false) LocalDate from,
+                                                        @RequestParam(required = false) LocalDate to) {
+        UserAccess.checkOwner(principal, userId);
+        StreamingResponseBody body = out -> this.transactionExportService.export(userId, from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transacoes." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    @PostMapping
+    @Validated(CreateTransaction.class)
+    public ResponseEntity<Void> create(@Valid @RequestBody Transaction obj) {
+        this.transactionService.create(obj);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}").buildAndExpand(obj.getId()).toUri();
+        return ResponseEntity.created(uri).build();
+    }
+
+    @PutMapping("/{id}")
+    @Validated(UpdateTransaction.class)
+    public ResponseEntity<Void> update(@Valid @RequestBody Transaction obj, @PathVariable Long id) {
+        obj.setId(id);
+        this.transactionService.update(obj);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        this.transactionService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+}
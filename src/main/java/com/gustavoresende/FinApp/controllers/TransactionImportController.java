@@ -0,0 +1,39 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.services.TransactionImportService;
+import com.gustavoresende.FinApp.services.imports.ImportFormat;
+import com.gustavoresende.FinApp.services.imports.ImportResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/transaction")
+@Validated
+public class TransactionImportController {
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    // O upload é mantido em disco pelo multipart (acima do limiar), e lido em streaming pelo serviço
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResult> importStatement(@RequestParam Long accountId,
+                                                        @RequestParam Long categoryId,
+                                                        @RequestParam(defaultValue = "CSV") ImportFormat format,
+                                                        @RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            ImportResult result = this.transactionImportService.importStatement(accountId, categoryId, format, input);
+            return ResponseEntity.ok().body(result);
+        }
+    }
+
+}
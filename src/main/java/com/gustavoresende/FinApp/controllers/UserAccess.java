@@ -0,0 +1,18 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.exceptions.ForbiddenAccessException;
+
+// Os endpoints /…/user/{userId} só atendem o próprio usuário autenticado: o id do caminho tem de ser
+// o do principal. Sem principal do tipo UserPrincipal (outro mecanismo de login) também é 403
+final class UserAccess {
+
+    private UserAccess() {
+    }
+
+    static void checkOwner(UserPrincipal principal, Long userId) {
+        if (principal == null || !principal.id().equals(userId)) {
+            throw new ForbiddenAccessException("Acesso negado aos dados do usuário " + userId + ".");
+        }
+    }
+}
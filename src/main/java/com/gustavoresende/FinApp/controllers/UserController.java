@@ -0,0 +1,43 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.User.CreateUser;
+import com.gustavoresende.FinApp.models.dto.PasswordChange;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.UserService;
+import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/user")
+@Validated
+public class UserController {
+
+    @Autowired
+    private UserService userService;
+
+    // Cadastro, aberto sem login (SecurityConfig). Grupos validados no próprio corpo: dado inválido é
+    // 400 (MethodArgumentNotValidException). Sem Location: não há leitura de usuário por id
+    @PostMapping
+    public ResponseEntity<Void> create(@Validated({CreateUser.class, Default.class}) @RequestBody User obj) {
+        this.userService.create(obj);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    // Troca a senha do próprio usuário autenticado
+    @PutMapping("/password")
+    public ResponseEntity<Void> updatePassword(@AuthenticationPrincipal UserPrincipal principal, @Valid @RequestBody PasswordChange obj) {
+        this.userService.updatePassword(principal, obj.currentPassword(), obj.newPassword());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,6 +2,7 @@ package com.gustavoresende.FinApp.models; // Ajuste o pacote conforme seu projet
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.Hibernate;
 import java.math.BigDecimal;
 import java.util.Objects;
 import java.util.Collections;
@@ -96,18 +97,26 @@ public class Account {
     }
 
     // --- Métodos utilitários para gerenciar coleções ---
+    // Só o lado dono (@ManyToOne em Transaction) é obrigatório. A coleção inversa só é
+    // atualizada se já estiver carregada, para não buscar todo o histórico a cada inserção.
     public void addTransaction(Transaction transaction) {
-        if (transaction != null && !this.transactions.contains(transaction)) {
+        if (transaction == null) {
+            return;
+        }
+        if (Hibernate.isInitialized(this.transactions) && !this.transactions.contains(transaction)) {
             this.transactions.add(transaction);
-            transaction.setAccount(this);
         }
+        transaction.setAccount(this);
     }
 
     public void removeTransaction(Transaction transaction) {
-        if (transaction != null && this.transactions.contains(transaction)) {
+        if (transaction == null) {
+            return;
+        }
+        if (Hibernate.isInitialized(this.transactions)) {
             this.transactions.remove(transaction);
-            transaction.setAccount(null);
         }
+        transaction.setAccount(null);
     }
 
     @Override
@@ -0,0 +1,74 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Variação líquida do saldo de uma conta em um mês (receitas - despesas) e quantidade de transações.
+// O saldo atual da conta é o ponto de partida: o saldo de fechamento de um mês M é o saldo atual
+// menos a soma das variações dos meses posteriores, então uma transação retroativa só altera a
+// linha do seu mês (ver BalanceCheckpointService), sem reescrever os fechamentos seguintes.
+@Entity
+@Table(name = "balance_checkpoint", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"account_id", "ref_month"}, name = "UK_BALANCE_CHECKPOINT_KEY")
+})
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "ref_month", nullable = false)
+    private LocalDate refMonth; // Sempre o primeiro dia do mês
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal net;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Construtor padrão
+    public BalanceCheckpoint() {
+        this.net = BigDecimal.ZERO;
+    }
+
+    // --- Getters ---
+    // Sem setters: as linhas só são alteradas pelos upserts do BalanceCheckpointRepository
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getRefMonth() {
+        return refMonth;
+    }
+
+    public BigDecimal getNet() {
+        return net;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BalanceCheckpoint that = (BalanceCheckpoint) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.Objects;
+
+// Alerta de orçamento: todos os limites que um lote de escritas fez o usuário ultrapassar,
+// agrupados numa única linha (ver BudgetService).
+@Entity
+@Table(name = "budget_alert", indexes = {
+        @Index(columnList = "user_id, id", name = "IDX_BUDGET_ALERT_USER")
+})
+public class BudgetAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Lob
+    @Column(nullable = false)
+    private String crossings; // JSON com a lista de BudgetCrossing
+
+    // Construtor padrão
+    public BudgetAlert() {
+    }
+
+    public BudgetAlert(Long userId, Instant createdAt, String crossings) {
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.crossings = crossings;
+    }
+
+    // --- Getters ---
+    // Sem setters: alertas não mudam depois de gravados
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getCrossings() {
+        return crossings;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BudgetAlert that = (BudgetAlert) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
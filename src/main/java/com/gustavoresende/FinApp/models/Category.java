@@ -2,12 +2,18 @@ package com.gustavoresende.FinApp.models; // Ajuste o pacote conforme seu projet
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
+// Cache de segundo nível (região "category", configurada em application.conf)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Table(name = "category", uniqueConstraints = {
         // Garante que um usuário não possa ter duas categorias com o mesmo nome
         @UniqueConstraint(columnNames = {"name", "user_id"}, name = "UK_CATEGORY_NAME_USER")
@@ -82,18 +88,26 @@ public class Category {
     }
 
     // --- Métodos utilitários para gerenciar coleções ---
+    // Só o lado dono (@ManyToOne em Transaction) é obrigatório. A coleção inversa só é
+    // atualizada se já estiver carregada, para não buscar todo o histórico a cada inserção.
     public void addTransaction(Transaction transaction) {
-        if (transaction != null && !this.transactions.contains(transaction)) {
+        if (transaction == null) {
+            return;
+        }
+        if (Hibernate.isInitialized(this.transactions) && !this.transactions.contains(transaction)) {
             this.transactions.add(transaction);
-            transaction.setCategory(this);
         }
+        transaction.setCategory(this);
     }
 
     public void removeTransaction(Transaction transaction) {
-        if (transaction != null && this.transactions.contains(transaction)) {
+        if (transaction == null) {
+            return;
+        }
+        if (Hibernate.isInitialized(this.transactions)) {
             this.transactions.remove(transaction);
-            transaction.setCategory(null);
         }
+        transaction.setCategory(null);
     }
 
     @Override
@@ -0,0 +1,72 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+// Limite de gasto mensal de uma Category. O gasto do mês não fica aqui: é a linha EXPENSE da
+// categoria no monthly_summary, atualizada por upsert atômico (ver BudgetService).
+@Entity
+@Table(name = "category_budget", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"category_id"}, name = "UK_CATEGORY_BUDGET_CATEGORY")
+})
+public class CategoryBudget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true)
+    private Long id;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "monthly_limit", nullable = false, precision = 19, scale = 2)
+    private BigDecimal monthlyLimit;
+
+    // Construtor padrão
+    public CategoryBudget() {
+    }
+
+    public CategoryBudget(Long categoryId, Long userId, BigDecimal monthlyLimit) {
+        this.categoryId = categoryId;
+        this.userId = userId;
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    // --- Getters e Setters ---
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public BigDecimal getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public void setMonthlyLimit(BigDecimal monthlyLimit) {
+        this.monthlyLimit = monthlyLimit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CategoryBudget that = (CategoryBudget) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Modelo de leitura para os dashboards: total e quantidade de transações por
+// (usuário, categoria, mês, tipo). Mantido incrementalmente a cada escrita em Transaction
+// (ver MonthlySummaryService), então as consultas custam O(categorias x meses).
+@Entity
+@Table(name = "monthly_summary", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "category_id", "ref_month", "type"}, name = "UK_MONTHLY_SUMMARY_KEY")
+})
+public class MonthlySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "ref_month", nullable = false)
+    private LocalDate refMonth; // Sempre o primeiro dia do mês
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // Construtor padrão
+    public MonthlySummary() {
+        this.total = BigDecimal.ZERO;
+    }
+
+    // --- Getters ---
+    // Sem setters: as linhas só são alteradas pelos upserts do MonthlySummaryRepository
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public LocalDate getRefMonth() {
+        return refMonth;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MonthlySummary that = (MonthlySummary) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,109 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+// Evento de escrita (Transaction, Account ou Goal) gravado na mesma transação de banco da escrita.
+// As visões derivadas (resumo mensal, alertas de orçamento) são atualizadas depois, pelo
+// OutboxService, que entrega e apaga as linhas em lotes ordenados por id dentro de cada partição.
+// A partição vem do usuário, então os eventos de um mesmo usuário são sempre entregues em ordem.
+// Uma linha que falha sozinha ganha novas tentativas com espera crescente (segurando só os eventos
+// seguintes do mesmo usuário) e, esgotadas as tentativas, fica estacionada (parked) fora da fila.
+@Entity
+@Table(name = "outbox_event", indexes = {
+        @Index(columnList = "partition_no, id", name = "IDX_OUTBOX_EVENT_PARTITION")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partitionNo;
+
+    @Column(nullable = false, length = 40)
+    private String type;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload; // JSON do evento (ver OutboxCodec)
+
+    @Column(name = "created_at", nullable = false)
+    private long createdAt; // Epoch em milissegundos
+
+    @Column(nullable = false)
+    private int attempts; // Entregas que falharam com esta linha isolada
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private long nextAttemptAt; // Epoch em milissegundos; 0 = pode ser entregue já
+
+    @Column(nullable = false)
+    private boolean parked;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Construtor padrão
+    public OutboxEvent() {
+    }
+
+    // --- Getters ---
+    // Sem setters: as linhas só são gravadas pelo OutboxEventRepository (append, recordFailure)
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getPartitionNo() {
+        return partitionNo;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public boolean isParked() {
+        return parked;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxEvent that = (OutboxEvent) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Última ocorrência já materializada de cada regra recorrente (Transaction com isRecurring = true).
+// É gravado na mesma transação das ocorrências geradas, então reiniciar o job não duplica linhas.
+@Entity
+@Table(name = "recurrence_checkpoint")
+public class RecurrenceCheckpoint {
+
+    @Id
+    @Column(name = "rule_id")
+    private Long ruleId; // Id da Transaction recorrente que serve de regra
+
+    @Column(name = "last_occurrence_index", nullable = false)
+    private long lastOccurrenceIndex; // 0 = a própria transação da regra
+
+    @Column(name = "last_occurrence_date", nullable = false)
+    private LocalDate lastOccurrenceDate;
+
+    // Construtor padrão
+    public RecurrenceCheckpoint() {
+    }
+
+    public RecurrenceCheckpoint(Long ruleId, long lastOccurrenceIndex, LocalDate lastOccurrenceDate) {
+        this.ruleId = ruleId;
+        this.lastOccurrenceIndex = lastOccurrenceIndex;
+        this.lastOccurrenceDate = lastOccurrenceDate;
+    }
+
+    // --- Getters e Setters ---
+    public Long getRuleId() {
+        return ruleId;
+    }
+
+    public void setRuleId(Long ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    public long getLastOccurrenceIndex() {
+        return lastOccurrenceIndex;
+    }
+
+    public void setLastOccurrenceIndex(long lastOccurrenceIndex) {
+        this.lastOccurrenceIndex = lastOccurrenceIndex;
+    }
+
+    public LocalDate getLastOccurrenceDate() {
+        return lastOccurrenceDate;
+    }
+
+    public void setLastOccurrenceDate(LocalDate lastOccurrenceDate) {
+        this.lastOccurrenceDate = lastOccurrenceDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurrenceCheckpoint that = (RecurrenceCheckpoint) o;
+        return Objects.equals(ruleId, that.ruleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ruleId);
+    }
+}
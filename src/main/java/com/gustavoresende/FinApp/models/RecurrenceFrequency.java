@@ -1,5 +1,8 @@
 package com.gustavoresende.FinApp.models;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
 public enum RecurrenceFrequency {
     DAILY,
     WEEKLY,
@@ -7,6 +10,41 @@ public enum RecurrenceFrequency {
     MONTHLY,
     QUARTERLY,   // Trimestral
     SEMI_ANNUALLY, // Semestral
-    ANNUAL
-            
+    ANNUAL;
+
+    // Data da n-ésima ocorrência (index 0 = a própria data inicial). Calculada sempre a partir
+    // da data inicial para não acumular desvio de fim de mês (31/01 -> 28/02 -> 31/03).
+    public LocalDate occurrence(LocalDate start, long index) {
+        return switch (this) {
+            case DAILY -> start.plusDays(index);
+            case WEEKLY -> start.plusWeeks(index);
+            case FORTNIGHTLY -> start.plusWeeks(2 * index);
+            case MONTHLY -> start.plusMonths(index);
+            case QUARTERLY -> start.plusMonths(3 * index);
+            case SEMI_ANNUALLY -> start.plusMonths(6 * index);
+            case ANNUAL -> start.plusYears(index);
+        };
+    }
+
+    // Índice da primeira ocorrência posterior a "date" (nunca menor que 1). A estimativa por
+    // unidades completas nunca passa do índice certo; o laço só corrige o ajuste de fim de mês.
+    public long firstIndexAfter(LocalDate start, LocalDate date) {
+        if (date.isBefore(start)) {
+            return 1;
+        }
+        long index = switch (this) {
+            case DAILY -> ChronoUnit.DAYS.between(start, date);
+            case WEEKLY -> ChronoUnit.WEEKS.between(start, date);
+            case FORTNIGHTLY -> ChronoUnit.WEEKS.between(start, date) / 2;
+            case MONTHLY -> ChronoUnit.MONTHS.between(start, date);
+            case QUARTERLY -> ChronoUnit.MONTHS.between(start, date) / 3;
+            case SEMI_ANNUALLY -> ChronoUnit.MONTHS.between(start, date) / 6;
+            case ANNUAL -> ChronoUnit.YEARS.between(start, date);
+        };
+        index = Math.max(1, index);
+        while (!occurrence(start, index).isAfter(date)) {
+            index++;
+        }
+        return index;
+    }
 }
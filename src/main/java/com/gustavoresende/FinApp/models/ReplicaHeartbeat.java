@@ -0,0 +1,48 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+// Linha única gravada periodicamente no primário e lida em cada réplica: a diferença entre o
+// relógio atual e beat_at lido na réplica é o atraso da replicação (ver ReplicaLagMonitor).
+// Só é usada quando finapp.replicas.enabled=true.
+@Entity
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    public static final long ID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "beat_at", nullable = false)
+    private long beatAt; // Epoch em milissegundos
+
+    // Construtor padrão
+    public ReplicaHeartbeat() {
+    }
+
+    // --- Getters ---
+    // Sem setters: a linha só é gravada pelo ReplicaLagMonitor, via JDBC
+    public Long getId() {
+        return id;
+    }
+
+    public long getBeatAt() {
+        return beatAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReplicaHeartbeat that = (ReplicaHeartbeat) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
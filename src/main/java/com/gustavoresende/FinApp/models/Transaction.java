@@ -7,14 +7,26 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "transaction")
+@Table(name = "transaction", indexes = {
+        // Listagem paginada por (date DESC, id DESC): o índice cobre o filtro e a ordenação
+        @Index(name = "IDX_TRANSACTION_USER_DATE", columnList = "user_id, date, id"),
+        @Index(name = "IDX_TRANSACTION_ACCOUNT_DATE", columnList = "account_id, date, id"),
+        // Detecção de duplicatas na importação: fingerprint IN (...) AND date BETWEEN ... por conta
+        @Index(name = "IDX_TRANSACTION_ACCOUNT_FINGERPRINT", columnList = "account_id, fingerprint, date"),
+        // Transações novas da conta desde a montagem do filtro de duplicatas (id > maior id visto)
+        @Index(name = "IDX_TRANSACTION_ACCOUNT_ID", columnList = "account_id, id")
+})
 public class Transaction {
 
     public interface CreateTransaction{}
     public interface UpdateTransaction{}
 
+    // IDENTITY desliga o batch de INSERT do Hibernate (o ID só é conhecido após cada INSERT).
+    // Com sequência "pooled" os IDs são reservados em blocos e os INSERTs vão em lote via JDBC.
+    // No MySQL, que não tem sequências, o Hibernate emula a sequência com a tabela transaction_seq.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 500)
     @Column(name = "id", unique = true)
     private Long id;
 
@@ -62,6 +74,11 @@ public class Transaction {
     @Column(name = "recurrence_end_date")
     private LocalDate recurrenceEndDate; // Data de término da recorrência (pode ser nula para recorrência infinita)
 
+    // Conta + tipo + descrição normalizada (ver services.duplicates.Fingerprints), preenchida por quem
+    // grava a transação (TransactionService, importação, recorrentes)
+    @Column(name = "fingerprint")
+    private Long fingerprint;
+
     // Relacionamento Many-to-One com User
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "FK_TRANSACTION_USER"))
@@ -187,6 +204,14 @@ public class Transaction {
         this.user = user;
     }
 
+    public Long getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(Long fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,98 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Transações de um usuário em um ano já fora da janela de retenção, compactadas num único valor
+// (ver ArchiveCodec). A tabela quente `transaction` fica do tamanho da janela; o histórico antigo
+// vira uma linha por (usuário, ano) que só é lida quando um intervalo de datas chega nela.
+@Entity
+@Table(name = "transaction_archive", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "archive_year"}, name = "UK_TRANSACTION_ARCHIVE_KEY")
+})
+public class TransactionArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", unique = true)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "archive_year", nullable = false)
+    private int archiveYear;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    @Column(name = "first_date", nullable = false)
+    private LocalDate firstDate;
+
+    @Column(name = "last_date", nullable = false)
+    private LocalDate lastDate;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    // Construtor padrão
+    public TransactionArchive() {
+    }
+
+    public TransactionArchive(Long userId, int archiveYear) {
+        this.userId = userId;
+        this.archiveYear = archiveYear;
+    }
+
+    // Conteúdo novo do arquivo (as linhas antigas mais as que acabaram de sair da tabela quente)
+    public void replace(byte[] payload, int rowCount, LocalDate firstDate, LocalDate lastDate) {
+        this.payload = payload;
+        this.rowCount = rowCount;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+    }
+
+    // --- Getters ---
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getArchiveYear() {
+        return archiveYear;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TransactionArchive that = (TransactionArchive) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
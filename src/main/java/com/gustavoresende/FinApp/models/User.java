@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonProperty.Access;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.Hibernate;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -136,42 +137,35 @@ public class User {
     }
 
     // Métodos utilitários para gerenciar coleções (opcional, mas boa prática)
+    // A coleção inversa só é atualizada se já estiver carregada; o lado dono é Account.user
     public void addAccount(Account account) {
-        this.accounts.add(account);
+        if (Hibernate.isInitialized(this.accounts)) {
+            this.accounts.add(account);
+        }
         account.setUser(this);
     }
 
     public void removeAccount(Account account) {
-        this.accounts.remove(account);
+        if (Hibernate.isInitialized(this.accounts)) {
+            this.accounts.remove(account);
+        }
         account.setUser(null);
     }
 
+    // Identidade só pelo id: username e senha mudam, e o hash não pode decidir igualdade em caches
+    // de sessão/segurança. instanceof e getId() para funcionar também com proxies (referências LAZY).
+    // Entidades ainda não persistidas só são iguais a si mesmas.
     @Override
     public boolean equals(Object obj) {
         if (obj == this)
             return true;
-        if (obj == null)
-            return false;
-        if(! (obj instanceof User)){
+        if (!(obj instanceof User other))
             return false;
-        }
-        User other = (User) obj;
-        if (this.id == null){
-            if (other.id != null)
-                return false;
-            else if(!this.id.equals(other.id))
-                return false;
-        }
-        return Objects.equals(this.id, other.id) && Objects.equals(this.username, other.username)
-                && Objects.equals(this.password, other.password);
-
+        return this.id != null && this.id.equals(other.getId());
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + (this.id == null ? 0 : this.id.hashCode());
-        return result;
+        return Objects.hashCode(this.id);
     }
 }
@@ -0,0 +1,46 @@
+package com.gustavoresende.FinApp.models;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+// Contador por usuário incrementado a cada escrita em Account, Transaction, Category ou Goal (e
+// quando o outbox entrega as mudanças às visões derivadas). Chave do cache do dashboard e dos ETags
+// das listagens: se a versão não mudou, nada do que elas mostram mudou.
+@Entity
+@Table(name = "user_data_version")
+public class UserDataVersion {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "data_version", nullable = false)
+    private long version;
+
+    // Construtor padrão
+    public UserDataVersion() {
+    }
+
+    // --- Getters ---
+    // Sem setters: o contador só é alterado pelo UserDataVersionRepository.increment
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UserDataVersion that = (UserDataVersion) o;
+        return Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId);
+    }
+}
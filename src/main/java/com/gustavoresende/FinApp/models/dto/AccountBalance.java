@@ -0,0 +1,7 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+
+// Saldo atual de uma conta
+public record AccountBalance(Long id, String name, BigDecimal balance) {
+}
@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Saldo de uma conta ao final de um dia
+public record AccountBalanceAt(Long accountId, LocalDate date, BigDecimal balance) {
+}
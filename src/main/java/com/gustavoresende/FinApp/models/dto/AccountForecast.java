@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Curva de saldo projetada de uma conta, um ponto por mês
+public record AccountForecast(Long accountId, String accountName, BigDecimal currentBalance, List<BalancePoint> points) {
+}
@@ -0,0 +1,16 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Transação guardada num arquivo anual (transaction_archive); só leitura, com os ids das associações
+public record ArchivedTransaction(Long id, LocalDate date, String description, BigDecimal amount, TransactionType type,
+                                  Long accountId, Long categoryId) {
+
+    // Efeito no saldo da conta: receitas somam, despesas subtraem
+    public BigDecimal signedAmount() {
+        return type == TransactionType.INCOME ? amount : amount.negate();
+    }
+}
@@ -0,0 +1,5 @@
+package com.gustavoresende.FinApp.models.dto;
+
+// Ano arquivado de um usuário e quantas transações o arquivo tem (projeção, sem ler o payload)
+public record ArchivedYear(int year, int rowCount) {
+}
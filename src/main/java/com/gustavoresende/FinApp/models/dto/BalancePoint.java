@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Saldo no último dia de um mês (histórico ou projetado)
+public record BalancePoint(LocalDate month, BigDecimal balance) {
+}
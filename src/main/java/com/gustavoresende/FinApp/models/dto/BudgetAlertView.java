@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+// Alerta de orçamento para leitura: os limites ultrapassados por um mesmo lote de escritas
+public record BudgetAlertView(Long id, Instant createdAt, List<BudgetCrossing> crossings) {
+}
@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Um limite ultrapassado: o gasto da categoria no mês passou de threshold x limit (ex.: 0.8 = 80%)
+public record BudgetCrossing(Long categoryId, LocalDate month, BigDecimal limit, BigDecimal spent, BigDecimal threshold) {
+}
@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+
+// Limite e gasto de uma categoria no mês consultado
+public record BudgetStatus(Long categoryId, String categoryName, BigDecimal limit, BigDecimal spent) {
+
+    public BigDecimal remaining() {
+        return limit.subtract(spent).max(BigDecimal.ZERO);
+    }
+}
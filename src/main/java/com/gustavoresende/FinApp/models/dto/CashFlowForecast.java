@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Projeção a partir das regras recorrentes: saldos por conta e previsão de cada meta
+public record CashFlowForecast(LocalDate asOf, int months, List<AccountForecast> accounts, List<GoalForecast> goals) {
+}
@@ -0,0 +1,7 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.util.List;
+
+// Uma sugestão por descrição, na ordem recebida, e as posições que precisam de revisão manual
+public record CategorizationResult(List<CategorySuggestion> items, List<Integer> review) {
+}
@@ -0,0 +1,5 @@
+package com.gustavoresende.FinApp.models.dto;
+
+// Categoria para leitura (projeção, sem entidades gerenciadas)
+public record CategoryListItem(Long id, String name) {
+}
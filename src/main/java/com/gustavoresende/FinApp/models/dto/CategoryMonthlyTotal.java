@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Total de uma categoria em um mês
+public record CategoryMonthlyTotal(Long categoryId, String categoryName, LocalDate month, TransactionType type,
+                                   BigDecimal total, Long transactionCount) {
+}
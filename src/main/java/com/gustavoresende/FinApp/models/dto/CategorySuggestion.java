@@ -0,0 +1,6 @@
+package com.gustavoresende.FinApp.models.dto;
+
+// Categoria sugerida para uma descrição. confidence é a probabilidade estimada (0 a 1); review indica
+// confiança abaixo do mínimo configurado. categoryId é null quando o usuário ainda não tem histórico.
+public record CategorySuggestion(Long categoryId, double confidence, boolean review) {
+}
@@ -0,0 +1,9 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+
+// Total de uma categoria em um período qualquer
+public record CategoryTotal(Long categoryId, TransactionType type, BigDecimal total, long transactionCount) {
+}
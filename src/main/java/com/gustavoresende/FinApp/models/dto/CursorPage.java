@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.util.List;
+
+// Página de uma listagem por keyset: nextCursor é null na última página
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// Dados da página inicial. Se alguma parte não respondeu a tempo, ela vem null,
+// partial == true e o nome da parte aparece em "missing".
+public record DashboardView(Long userId, YearMonth month, List<AccountBalance> accounts, List<GoalProgress> goals,
+                            List<CategoryMonthlyTotal> categoryTotals, List<TransactionListItem> recentTransactions,
+                            boolean partial, List<String> missing) {
+}
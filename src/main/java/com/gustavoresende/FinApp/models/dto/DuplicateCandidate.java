@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Transação já gravada com a mesma impressão digital de uma linha importada (projeção, sem entidade)
+public record DuplicateCandidate(Long id, Long fingerprint, LocalDate date, BigDecimal amount) {
+}
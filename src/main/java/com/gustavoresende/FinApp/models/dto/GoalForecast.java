@@ -0,0 +1,8 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Previsão de conclusão de uma meta: estimatedCompletion == null se não for atingida no horizonte
+public record GoalForecast(Long goalId, String name, BigDecimal remaining, LocalDate estimatedCompletion, boolean onTrack) {
+}
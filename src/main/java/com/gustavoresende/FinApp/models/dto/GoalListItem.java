@@ -0,0 +1,9 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Meta para leitura (projeção, sem entidades gerenciadas)
+public record GoalListItem(Long id, String name, String description, BigDecimal targetAmount, BigDecimal currentAmount,
+                           LocalDate endDate) {
+}
@@ -0,0 +1,16 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.Goal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Meta com o progresso já calculado (Goal.getProgressPercentage)
+public record GoalProgress(Long id, String name, BigDecimal targetAmount, BigDecimal currentAmount, LocalDate endDate,
+                           double progressPercentage, boolean achieved) {
+
+    public static GoalProgress of(Goal goal) {
+        return new GoalProgress(goal.getId(), goal.getName(), goal.getTargetAmount(), goal.getCurrentAmount(), goal.getEndDate(),
+                goal.getProgressPercentage(), goal.isAchieved());
+    }
+}
@@ -0,0 +1,12 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Progresso atual de uma Goal, sem carregar a entidade
+public record GoalStatus(Long id, String name, BigDecimal targetAmount, BigDecimal currentAmount, LocalDate endDate) {
+
+    public BigDecimal remaining() {
+        return targetAmount.subtract(currentAmount).max(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,7 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+
+// Variação líquida (receitas - despesas) de uma conta em um mês
+public record MonthlyNet(Integer year, Integer month, BigDecimal net, Long transactionCount) {
+}
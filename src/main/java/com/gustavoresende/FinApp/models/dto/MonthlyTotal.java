@@ -0,0 +1,10 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Receitas ou despesas de um mês (todas as categorias)
+public record MonthlyTotal(LocalDate month, TransactionType type, BigDecimal total, Long transactionCount) {
+}
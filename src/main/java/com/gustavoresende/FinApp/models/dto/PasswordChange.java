@@ -0,0 +1,10 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record PasswordChange(
+        @NotEmpty(message = "A senha atual não pode ser vazia.") String currentPassword,
+        @NotEmpty(message = "A nova senha não pode ser vazia.")
+        @Size(min = 8, max = 100, message = "A senha deve ter entre 8 e 100 caracteres.") String newPassword) {
+}
@@ -0,0 +1,9 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Receitas, despesas e saldo líquido de um período
+public record PeriodTotals(LocalDate from, LocalDate to, BigDecimal income, BigDecimal expense, BigDecimal net,
+                           long incomeCount, long expenseCount) {
+}
@@ -0,0 +1,12 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Projeção de uma Transaction recorrente: só os campos necessários para gerar ocorrências
+public record RecurringRule(Long id, Long userId, Long accountId, Long categoryId, BigDecimal amount, String description,
+                            LocalDate startDate, TransactionType type, RecurrenceFrequency frequency, LocalDate endDate) {
+}
@@ -0,0 +1,13 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Uma transação para leitura, com os nomes da conta e da categoria (projeção, sem entidades gerenciadas)
+public record TransactionDetail(Long id, LocalDate date, String description, BigDecimal amount, TransactionType type,
+                                Long accountId, String accountName, Long categoryId, String categoryName,
+                                boolean recurring, RecurrenceFrequency recurrenceFrequency, LocalDate recurrenceEndDate) {
+}
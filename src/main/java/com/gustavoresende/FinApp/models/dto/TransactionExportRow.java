@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Linha da exportação: já traz os nomes de conta e categoria, sem proxies LAZY
+public record TransactionExportRow(Long id, LocalDate date, String description, BigDecimal amount, TransactionType type,
+                                   String accountName, String categoryName) {
+}
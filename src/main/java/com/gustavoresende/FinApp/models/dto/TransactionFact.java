@@ -0,0 +1,10 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Só os campos numéricos de uma transação, para carregar o cache analítico sem entidades
+public record TransactionFact(Long id, BigDecimal amount, LocalDate date, TransactionType type, Long categoryId, Long accountId) {
+}
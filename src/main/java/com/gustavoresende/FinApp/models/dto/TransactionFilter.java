@@ -0,0 +1,9 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.time.LocalDate;
+
+// Filtros opcionais da listagem; apenas userId é obrigatório
+public record TransactionFilter(Long userId, Long accountId, Long categoryId, TransactionType type, LocalDate from, LocalDate to) {
+}
@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Linha da listagem de transações (projeção, sem entidades gerenciadas)
+public record TransactionListItem(Long id, LocalDate date, String description, BigDecimal amount, TransactionType type,
+                                  Long accountId, Long categoryId, String categoryName) {
+}
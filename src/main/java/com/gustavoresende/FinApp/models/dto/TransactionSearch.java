@@ -0,0 +1,12 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.services.search.SearchMatch;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Busca na descrição: todos os termos de "text" precisam casar (E). Os demais filtros são opcionais;
+// o intervalo de valores vale para o valor absoluto, independentemente do tipo
+public record TransactionSearch(String text, SearchMatch match, Long categoryId, LocalDate from, LocalDate to,
+                                BigDecimal minAmount, BigDecimal maxAmount) {
+}
@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Transação encontrada pela busca textual (também é a linha usada para montar o índice)
+public record TransactionSearchHit(Long id, LocalDate date, String description, BigDecimal amount, TransactionType type,
+                                   Long accountId, Long categoryId) {
+}
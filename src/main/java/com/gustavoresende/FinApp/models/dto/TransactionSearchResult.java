@@ -0,0 +1,7 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import java.util.List;
+
+// Total de transações que casaram e as "limit" mais recentes delas, em (date DESC, id DESC)
+public record TransactionSearchResult(long matches, List<TransactionSearchHit> items) {
+}
@@ -0,0 +1,37 @@
+package com.gustavoresende.FinApp.models.dto;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// Usuário autenticado: só o que o login precisa (projeção de User, sem as coleções). Imutável e sem
+// CredentialsContainer de propósito: a mesma instância fica no cache de principais, e o
+// ProviderManager apagaria o hash da senha depois do primeiro login.
+public record UserPrincipal(Long id, String username, String password) implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    // Sem o hash da senha em logs
+    @Override
+    public String toString() {
+        return "UserPrincipal[id=" + id + ", username=" + username + "]";
+    }
+}
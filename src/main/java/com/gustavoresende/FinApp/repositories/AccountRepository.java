@@ -0,0 +1,47 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.dto.AccountBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    // Busca apenas o dono da conta, sem carregar a entidade Account
+    @Query("SELECT a.user.id FROM Account a WHERE a.id = :accountId")
+    Optional<Long> findOwnerIdById(@Param("accountId") Long accountId);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :accountId")
+    Optional<BigDecimal> findBalanceById(@Param("accountId") Long accountId);
+
+    @Query("SELECT a.id FROM Account a ORDER BY a.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.AccountBalance(a.id, a.name, a.balance) FROM Account a "
+            + "WHERE a.user.id = :userId ORDER BY a.id")
+    List<AccountBalance> findBalancesByUserId(@Param("userId") Long userId);
+
+    // --- Leitura pela API: projeções, nunca a entidade (ver JsonStreamingService) ---
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.AccountBalance(a.id, a.name, a.balance) FROM Account a WHERE a.id = :id")
+    Optional<AccountBalance> findBalanceViewById(@Param("id") Long id);
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.AccountBalance(a.id, a.name, a.balance) FROM Account a "
+            + "WHERE a.user.id = :userId ORDER BY a.id")
+    Stream<AccountBalance> streamBalancesByUserId(@Param("userId") Long userId);
+
+    // Aplica o delta direto no banco, sem ler-modificar-gravar. A condição mantém a regra de
+    // saldo não negativo (@DecimalMin("0.00")): retorna 0 se o saldo ficaria negativo.
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta WHERE a.id = :accountId AND a.balance + :delta >= 0")
+    int applyDelta(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
+
+}
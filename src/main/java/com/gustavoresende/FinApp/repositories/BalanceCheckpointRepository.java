@@ -0,0 +1,48 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.BalanceCheckpoint;
+import com.gustavoresende.FinApp.models.dto.MonthlyNet;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    // Soma (ou subtrai, com valores negativos) um delta na linha do mês, criando-a se não existir
+    @Modifying
+    @Query(value = "INSERT INTO balance_checkpoint (account_id, ref_month, net, transaction_count) "
+            + "VALUES (:accountId, :refMonth, :net, :count) "
+            + "ON DUPLICATE KEY UPDATE net = net + :net, transaction_count = transaction_count + :count",
+            nativeQuery = true)
+    int upsert(@Param("accountId") Long accountId, @Param("refMonth") LocalDate refMonth,
+               @Param("net") BigDecimal net, @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM BalanceCheckpoint c WHERE c.accountId = :accountId AND c.transactionCount <= 0")
+    int deleteEmptyByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("DELETE FROM BalanceCheckpoint c WHERE c.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    // Variação de cada mês calculada a partir da tabela transaction (reconstrução)
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.MonthlyNet(YEAR(t.date), MONTH(t.date), "
+            + "SUM(CASE WHEN t.type = com.gustavoresende.FinApp.models.TransactionType.INCOME THEN t.amount ELSE -t.amount END), COUNT(t)) "
+            + "FROM Transaction t WHERE t.account.id = :accountId GROUP BY YEAR(t.date), MONTH(t.date)")
+    List<MonthlyNet> sumByMonthFromTransactions(@Param("accountId") Long accountId);
+
+    // Variação de todos os meses depois de refMonth: no máximo 12 linhas por ano de histórico
+    @Query("SELECT COALESCE(SUM(c.net), 0) FROM BalanceCheckpoint c WHERE c.accountId = :accountId AND c.refMonth > :refMonth")
+    BigDecimal sumNetAfter(@Param("accountId") Long accountId, @Param("refMonth") LocalDate refMonth);
+
+    @Query("SELECT c FROM BalanceCheckpoint c WHERE c.accountId = :accountId AND c.refMonth BETWEEN :from AND :to ORDER BY c.refMonth")
+    List<BalanceCheckpoint> findRange(@Param("accountId") Long accountId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+}
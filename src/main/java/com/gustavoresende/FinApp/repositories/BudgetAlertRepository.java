@@ -0,0 +1,14 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.BudgetAlert;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    List<BudgetAlert> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+}
@@ -0,0 +1,35 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.CategoryBudget;
+import com.gustavoresende.FinApp.models.dto.BudgetStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget, Long> {
+
+    Optional<CategoryBudget> findByCategoryId(Long categoryId);
+
+    // Uma consulta por lote entregue, pela chave única UK_CATEGORY_BUDGET_CATEGORY
+    List<CategoryBudget> findAllByCategoryIdIn(Collection<Long> categoryIds);
+
+    @Modifying
+    @Query("DELETE FROM CategoryBudget b WHERE b.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Uma linha por orçamento: o gasto é a linha EXPENSE do mês no resumo (sem somar transações)
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.BudgetStatus(b.categoryId, c.name, b.monthlyLimit, COALESCE(m.total, 0)) "
+            + "FROM CategoryBudget b JOIN Category c ON c.id = b.categoryId "
+            + "LEFT JOIN MonthlySummary m ON m.userId = b.userId AND m.categoryId = b.categoryId AND m.refMonth = :month "
+            + "AND m.type = com.gustavoresende.FinApp.models.TransactionType.EXPENSE "
+            + "WHERE b.userId = :userId ORDER BY c.name")
+    List<BudgetStatus> findStatusByUserId(@Param("userId") Long userId, @Param("month") LocalDate month);
+}
@@ -0,0 +1,31 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.dto.CategoryListItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    // Usa a chave única UK_CATEGORY_NAME_USER (name, user_id)
+    @Query("SELECT c.id FROM Category c WHERE c.name = :name AND c.user.id = :userId")
+    Optional<Long> findIdByNameAndUserId(@Param("name") String name, @Param("userId") Long userId);
+
+    @Query("SELECT c.user.id FROM Category c WHERE c.id = :categoryId")
+    Optional<Long> findOwnerIdById(@Param("categoryId") Long categoryId);
+
+    // --- Leitura pela API: projeções, nunca a entidade (ver JsonStreamingService) ---
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.CategoryListItem(c.id, c.name) FROM Category c WHERE c.id = :id")
+    Optional<CategoryListItem> findListItemById(@Param("id") Long id);
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.CategoryListItem(c.id, c.name) FROM Category c "
+            + "WHERE c.user.id = :userId ORDER BY c.name")
+    Stream<CategoryListItem> streamListItemsByUserId(@Param("userId") Long userId);
+
+}
@@ -0,0 +1,33 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.dto.GoalListItem;
+import com.gustavoresende.FinApp.models.dto.GoalStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface GoalRepository extends JpaRepository<Goal, Long> {
+
+    List<Goal> findByUserIdOrderByEndDate(Long userId);
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.GoalStatus(g.id, g.name, g.targetAmount, g.currentAmount, g.endDate) "
+            + "FROM Goal g WHERE g.user.id = :userId")
+    List<GoalStatus> findStatusByUserId(@Param("userId") Long userId);
+
+    // --- Leitura pela API: projeções, nunca a entidade (ver JsonStreamingService) ---
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.GoalListItem(g.id, g.name, g.description, g.targetAmount, "
+            + "g.currentAmount, g.endDate) FROM Goal g WHERE g.id = :id")
+    Optional<GoalListItem> findListItemById(@Param("id") Long id);
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.GoalListItem(g.id, g.name, g.description, g.targetAmount, "
+            + "g.currentAmount, g.endDate) FROM Goal g WHERE g.user.id = :userId ORDER BY g.endDate, g.id")
+    Stream<GoalListItem> streamListItemsByUserId(@Param("userId") Long userId);
+
+}
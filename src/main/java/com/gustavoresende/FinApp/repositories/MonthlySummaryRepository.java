@@ -0,0 +1,67 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.MonthlySummary;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.CategoryMonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.MonthlyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MonthlySummaryRepository extends JpaRepository<MonthlySummary, Long> {
+
+    // Soma (ou subtrai, com valores negativos) um delta na linha da chave, criando-a se não existir
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summary (user_id, category_id, ref_month, type, total, transaction_count) "
+            + "VALUES (:userId, :categoryId, :refMonth, :type, :total, :count) "
+            + "ON DUPLICATE KEY UPDATE total = total + :total, transaction_count = transaction_count + :count",
+            nativeQuery = true)
+    int upsert(@Param("userId") Long userId, @Param("categoryId") Long categoryId, @Param("refMonth") LocalDate refMonth,
+               @Param("type") String type, @Param("total") BigDecimal total, @Param("count") long count);
+
+    // Leitura pontual pela chave única (ex.: gasto do mês de uma categoria, ver BudgetService)
+    @Query("SELECT m.total FROM MonthlySummary m WHERE m.userId = :userId AND m.categoryId = :categoryId "
+            + "AND m.refMonth = :refMonth AND m.type = :type")
+    Optional<BigDecimal> findTotal(@Param("userId") Long userId, @Param("categoryId") Long categoryId,
+                                   @Param("refMonth") LocalDate refMonth, @Param("type") TransactionType type);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary m WHERE m.userId = :userId AND m.transactionCount <= 0")
+    int deleteEmptyByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary m WHERE m.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlySummary m WHERE m.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Reconstrói as linhas de um usuário a partir da tabela transaction (TIMESTAMPADD: MySQL e H2)
+    @Modifying
+    @Query(value = "INSERT INTO monthly_summary (user_id, category_id, ref_month, type, total, transaction_count) "
+            + "SELECT t.user_id, t.category_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), t.type, SUM(t.amount), COUNT(*) "
+            + "FROM transaction t WHERE t.user_id = :userId "
+            + "GROUP BY t.user_id, t.category_id, TIMESTAMPADD(DAY, 1 - DAYOFMONTH(t.date), t.date), t.type",
+            nativeQuery = true)
+    int rebuildByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.MonthlyTotal(m.refMonth, m.type, SUM(m.total), SUM(m.transactionCount)) "
+            + "FROM MonthlySummary m WHERE m.userId = :userId AND m.refMonth BETWEEN :from AND :to "
+            + "GROUP BY m.refMonth, m.type ORDER BY m.refMonth")
+    List<MonthlyTotal> findMonthlyTotals(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.CategoryMonthlyTotal(m.categoryId, c.name, m.refMonth, m.type, m.total, m.transactionCount) "
+            + "FROM MonthlySummary m, Category c WHERE c.id = m.categoryId AND m.userId = :userId "
+            + "AND m.refMonth BETWEEN :from AND :to ORDER BY m.refMonth, m.total DESC")
+    List<CategoryMonthlyTotal> findCategoryTotals(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+}
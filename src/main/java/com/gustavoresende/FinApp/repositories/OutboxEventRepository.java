@@ -0,0 +1,63 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // INSERT direto, sem passar pelo contexto de persistência: um comando por evento na escrita
+    @Modifying
+    @Query(value = "INSERT INTO outbox_event (user_id, partition_no, type, payload, created_at, attempts, next_attempt_at, parked) "
+            + "VALUES (:userId, :partitionNo, :type, :payload, :createdAt, 0, 0, FALSE)", nativeQuery = true)
+    int append(@Param("userId") Long userId, @Param("partitionNo") int partitionNo, @Param("type") String type,
+               @Param("payload") String payload, @Param("createdAt") long createdAt);
+
+    // SELECT ... FOR UPDATE: outra instância drenando a mesma partição espera este lote terminar
+    // (e depois não acha mais as linhas, que são apagadas na mesma transação). Fora do lote: as
+    // linhas estacionadas e, para manter a ordem por usuário, tudo o que vem depois de uma linha do
+    // mesmo usuário que ainda espera nova tentativa
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.partitionNo = :partitionNo AND e.parked = false "
+            + "AND NOT EXISTS (SELECT b.id FROM OutboxEvent b WHERE b.partitionNo = :partitionNo AND b.userId = e.userId "
+            + "AND b.parked = false AND b.nextAttemptAt > :now AND b.id <= e.id) "
+            + "ORDER BY e.id")
+    List<OutboxEvent> lockBatch(@Param("partitionNo") int partitionNo, @Param("now") long now, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id = :id AND e.parked = false")
+    Optional<OutboxEvent> lockById(@Param("id") Long id);
+
+    // Pendentes de um usuário (inclusive os que aguardam nova tentativa), na ordem em que foram gravados
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.partitionNo = :partitionNo AND e.userId = :userId AND e.parked = false "
+            + "ORDER BY e.id")
+    List<OutboxEvent> lockPendingByUserId(@Param("partitionNo") int partitionNo, @Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT e.partitionNo FROM OutboxEvent e WHERE e.parked = false")
+    List<Integer> findPendingPartitions();
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.parked = false")
+    Long findOldestCreatedAt();
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.parked = :parked, "
+            + "e.lastError = :lastError WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("attempts") int attempts, @Param("nextAttemptAt") long nextAttemptAt,
+                      @Param("parked") boolean parked, @Param("lastError") String lastError);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,23 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.RecurrenceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface RecurrenceCheckpointRepository extends JpaRepository<RecurrenceCheckpoint, Long> {
+
+    // Compare-and-set: só avança a partir do índice que o job leu. 0 linhas = outra instância já
+    // materializou a regra; quem chama desfaz o lote
+    @Modifying
+    @Query("UPDATE RecurrenceCheckpoint c SET c.lastOccurrenceIndex = :index, c.lastOccurrenceDate = :date "
+            + "WHERE c.ruleId = :ruleId AND c.lastOccurrenceIndex = :expected")
+    int advance(@Param("ruleId") Long ruleId, @Param("expected") long expected, @Param("index") long index,
+                @Param("date") LocalDate date);
+
+}
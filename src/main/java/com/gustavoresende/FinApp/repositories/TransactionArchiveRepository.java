@@ -0,0 +1,26 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.TransactionArchive;
+import com.gustavoresende.FinApp.models.dto.ArchivedYear;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TransactionArchiveRepository extends JpaRepository<TransactionArchive, Long> {
+
+    Optional<TransactionArchive> findByUserIdAndArchiveYear(Long userId, int archiveYear);
+
+    // Usa a chave única UK_TRANSACTION_ARCHIVE_KEY (user_id, archive_year), sem ler os payloads
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.ArchivedYear(a.archiveYear, a.rowCount) FROM TransactionArchive a "
+            + "WHERE a.userId = :userId ORDER BY a.archiveYear")
+    List<ArchivedYear> findYearsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT a.payload FROM TransactionArchive a WHERE a.userId = :userId AND a.archiveYear = :year")
+    Optional<byte[]> findPayload(@Param("userId") Long userId, @Param("year") int year);
+
+}
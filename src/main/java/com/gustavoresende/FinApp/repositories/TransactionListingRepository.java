@@ -0,0 +1,28 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.dto.TransactionCursor;
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+import com.gustavoresende.FinApp.models.dto.TransactionFact;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.TransactionListItem;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransactionListingRepository {
+
+    // Até "limit" linhas depois do cursor (ou do início, se null), em (date DESC, id DESC)
+    List<TransactionListItem> findPage(TransactionFilter filter, TransactionCursor after, int limit);
+
+    // Cursor somente-leitura e forward-only em (date, id); deve ser consumido dentro de uma transação
+    Stream<TransactionExportRow> streamForExport(Long userId, LocalDate from, LocalDate to, int fetchSize);
+
+    // Todas as transações do usuário, só com os campos numéricos; mesmo regime de cursor da exportação
+    Stream<TransactionFact> streamFacts(Long userId, int fetchSize);
+
+    // Todas as transações do usuário com a descrição, para montar o índice de busca textual
+    Stream<TransactionSearchHit> streamSearchRows(Long userId, int fetchSize);
+
+}
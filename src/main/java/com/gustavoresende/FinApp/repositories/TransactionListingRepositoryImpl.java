@@ -0,0 +1,119 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.dto.TransactionCursor;
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+import com.gustavoresende.FinApp.models.dto.TransactionFact;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.TransactionListItem;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Paginação por keyset (seek): em vez de OFFSET, continua a partir da última (date, id) vista.
+// Com os índices (user_id, date, id) e (account_id, date, id) a página N custa o mesmo que a 1.
+public class TransactionListingRepositoryImpl implements TransactionListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionListItem> findPage(TransactionFilter filter, TransactionCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.gustavoresende.FinApp.models.dto.TransactionListItem("
+                        + "t.id, t.date, t.description, t.amount, t.type, t.account.id, c.id, c.name) "
+                        + "FROM Transaction t JOIN t.category c WHERE t.user.id = :userId");
+        if (filter.accountId() != null) {
+            jpql.append(" AND t.account.id = :accountId");
+        }
+        if (filter.categoryId() != null) {
+            jpql.append(" AND c.id = :categoryId");
+        }
+        if (filter.type() != null) {
+            jpql.append(" AND t.type = :type");
+        }
+        if (filter.from() != null) {
+            jpql.append(" AND t.date >= :from");
+        }
+        if (filter.to() != null) {
+            jpql.append(" AND t.date <= :to");
+        }
+        if (after != null) {
+            jpql.append(" AND (t.date < :afterDate OR (t.date = :afterDate AND t.id < :afterId))");
+        }
+        jpql.append(" ORDER BY t.date DESC, t.id DESC");
+
+        TypedQuery<TransactionListItem> query = entityManager.createQuery(jpql.toString(), TransactionListItem.class)
+                .setParameter("userId", filter.userId())
+                .setMaxResults(limit);
+        if (filter.accountId() != null) {
+            query.setParameter("accountId", filter.accountId());
+        }
+        if (filter.categoryId() != null) {
+            query.setParameter("categoryId", filter.categoryId());
+        }
+        if (filter.type() != null) {
+            query.setParameter("type", filter.type());
+        }
+        if (filter.from() != null) {
+            query.setParameter("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.setParameter("to", filter.to());
+        }
+        if (after != null) {
+            query.setParameter("afterDate", after.date());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+
+    // No MySQL, fetchSize = Integer.MIN_VALUE faz o driver entregar as linhas uma a uma
+    // em vez de carregar o resultado inteiro na memória
+    @Override
+    public Stream<TransactionExportRow> streamForExport(Long userId, LocalDate from, LocalDate to, int fetchSize) {
+        return entityManager.createQuery(
+                        "SELECT new com.gustavoresende.FinApp.models.dto.TransactionExportRow("
+                                + "t.id, t.date, t.description, t.amount, t.type, a.name, c.name) "
+                                + "FROM Transaction t JOIN t.account a JOIN t.category c "
+                                + "WHERE t.user.id = :userId AND t.date BETWEEN :from AND :to ORDER BY t.date, t.id",
+                        TransactionExportRow.class)
+                .setParameter("userId", userId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<TransactionFact> streamFacts(Long userId, int fetchSize) {
+        return entityManager.createQuery(
+                        "SELECT new com.gustavoresende.FinApp.models.dto.TransactionFact("
+                                + "t.id, t.amount, t.date, t.type, t.category.id, t.account.id) "
+                                + "FROM Transaction t WHERE t.user.id = :userId",
+                        TransactionFact.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<TransactionSearchHit> streamSearchRows(Long userId, int fetchSize) {
+        return entityManager.createQuery(
+                        "SELECT new com.gustavoresende.FinApp.models.dto.TransactionSearchHit("
+                                + "t.id, t.date, t.description, t.amount, t.type, t.account.id, t.category.id) "
+                                + "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.id",
+                        TransactionSearchHit.class)
+                .setParameter("userId", userId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
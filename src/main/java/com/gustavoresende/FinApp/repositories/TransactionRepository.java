@@ -0,0 +1,87 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.DuplicateCandidate;
+import com.gustavoresende.FinApp.models.dto.RecurringRule;
+import com.gustavoresende.FinApp.models.dto.TransactionDetail;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionListingRepository {
+
+    boolean existsByCategoryId(Long categoryId);
+
+    boolean existsByAccountId(Long accountId);
+
+    // Leitura pela API: uma consulta com os nomes da conta e da categoria, sem carregar entidades
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.TransactionDetail(t.id, t.date, t.description, t.amount, t.type, "
+            + "a.id, a.name, c.id, c.name, t.isRecurring, t.recurrenceFrequency, t.recurrenceEndDate) "
+            + "FROM Transaction t JOIN t.account a JOIN t.category c WHERE t.id = :id")
+    Optional<TransactionDetail> findDetailById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE t.isRecurring = true AND t.recurrenceFrequency IS NOT NULL")
+    List<Long> findUserIdsWithRecurringRules();
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.RecurringRule(t.id, t.user.id, t.account.id, t.category.id, t.amount, "
+            + "t.description, t.date, t.type, t.recurrenceFrequency, t.recurrenceEndDate) "
+            + "FROM Transaction t WHERE t.user.id = :userId AND t.isRecurring = true AND t.recurrenceFrequency IS NOT NULL")
+    List<RecurringRule> findRecurringRulesByUserId(@Param("userId") Long userId);
+
+    // --- Arquivamento (ver TransactionArchiveService); regras recorrentes nunca são arquivadas ---
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE t.date < :before AND t.isRecurring = false")
+    List<Long> findUserIdsWithArchivableBefore(@Param("before") LocalDate before);
+
+    @Query("SELECT DISTINCT YEAR(t.date) FROM Transaction t WHERE t.user.id = :userId AND t.date < :before AND t.isRecurring = false")
+    List<Integer> findArchivableYears(@Param("userId") Long userId, @Param("before") LocalDate before);
+
+    // SELECT ... FOR UPDATE: uma edição concorrente espera o arquivamento terminar (e depois não acha a linha)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.ArchivedTransaction(t.id, t.date, t.description, t.amount, t.type, "
+            + "t.account.id, t.category.id) FROM Transaction t "
+            + "WHERE t.user.id = :userId AND t.date BETWEEN :from AND :to AND t.isRecurring = false ORDER BY t.date, t.id")
+    List<ArchivedTransaction> lockArchivable(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Efeito no saldo das transações da conta com data em (after, to]; usado dentro de um único mês
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type = com.gustavoresende.FinApp.models.TransactionType.INCOME THEN t.amount ELSE -t.amount END), 0) "
+            + "FROM Transaction t WHERE t.account.id = :accountId AND t.date > :after AND t.date <= :to")
+    BigDecimal sumSignedAmountBetween(@Param("accountId") Long accountId, @Param("after") LocalDate after, @Param("to") LocalDate to);
+
+    // Uma consulta por bloco importado, pelo índice (account_id, fingerprint, date)
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.DuplicateCandidate(t.id, t.fingerprint, t.date, t.amount) "
+            + "FROM Transaction t WHERE t.account.id = :accountId AND t.fingerprint IN :fingerprints AND t.date BETWEEN :from AND :to")
+    List<DuplicateCandidate> findDuplicateCandidates(@Param("accountId") Long accountId, @Param("fingerprints") Collection<Long> fingerprints,
+                                                     @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.DuplicateCandidate(t.id, t.fingerprint, t.date, t.amount) "
+            + "FROM Transaction t WHERE t.account.id = :accountId AND t.fingerprint IS NOT NULL")
+    Stream<DuplicateCandidate> streamFingerprints(@Param("accountId") Long accountId);
+
+    // Transações da conta gravadas depois da montagem do filtro de duplicatas, pelo índice (account_id, id)
+    @Query("SELECT new com.gustavoresende.FinApp.models.dto.DuplicateCandidate(t.id, t.fingerprint, t.date, t.amount) "
+            + "FROM Transaction t WHERE t.account.id = :accountId AND t.id > :afterId AND t.fingerprint IS NOT NULL")
+    List<DuplicateCandidate> findFingerprintsAfter(@Param("accountId") Long accountId, @Param("afterId") long afterId);
+
+    // Transações gravadas antes da coluna fingerprint existir
+    @Query("SELECT t.id FROM Transaction t WHERE t.fingerprint IS NULL ORDER BY t.id")
+    List<Long> findIdsWithoutFingerprint(Pageable pageable);
+
+}
@@ -0,0 +1,23 @@
+package com.gustavoresende.FinApp.repositories;
+
+import com.gustavoresende.FinApp.models.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    // Upsert atômico: o bloqueio da linha ordena as escritas concorrentes do mesmo usuário
+    @Modifying
+    @Query(value = "INSERT INTO user_data_version (user_id, data_version) VALUES (:userId, 1) "
+            + "ON DUPLICATE KEY UPDATE data_version = data_version + 1", nativeQuery = true)
+    int increment(@Param("userId") Long userId);
+
+    @Query("SELECT v.version FROM UserDataVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+}
@@ -0,0 +1,98 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.AccountBalance;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.exceptions.DataBindingViolationException;
+import com.gustavoresende.FinApp.services.exceptions.InvalidReferenceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class AccountService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Account findById(Long id) {
+        Optional<Account> account = this.accountRepository.findById(id);
+        return account.orElseThrow(() -> new ObjectNotFoundException(
+                "Conta não encontrada! Id: " + id + ", Tipo: " + Account.class.getName()));
+    }
+
+    // Leitura pela API: projeção em record, sem carregar a entidade nem suas associações
+    @Transactional(readOnly = true)
+    public AccountBalance findViewById(Long id) {
+        return this.accountRepository.findBalanceViewById(id).orElseThrow(() -> new ObjectNotFoundException(
+                "Conta não encontrada! Id: " + id + ", Tipo: " + Account.class.getName()));
+    }
+
+    // Consumido dentro da transação aberta pelo JsonStreamingService
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<AccountBalance> streamAllByUserId(Long userId) {
+        return this.accountRepository.streamBalancesByUserId(userId);
+    }
+
+    @Transactional
+    public Account create(Account obj) {
+        if (obj.getUser() == null || obj.getUser().getId() == null) {
+            throw new InvalidReferenceException("O id do(a) usuário é obrigatório.");
+        }
+        Long userId = obj.getUser().getId();
+        obj.setId(null);
+        if (obj.getBalance() == null) {
+            obj.setBalance(BigDecimal.ZERO);
+        }
+        obj.setUser(this.entityManager.getReference(User.class, userId));
+        obj = this.accountRepository.save(obj);
+        this.eventPublisher.publishEvent(new AccountChangedEvent(userId, obj.getId(), false));
+        return obj;
+    }
+
+    // Só o nome é alterado aqui; o saldo muda apenas por lançamentos (BalancePostingService)
+    @Transactional
+    public Account update(Account obj) {
+        Account newObj = findById(obj.getId());
+        newObj.setName(obj.getName());
+        newObj = this.accountRepository.save(newObj);
+        this.eventPublisher.publishEvent(new AccountChangedEvent(newObj.getUser().getId(), newObj.getId(), false));
+        return newObj;
+    }
+
+    // Excluir em cascata apagaria as transações sem ajustar resumos; por isso é recusado
+    @Transactional
+    public void delete(Long id) {
+        Account obj = findById(id);
+        if (this.transactionRepository.existsByAccountId(id)
+                || this.transactionArchiveService.referencesAccount(obj.getUser().getId(), id)) {
+            throw new DataBindingViolationException("Não é possível excluir pois há transações relacionadas!");
+        }
+        this.accountRepository.delete(obj);
+        this.eventPublisher.publishEvent(new AccountChangedEvent(obj.getUser().getId(), id, true));
+    }
+}
@@ -0,0 +1,219 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.BalanceCheckpoint;
+import com.gustavoresende.FinApp.models.dto.AccountBalanceAt;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.BalancePoint;
+import com.gustavoresende.FinApp.models.dto.MonthlyNet;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.BalanceCheckpointRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import com.gustavoresende.FinApp.services.exceptions.InvalidReferenceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Saldos históricos sem somar o histórico inteiro da conta. O ponto de partida é o saldo atual
+// (mantido pelo BalancePostingService); as linhas de balance_checkpoint guardam a variação de cada
+// mês, então:
+//   fechamento(M) = saldo atual - soma(variação dos meses > M)      -> até 12 linhas por ano
+//   saldo(dia D)  = fechamento(mês de D) - transações do mês após D  -> no máximo um mês de transações
+// Uma transação retroativa altera só a linha do seu mês: os fechamentos seguintes são derivados.
+//
+// Ao contrário do resumo mensal, as linhas são atualizadas na transação da escrita, não pelo outbox:
+// o ponto de partida (saldo atual) muda na hora, e um checkpoint atrasado deixaria todos os saldos
+// históricos errados pelo valor da transação até a entrega.
+@Service
+public class BalanceCheckpointService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceCheckpointService.class);
+
+    @Autowired
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${finapp.balance-history.max-months:240}")
+    private int maxMonths;
+
+    // Na transação da escrita, um upsert por (conta, mês) do evento: uma transação avulsa custa um comando
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Map<Key, Delta> deltas = new HashMap<>();
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null) {
+                accumulate(deltas, change.before(), -1);
+            }
+            if (change.after() != null) {
+                accumulate(deltas, change.after(), 1);
+            }
+        }
+        Set<Long> shrunkAccounts = new HashSet<>();
+        for (Map.Entry<Key, Delta> entry : deltas.entrySet()) {
+            Key key = entry.getKey();
+            Delta delta = entry.getValue();
+            if (delta.count == 0 && delta.net.signum() == 0) {
+                continue; // ex.: edição só da descrição ou da categoria
+            }
+            balanceCheckpointRepository.upsert(key.accountId(), key.month(), delta.net, delta.count);
+            if (delta.count < 0) {
+                shrunkAccounts.add(key.accountId());
+            }
+        }
+        shrunkAccounts.forEach(balanceCheckpointRepository::deleteEmptyByAccountId);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.deleted()) {
+            balanceCheckpointRepository.deleteByAccountId(event.accountId());
+        }
+    }
+
+    // Saldo ao final do dia informado (datas futuras consideram as transações já agendadas)
+    @Transactional(readOnly = true)
+    public AccountBalanceAt balanceAt(Long accountId, LocalDate date) {
+        BigDecimal current = currentBalance(accountId);
+        LocalDate month = date.withDayOfMonth(1);
+        BigDecimal closing = current.subtract(balanceCheckpointRepository.sumNetAfter(accountId, month));
+        LocalDate endOfMonth = YearMonth.from(date).atEndOfMonth();
+        BigDecimal restOfMonth = transactionRepository.sumSignedAmountBetween(accountId, date, endOfMonth);
+        if (date.isBefore(endOfMonth)) {
+            // Mês de um ano já arquivado: o resto do mês também pode estar no arquivo
+            restOfMonth = restOfMonth.add(archived(accountId, date.plusDays(1), endOfMonth).stream()
+                    .map(ArchivedTransaction::signedAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+        return new AccountBalanceAt(accountId, date, closing.subtract(restOfMonth));
+    }
+
+    // Saldo de fechamento de cada mês do intervalo: uma soma dos meses posteriores a "to" e as
+    // linhas do próprio intervalo, percorridas do fim para o começo
+    @Transactional(readOnly = true)
+    public List<BalancePoint> history(Long accountId, YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new InvalidReferenceException("O início do intervalo deve ser anterior ao fim.");
+        }
+        if (from.plusMonths(maxMonths).isBefore(to.plusMonths(1))) {
+            from = to.minusMonths(maxMonths - 1L);
+        }
+        BigDecimal current = currentBalance(accountId);
+        BigDecimal closing = current.subtract(balanceCheckpointRepository.sumNetAfter(accountId, to.atDay(1)));
+        Map<LocalDate, BigDecimal> netByMonth = new HashMap<>();
+        for (BalanceCheckpoint checkpoint : balanceCheckpointRepository.findRange(accountId, from.atDay(1), to.atDay(1))) {
+            netByMonth.put(checkpoint.getRefMonth(), checkpoint.getNet());
+        }
+        int months = (int) from.until(to, ChronoUnit.MONTHS) + 1;
+        BalancePoint[] points = new BalancePoint[months];
+        YearMonth month = to;
+        for (int i = months - 1; i >= 0; i--) {
+            points[i] = new BalancePoint(month.atEndOfMonth(), closing);
+            closing = closing.subtract(netByMonth.getOrDefault(month.atDay(1), BigDecimal.ZERO));
+            month = month.minusMonths(1);
+        }
+        return List.of(points);
+    }
+
+    @Transactional
+    public int rebuild(Long accountId) {
+        return rebuildAccount(accountId);
+    }
+
+    // Reconstrução completa, uma transação por conta
+    public void rebuildAll() {
+        TransactionTemplate accountTransaction = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        List<Long> accountIds = accountRepository.findAllIds();
+        for (Long accountId : accountIds) {
+            accountTransaction.executeWithoutResult(status -> rebuildAccount(accountId));
+        }
+        logger.info("balance_checkpoint reconstruída para {} contas em {} ms", accountIds.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Agregado por mês no banco (GROUP BY portável), gravado com um upsert por mês
+    private int rebuildAccount(Long accountId) {
+        balanceCheckpointRepository.deleteByAccountId(accountId);
+        List<MonthlyNet> months = balanceCheckpointRepository.sumByMonthFromTransactions(accountId);
+        for (MonthlyNet month : months) {
+            balanceCheckpointRepository.upsert(accountId, LocalDate.of(month.year(), month.month(), 1), month.net(), month.transactionCount());
+        }
+        // Anos arquivados somam nas mesmas linhas (quentes e arquivadas nunca se repetem)
+        Map<Key, Delta> archived = new HashMap<>();
+        archived(accountId, LocalDate.MIN, LocalDate.MAX).forEach(row -> {
+            Delta delta = archived.computeIfAbsent(new Key(accountId, row.date().withDayOfMonth(1)), k -> new Delta());
+            delta.net = delta.net.add(row.signedAmount());
+            delta.count++;
+        });
+        archived.forEach((key, delta) -> balanceCheckpointRepository.upsert(accountId, key.month(), delta.net, delta.count));
+        return months.size() + archived.size();
+    }
+
+    private List<ArchivedTransaction> archived(Long accountId, LocalDate from, LocalDate to) {
+        Long userId = referenceCacheService.findAccountOwner(accountId).orElse(null);
+        if (userId == null) {
+            return List.of();
+        }
+        try (Stream<ArchivedTransaction> rows = from.equals(LocalDate.MIN)
+                ? transactionArchiveService.streamAll(userId) : transactionArchiveService.stream(userId, from, to)) {
+            return rows.filter(row -> row.accountId().equals(accountId)).toList();
+        }
+    }
+
+    private BigDecimal currentBalance(Long accountId) {
+        return accountRepository.findBalanceById(accountId).orElseThrow(() -> new ObjectNotFoundException(
+                "Conta não encontrada! Id: " + accountId + ", Tipo: " + Account.class.getName()));
+    }
+
+    private static void accumulate(Map<Key, Delta> deltas, TransactionSnapshot snapshot, int sign) {
+        Key key = new Key(snapshot.accountId(), snapshot.date().withDayOfMonth(1));
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.net = sign > 0 ? delta.net.add(snapshot.signedAmount()) : delta.net.subtract(snapshot.signedAmount());
+        delta.count += sign;
+    }
+
+    private record Key(Long accountId, LocalDate month) {
+    }
+
+    private static final class Delta {
+        private BigDecimal net = BigDecimal.ZERO;
+        private long count = 0;
+    }
+}
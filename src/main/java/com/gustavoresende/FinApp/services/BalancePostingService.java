@@ -0,0 +1,44 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.services.exceptions.InsufficientBalanceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+// Motor de lançamentos de saldo. O saldo nunca é lido e regravado em Java: cada lançamento
+// vira um "UPDATE ... SET balance = balance + ?" condicional (ver AccountRepository.applyDelta),
+// na transação de quem escreve. O bloqueio da linha da conta serializa os lançamentos
+// concorrentes e a condição recusa os que deixariam o saldo negativo.
+//
+// Os lançamentos em massa já chegam agrupados por conta: a importação e a materialização de
+// recorrentes aplicam um único delta por conta e por bloco.
+@Service
+public class BalancePostingService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    // Lançamento síncrono dentro da transação do chamador (ex.: criação de uma Transaction)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyNow(Long accountId, BigDecimal delta) {
+        if (delta == null || delta.signum() == 0) {
+            return;
+        }
+        if (accountRepository.applyDelta(accountId, delta) == 0) {
+            throw failure(accountId);
+        }
+    }
+
+    private RuntimeException failure(Long accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            return new ObjectNotFoundException("Conta não encontrada! Id: " + accountId + ", Tipo: " + Account.class.getName());
+        }
+        return new InsufficientBalanceException("Saldo insuficiente na conta " + accountId + ": o saldo não pode ser negativo.");
+    }
+}
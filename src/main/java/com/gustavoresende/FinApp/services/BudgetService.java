@@ -0,0 +1,194 @@
+package com.gustavoresende.FinApp.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gustavoresende.FinApp.models.BudgetAlert;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.CategoryBudget;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.BudgetAlertView;
+import com.gustavoresende.FinApp.models.dto.BudgetCrossing;
+import com.gustavoresende.FinApp.models.dto.BudgetStatus;
+import com.gustavoresende.FinApp.repositories.BudgetAlertRepository;
+import com.gustavoresende.FinApp.repositories.CategoryBudgetRepository;
+import com.gustavoresende.FinApp.repositories.MonthlySummaryRepository;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import com.gustavoresende.FinApp.services.exceptions.InvalidReferenceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import com.gustavoresende.FinApp.services.outbox.OutboxHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Orçamento mensal por categoria. O gasto corrente de (categoria, mês) é a linha EXPENSE do
+// monthly_summary, que o MonthlySummaryService atualiza por upsert atômico no mesmo lote do outbox
+// (por isso este handler roda depois dele, ver @Order). Para cada (categoria, mês) do lote: uma
+// leitura pontual do gasto já atualizado e a comparação com o gasto anterior (gasto - delta do lote),
+// sem somar transações. Os limites cruzados no lote viram um único alerta por usuário.
+@Service
+@Order(1)
+public class BudgetService implements OutboxHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetService.class);
+    private static final TypeReference<List<BudgetCrossing>> CROSSINGS = new TypeReference<>() {
+    };
+
+    private final CategoryBudgetRepository categoryBudgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final MonthlySummaryRepository monthlySummaryRepository;
+    private final ReferenceCacheService referenceCacheService;
+    private final ObjectMapper objectMapper;
+    private final BigDecimal[] thresholds;
+    private final Counter alerts;
+
+    public BudgetService(CategoryBudgetRepository categoryBudgetRepository, BudgetAlertRepository budgetAlertRepository,
+                         MonthlySummaryRepository monthlySummaryRepository, ReferenceCacheService referenceCacheService,
+                         ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${finapp.budget.alert-thresholds:0.8,1.0}") BigDecimal[] thresholds) {
+        this.categoryBudgetRepository = categoryBudgetRepository;
+        this.budgetAlertRepository = budgetAlertRepository;
+        this.monthlySummaryRepository = monthlySummaryRepository;
+        this.referenceCacheService = referenceCacheService;
+        this.objectMapper = objectMapper;
+        this.thresholds = thresholds.clone();
+        Arrays.sort(this.thresholds);
+        this.alerts = Counter.builder("finapp.budget.alerts").register(meterRegistry);
+    }
+
+    @Transactional
+    public CategoryBudget setLimit(Long categoryId, BigDecimal monthlyLimit) {
+        if (monthlyLimit == null || monthlyLimit.signum() <= 0) {
+            throw new InvalidReferenceException("O limite mensal deve ser positivo e maior que zero.");
+        }
+        Long userId = referenceCacheService.findCategoryOwner(categoryId).orElseThrow(() -> new ObjectNotFoundException(
+                "Categoria não encontrada! Id: " + categoryId + ", Tipo: " + Category.class.getName()));
+        CategoryBudget budget = categoryBudgetRepository.findByCategoryId(categoryId)
+                .orElseGet(() -> new CategoryBudget(categoryId, userId, monthlyLimit));
+        budget.setMonthlyLimit(monthlyLimit);
+        return categoryBudgetRepository.save(budget);
+    }
+
+    @Transactional
+    public void removeLimit(Long categoryId) {
+        categoryBudgetRepository.deleteByCategoryId(categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetStatus> findStatus(Long userId, YearMonth month) {
+        return categoryBudgetRepository.findStatusByUserId(userId, month.atDay(1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BudgetAlertView> findAlerts(Long userId, int limit) {
+        return budgetAlertRepository.findByUserIdOrderByIdDesc(userId, Limit.of(Math.max(1, Math.min(limit, 100)))).stream()
+                .map(alert -> new BudgetAlertView(alert.getId(), alert.getCreatedAt(), decode(alert.getCrossings())))
+                .toList();
+    }
+
+    // Entregue pelo outbox depois do MonthlySummaryService, na mesma transação do lote
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Map<Key, BigDecimal> deltas = new HashMap<>();
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null) {
+                accumulate(deltas, change.before(), -1);
+            }
+            if (change.after() != null) {
+                accumulate(deltas, change.after(), 1);
+            }
+        }
+        // Só um aumento de gasto pode cruzar um limite para cima
+        deltas.values().removeIf(delta -> delta.signum() <= 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Map<Long, CategoryBudget> budgets = categoryBudgetRepository.findAllByCategoryIdIn(
+                        deltas.keySet().stream().map(Key::categoryId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(CategoryBudget::getCategoryId, Function.identity()));
+        if (budgets.isEmpty()) {
+            return;
+        }
+        Map<Long, List<BudgetCrossing>> crossingsByUser = new LinkedHashMap<>();
+        for (Map.Entry<Key, BigDecimal> entry : deltas.entrySet()) {
+            Key key = entry.getKey();
+            CategoryBudget budget = budgets.get(key.categoryId());
+            if (budget == null) {
+                continue;
+            }
+            BigDecimal spent = monthlySummaryRepository.findTotal(key.userId(), key.categoryId(), key.month(), TransactionType.EXPENSE)
+                    .orElse(BigDecimal.ZERO);
+            BudgetCrossing crossing = crossing(budget, key.month(), spent.subtract(entry.getValue()), spent);
+            if (crossing != null) {
+                crossingsByUser.computeIfAbsent(key.userId(), k -> new ArrayList<>()).add(crossing);
+            }
+        }
+        Instant now = Instant.now();
+        crossingsByUser.forEach((userId, crossings) -> {
+            budgetAlertRepository.save(new BudgetAlert(userId, now, encode(crossings)));
+            alerts.increment();
+            logger.info("Alerta de orçamento para o usuário {}: {} limites ultrapassados", userId, crossings.size());
+        });
+    }
+
+    // Maior limite (fração do orçamento) que o gasto passou a atingir neste lote, se algum
+    private BudgetCrossing crossing(CategoryBudget budget, LocalDate month, BigDecimal before, BigDecimal after) {
+        for (int i = thresholds.length - 1; i >= 0; i--) {
+            BigDecimal line = budget.getMonthlyLimit().multiply(thresholds[i]);
+            if (before.compareTo(line) < 0 && after.compareTo(line) >= 0) {
+                return new BudgetCrossing(budget.getCategoryId(), month, budget.getMonthlyLimit(), after, thresholds[i]);
+            }
+        }
+        return null;
+    }
+
+    private static void accumulate(Map<Key, BigDecimal> deltas, TransactionSnapshot snapshot, int sign) {
+        if (snapshot.type() != TransactionType.EXPENSE) {
+            return;
+        }
+        BigDecimal amount = sign > 0 ? snapshot.amount() : snapshot.amount().negate();
+        deltas.merge(new Key(snapshot.userId(), snapshot.categoryId(), snapshot.date().withDayOfMonth(1)), amount, BigDecimal::add);
+    }
+
+    private String encode(List<BudgetCrossing> crossings) {
+        try {
+            return objectMapper.writeValueAsString(crossings);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar alerta de orçamento", e);
+        }
+    }
+
+    private List<BudgetCrossing> decode(String crossings) {
+        try {
+            return objectMapper.readValue(crossings, CROSSINGS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Alerta de orçamento inválido", e);
+        }
+    }
+
+    private record Key(Long userId, Long categoryId, LocalDate month) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.models.dto.CategorizationResult;
+import com.gustavoresende.FinApp.models.dto.CategorySuggestion;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.categorization.NaiveBayesModel;
+import com.gustavoresende.FinApp.services.events.CategoryChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Categorização automática de descrições com um NaiveBayesModel por usuário, treinado com o
+// histórico na primeira consulta e mantido em memória. Cada escrita confirmada (inclusive uma
+// recategorização manual) atualiza as contagens do modelo já carregado. As contagens não são
+// idempotentes por id: uma escrita confirmada durante a carga pode ser contada duas vezes, o que
+// só desloca levemente as probabilidades até o modelo sair do cache e ser treinado de novo.
+@Service
+public class CategorizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategorizationService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate readOnly;
+    private final int fetchSize;
+    private final double minConfidence;
+    private final Cache<Long, NaiveBayesModel> models;
+
+    public CategorizationService(TransactionRepository transactionRepository, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${finapp.categorization.fetch-size:1000}") int fetchSize,
+                                 @Value("${finapp.categorization.min-confidence:0.8}") double minConfidence,
+                                 @Value("${finapp.categorization.maximum-bytes:67108864}") long maximumBytes,
+                                 @Value("${finapp.categorization.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.minConfidence = minConfidence;
+        this.models = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long userId, NaiveBayesModel model) -> (int) Math.min(Integer.MAX_VALUE, model.estimatedBytes()))
+                .expireAfterAccess(expireAfterAccess)
+                .softValues()
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, models, "finapp.categorization.models");
+    }
+
+    // Lote inteiro sob uma única leitura do modelo
+    public CategorizationResult categorize(Long userId, List<String> descriptions) {
+        List<CategorySuggestion> items = suggest(userId, descriptions);
+        List<Integer> review = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).review()) {
+                review.add(i);
+            }
+        }
+        return new CategorizationResult(items, review);
+    }
+
+    public List<CategorySuggestion> suggest(Long userId, List<String> descriptions) {
+        return models.get(userId, this::load).predict(descriptions, minConfidence);
+    }
+
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Map<Long, List<TransactionChange>> byUser = new HashMap<>();
+        for (TransactionChange change : event.changes()) {
+            byUser.computeIfAbsent(change.userId(), id -> new ArrayList<>()).add(change);
+        }
+        byUser.forEach((userId, changes) -> models.asMap().computeIfPresent(userId, (id, model) -> model.apply(changes)));
+    }
+
+    // Categoria excluída: o modelo é treinado de novo sem ela na próxima consulta
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.isDeleted()) {
+            models.invalidate(event.userId());
+        }
+    }
+
+    private NaiveBayesModel load(Long userId) {
+        long start = System.nanoTime();
+        NaiveBayesModel loaded = ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+            NaiveBayesModel model = new NaiveBayesModel();
+            try (Stream<TransactionSearchHit> rows = transactionRepository.streamSearchRows(userId, fetchSize)) {
+                rows.forEach(row -> model.learn(row.description(), row.categoryId(), 1));
+            }
+            return model;
+        }));
+        logger.debug("Modelo de categorização do usuário {} treinado: {} transações em {} ms",
+                userId, loaded.documents(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+}
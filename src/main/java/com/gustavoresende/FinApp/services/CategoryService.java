@@ -0,0 +1,97 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.CategoryListItem;
+import com.gustavoresende.FinApp.repositories.CategoryBudgetRepository;
+import com.gustavoresende.FinApp.repositories.CategoryRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.events.CategoryChangedEvent;
+import com.gustavoresende.FinApp.services.exceptions.DataBindingViolationException;
+import com.gustavoresende.FinApp.services.exceptions.InvalidReferenceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class CategoryService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Category findById(Long id) {
+        Optional<Category> category = this.categoryRepository.findById(id);
+        return category.orElseThrow(() -> new ObjectNotFoundException(
+                "Categoria não encontrada! Id: " + id + ", Tipo: " + Category.class.getName()));
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryListItem findViewById(Long id) {
+        return this.categoryRepository.findListItemById(id).orElseThrow(() -> new ObjectNotFoundException(
+                "Categoria não encontrada! Id: " + id + ", Tipo: " + Category.class.getName()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<CategoryListItem> streamAllByUserId(Long userId) {
+        return this.categoryRepository.streamListItemsByUserId(userId);
+    }
+
+    @Transactional
+    public Category create(Category obj) {
+        if (obj.getUser() == null || obj.getUser().getId() == null) {
+            throw new InvalidReferenceException("O id do(a) usuário é obrigatório.");
+        }
+        Long userId = obj.getUser().getId();
+        obj.setId(null);
+        obj.setUser(this.entityManager.getReference(User.class, userId));
+        obj = this.categoryRepository.save(obj);
+        this.eventPublisher.publishEvent(new CategoryChangedEvent(userId, obj.getId(), null, obj.getName()));
+        return obj;
+    }
+
+    @Transactional
+    public Category update(Category obj) {
+        Category newObj = findById(obj.getId());
+        String oldName = newObj.getName();
+        newObj.setName(obj.getName());
+        newObj = this.categoryRepository.save(newObj);
+        this.eventPublisher.publishEvent(new CategoryChangedEvent(newObj.getUser().getId(), newObj.getId(), oldName, newObj.getName()));
+        return newObj;
+    }
+
+    // Excluir em cascata apagaria as transações sem ajustar saldos e resumos; por isso é recusado
+    @Transactional
+    public void delete(Long id) {
+        Category obj = findById(id);
+        if (this.transactionRepository.existsByCategoryId(id)
+                || this.transactionArchiveService.referencesCategory(obj.getUser().getId(), id)) {
+            throw new DataBindingViolationException("Não é possível excluir pois há transações relacionadas!");
+        }
+        this.categoryBudgetRepository.deleteByCategoryId(id);
+        this.categoryRepository.delete(obj);
+        this.eventPublisher.publishEvent(new CategoryChangedEvent(obj.getUser().getId(), id, obj.getName(), null));
+    }
+}
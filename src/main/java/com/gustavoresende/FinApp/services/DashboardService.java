@@ -0,0 +1,158 @@
+package com.gustavoresende.FinApp.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.configs.PersistenceStats;
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.models.dto.AccountBalance;
+import com.gustavoresende.FinApp.models.dto.CategoryMonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.DashboardView;
+import com.gustavoresende.FinApp.models.dto.GoalProgress;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.TransactionListItem;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.GoalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Monta a página inicial disparando as consultas independentes ao mesmo tempo, cada uma numa
+// virtual thread e na sua própria transação somente-leitura. A latência passa a ser a da consulta
+// mais lenta, não a soma de todas.
+//
+// O executor vive só durante a requisição (escopo estruturado): nenhuma subconsulta sobrevive a
+// ele. Cada parte tem o mesmo prazo, contado a partir do disparo; o que não terminar a tempo (ou
+// falhar) é cancelado e a resposta sai parcial. StructuredTaskScope ainda é preview no JDK, por
+// isso o escopo é um ExecutorService fechado com shutdownNow().
+//
+// O JSON montado fica num cache limitado, por usuário, junto com a versão dos dados
+// (DataVersionService) e o mês em que foi gerado. Enquanto os dois não mudam, carregar o dashboard
+// custa só a leitura da versão. Respostas parciais nunca entram no cache.
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private final AccountRepository accountRepository;
+    private final GoalRepository goalRepository;
+    private final MonthlySummaryService monthlySummaryService;
+    private final TransactionService transactionService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final int recentTransactions;
+    private final Cache<Long, RenderedDashboard> rendered;
+
+    public DashboardService(AccountRepository accountRepository, GoalRepository goalRepository,
+                            MonthlySummaryService monthlySummaryService, TransactionService transactionService,
+                            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                            @Value("${finapp.dashboard.timeout:2s}") Duration timeout,
+                            @Value("${finapp.dashboard.recent-transactions:10}") int recentTransactions,
+                            @Value("${finapp.dashboard.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${finapp.dashboard.cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.accountRepository = accountRepository;
+        this.goalRepository = goalRepository;
+        this.monthlySummaryService = monthlySummaryService;
+        this.transactionService = transactionService;
+        this.transactionManager = transactionManager;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.recentTransactions = recentTransactions;
+        this.rendered = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(expireAfterAccess).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rendered, "finapp.dashboard.rendered");
+    }
+
+    // JSON do dashboard na versão informada (lida antes pelo chamador, que a usa também no ETag)
+    public RenderedDashboard render(Long userId, YearMonth month, long version) {
+        RenderedDashboard cached = rendered.getIfPresent(userId);
+        if (cached != null && cached.version() == version && cached.month().equals(month)) {
+            return cached;
+        }
+        // No primário: montado a partir de uma réplica atrasada, ficaria em cache com a versão nova
+        DashboardView view = ReadRouting.onPrimary(() -> load(userId, month));
+        RenderedDashboard fresh;
+        try {
+            fresh = new RenderedDashboard(version, month, objectMapper.writeValueAsBytes(view), view.partial());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o dashboard", e);
+        }
+        if (!fresh.partial()) {
+            // Uma montagem lenta não sobrescreve a de uma versão mais nova
+            rendered.asMap().merge(userId, fresh, (old, neu) -> old.version() > neu.version() ? old : neu);
+        }
+        return fresh;
+    }
+
+    private DashboardView load(Long userId, YearMonth month) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<List<AccountBalance>> accounts = scope.submit(part(() ->
+                    accountRepository.findBalancesByUserId(userId)));
+            Future<List<GoalProgress>> goals = scope.submit(part(() -> readOnly.execute(status ->
+                    goalRepository.findByUserIdOrderByEndDate(userId).stream().map(GoalProgress::of).toList())));
+            Future<List<CategoryMonthlyTotal>> categories = scope.submit(part(() ->
+                    monthlySummaryService.findCategoryTotals(userId, month, month)));
+            Future<List<TransactionListItem>> recent = scope.submit(part(() -> transactionService.findPage(
+                    new TransactionFilter(userId, null, null, null, null, null), null, recentTransactions).items()));
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            List<String> missing = new ArrayList<>();
+            return new DashboardView(userId, month,
+                    await(accounts, deadline, "accounts", missing),
+                    await(goals, deadline, "goals", missing),
+                    await(categories, deadline, "categoryTotals", missing),
+                    await(recent, deadline, "recentTransactions", missing),
+                    !missing.isEmpty(), List.copyOf(missing));
+        } finally {
+            // Interrompe o que ainda estiver rodando, sem esperar (close() esperaria a mais lenta)
+            scope.shutdownNow();
+        }
+    }
+
+    // Os comandos SQL das subconsultas entram nas métricas desta requisição, e a leitura no primário
+    // (quando marcada) vale também nas virtual threads
+    private static <T> Callable<T> part(Callable<T> task) {
+        return PersistenceStats.propagate(ReadRouting.propagate(task));
+    }
+
+    private <T> T await(Future<T> future, long deadline, String part, List<String> missing) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Dashboard: '{}' excedeu o prazo de {} ms", part, timeout.toMillis());
+        } catch (ExecutionException e) {
+            logger.warn("Dashboard: falha em '{}'", part, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        future.cancel(true);
+        missing.add(part);
+        return null;
+    }
+
+    // JSON pronto; o array é o mesmo que fica no cache e não deve ser alterado
+    public record RenderedDashboard(long version, YearMonth month, byte[] json, boolean partial) {
+    }
+}
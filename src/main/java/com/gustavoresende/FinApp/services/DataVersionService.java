@@ -0,0 +1,104 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.repositories.UserDataVersionRepository;
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.events.CategoryChangedEvent;
+import com.gustavoresende.FinApp.services.events.GoalChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.outbox.OutboxHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Versão dos dados de cada usuário (user_data_version), incrementada na própria transação de cada
+// escrita em Account, Transaction, Category ou Goal. Fica no banco, e não em memória, para valer
+// em todas as instâncias. O incremento roda antes do commit, depois dos demais comandos da escrita:
+// a linha do contador é sempre o último bloqueio tomado (depois do saldo e do outbox), e um bloco de
+// importação incrementa uma vez só.
+//
+// As visões derivadas (resumo mensal) só mudam quando o outbox as entrega; por isso este serviço
+// também é um OutboxHandler e incrementa de novo na entrega, para o dashboard não ficar com os
+// gastos por categoria de antes da entrega.
+@Service
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class DataVersionService implements OutboxHandler {
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    // Lida do primário: uma réplica atrasada devolveria uma versão antiga, e o cliente guardaria
+    // (304) a resposta dela até a próxima escrita
+    public long current(Long userId) {
+        return ReadRouting.onPrimary(() -> userDataVersionRepository.findVersion(userId).orElse(0L));
+    }
+
+    // Leitura do conteúdo servido com a versão: também no primário, para nunca ser mais antigo que ela
+    public <T> T readFresh(Supplier<T> read) {
+        return ReadRouting.onPrimary(read);
+    }
+
+    public String etag(Long userId) {
+        return etag(userId, current(userId));
+    }
+
+    // ETag fraco: o mesmo estado pode sair serializado de outro jeito em outra versão da aplicação
+    public static String etag(Object... parts) {
+        StringBuilder etag = new StringBuilder("W/\"");
+        for (int i = 0; i < parts.length; i++) {
+            etag.append(i > 0 ? "-" : "").append(parts[i]);
+        }
+        return etag.append('"').toString();
+    }
+
+    // --- Escrita: antes do commit da transação de quem publicou o evento ---
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionWritten(TransactionChangedEvent event) {
+        increment(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAccountWritten(AccountChangedEvent event) {
+        userDataVersionRepository.increment(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCategoryWritten(CategoryChangedEvent event) {
+        userDataVersionRepository.increment(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGoalWritten(GoalChangedEvent event) {
+        userDataVersionRepository.increment(event.userId());
+    }
+
+    // Incrementa já e segura a linha do usuário até o fim da transação de quem chama (como um SELECT ...
+    // FOR UPDATE): as escritas e entregas do outbox desse usuário esperam no próprio incremento delas
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockAndIncrement(Long userId) {
+        userDataVersionRepository.increment(userId);
+    }
+
+    // --- Entrega do outbox: último handler do lote, depois do resumo mensal ---
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        increment(event);
+    }
+
+    private void increment(TransactionChangedEvent event) {
+        event.changes().stream().map(TransactionChange::userId).collect(Collectors.toSet())
+                .forEach(userDataVersionRepository::increment);
+    }
+}
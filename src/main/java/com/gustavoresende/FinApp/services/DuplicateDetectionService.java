@@ -0,0 +1,315 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.DuplicateCandidate;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.analytics.TransactionColumns;
+import com.gustavoresende.FinApp.services.duplicates.DuplicateCheck;
+import com.gustavoresende.FinApp.services.duplicates.FingerprintBloomFilter;
+import com.gustavoresende.FinApp.services.duplicates.Fingerprints;
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import com.gustavoresende.FinApp.services.imports.ImportedRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Detecção de transações reimportadas (extratos com períodos sobrepostos), em três etapas por bloco:
+// 1. Filtro de Bloom da conta, em memória: se nenhuma (impressão digital, dia) da janela de datas
+//    da linha existe, ela é nova. É o caso comum e não chega ao banco.
+// 2. As linhas "talvez" do bloco vão numa única consulta (fingerprint IN ... AND date BETWEEN ...).
+// 3. Cada candidato absorve no máximo uma linha importada, a mais próxima dentro das tolerâncias de
+//    data e valor; duas compras iguais no extrato só são duplicatas se houver duas no banco.
+// Linhas de anos já arquivados (fora da tabela quente e do filtro) são comparadas com o arquivo do ano.
+//
+// O filtro guarda o maior id que já viu. Antes de cada verificação ele recebe as transações da conta
+// com id acima desse (gravadas por qualquer instância, importação ou API), numa consulta pelo índice
+// (account_id, id). Uma transação de id menor que só commitou depois, ou uma edição feita em outra
+// instância, fica de fora até o filtro expirar (expire-after-write, contado da montagem).
+@Service
+public class DuplicateDetectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateDetectionService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveService transactionArchiveService;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate writeTransaction;
+    private final int dateToleranceDays;
+    private final long amountToleranceCents;
+    private final double falsePositiveRate;
+    private final Cache<Long, AccountFilter> filters;
+    private final Counter prefilterNegatives;
+    private final Counter prefilterMaybes;
+    private final Counter duplicatesFound;
+
+    public DuplicateDetectionService(TransactionRepository transactionRepository, TransactionArchiveService transactionArchiveService,
+                                     PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                     @Value("${finapp.duplicates.date-tolerance-days:2}") int dateToleranceDays,
+                                     @Value("${finapp.duplicates.amount-tolerance:0.00}") BigDecimal amountTolerance,
+                                     @Value("${finapp.duplicates.false-positive-rate:0.01}") double falsePositiveRate,
+                                     @Value("${finapp.duplicates.maximum-bytes:67108864}") long maximumBytes,
+                                     @Value("${finapp.duplicates.expire-after-write:15m}") Duration expireAfterWrite) {
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveService = transactionArchiveService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.dateToleranceDays = dateToleranceDays;
+        this.amountToleranceCents = TransactionColumns.toCents(amountTolerance);
+        this.falsePositiveRate = falsePositiveRate;
+        this.filters = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long accountId, AccountFilter f) -> (int) Math.min(Integer.MAX_VALUE, f.filter.estimatedBytes()))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, filters, "finapp.duplicates.filters");
+        this.prefilterNegatives = Counter.builder("finapp.duplicates.prefilter").tag("result", "new").register(meterRegistry);
+        this.prefilterMaybes = Counter.builder("finapp.duplicates.prefilter").tag("result", "maybe").register(meterRegistry);
+        this.duplicatesFound = Counter.builder("finapp.duplicates.found").register(meterRegistry);
+    }
+
+    public DuplicateCheck begin(Long userId, Long accountId) {
+        return new DuplicateCheck(userId, accountId);
+    }
+
+    // duplicate[i] == true: a linha i já existe na conta e não deve ser gravada
+    public boolean[] findDuplicates(DuplicateCheck check, List<ImportedRow> rows) {
+        Long accountId = check.accountId();
+        FingerprintBloomFilter filter = current(accountId);
+        List<Integer> archivedYears = transactionArchiveService.archivedYears(check.userId());
+        int lastArchived = archivedYears.isEmpty() ? Integer.MIN_VALUE : archivedYears.getLast();
+        boolean[] duplicate = new boolean[rows.size()];
+        long[] fingerprints = new long[rows.size()];
+        boolean[] maybe = new boolean[rows.size()];
+        boolean[] archived = new boolean[rows.size()];
+        Set<Long> probe = new HashSet<>();
+        Set<Long> archivedProbe = new HashSet<>();
+        long minDay = Long.MAX_VALUE;
+        long maxDay = Long.MIN_VALUE;
+        long archivedMinDay = Long.MAX_VALUE;
+        long archivedMaxDay = Long.MIN_VALUE;
+        for (int i = 0; i < rows.size(); i++) {
+            ImportedRow row = rows.get(i);
+            fingerprints[i] = Fingerprints.of(accountId, row.type(), row.description());
+            long day = row.date().toEpochDay();
+            maybe[i] = filter.mightContain(fingerprints[i], day - dateToleranceDays, day + dateToleranceDays);
+            if (maybe[i]) {
+                probe.add(fingerprints[i]);
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+            }
+            archived[i] = LocalDate.ofEpochDay(day - dateToleranceDays).getYear() <= lastArchived;
+            if (archived[i]) {
+                archivedProbe.add(fingerprints[i]);
+                archivedMinDay = Math.min(archivedMinDay, day);
+                archivedMaxDay = Math.max(archivedMaxDay, day);
+            }
+        }
+        prefilterMaybes.increment(countTrue(maybe));
+        prefilterNegatives.increment(rows.size() - countTrue(maybe));
+        if (probe.isEmpty() && archivedProbe.isEmpty()) {
+            return duplicate;
+        }
+
+        Map<Long, List<DuplicateCandidate>> candidates = new HashMap<>();
+        if (!probe.isEmpty()) {
+            for (DuplicateCandidate candidate : transactionRepository.findDuplicateCandidates(accountId, probe,
+                    LocalDate.ofEpochDay(minDay - dateToleranceDays), LocalDate.ofEpochDay(maxDay + dateToleranceDays))) {
+                if (!check.isOwn(candidate.id())) {
+                    candidates.computeIfAbsent(candidate.fingerprint(), k -> new ArrayList<>()).add(candidate);
+                }
+            }
+        }
+        // Anos arquivados não estão na tabela quente nem no filtro: as linhas cuja janela alcança um
+        // deles são conferidas contra os arquivos desses anos (já decodificados em cache)
+        if (!archivedProbe.isEmpty()) {
+            try (Stream<ArchivedTransaction> rowsInArchive = transactionArchiveService.stream(check.userId(),
+                    LocalDate.ofEpochDay(archivedMinDay - dateToleranceDays), LocalDate.ofEpochDay(archivedMaxDay + dateToleranceDays))) {
+                rowsInArchive.filter(row -> row.accountId().equals(accountId)).forEach(row -> {
+                    long fingerprint = Fingerprints.of(accountId, row.type(), row.description());
+                    if (archivedProbe.contains(fingerprint)) {
+                        candidates.computeIfAbsent(fingerprint, k -> new ArrayList<>())
+                                .add(new DuplicateCandidate(row.id(), fingerprint, row.date(), row.amount()));
+                    }
+                });
+            }
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            List<DuplicateCandidate> sameFingerprint = maybe[i] || archived[i] ? candidates.get(fingerprints[i]) : null;
+            if (sameFingerprint == null || sameFingerprint.isEmpty()) {
+                continue;
+            }
+            DuplicateCandidate match = closest(rows.get(i), sameFingerprint);
+            if (match != null) {
+                sameFingerprint.remove(match);
+                duplicate[i] = true;
+                duplicatesFound.increment();
+            }
+        }
+        return duplicate;
+    }
+
+    // Após o commit: edições feitas nesta instância entram no filtro da conta (se ele estiver carregado);
+    // as inclusões chegam pelo id na próxima verificação. Exclusões não tiram bits; um filtro que
+    // passou da capacidade é descartado e refeito depois.
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        for (TransactionChange change : event.changes()) {
+            TransactionSnapshot after = change.after();
+            if (change.before() == null || after == null) {
+                continue;
+            }
+            long fingerprint = Fingerprints.of(after.accountId(), after.type(), after.description());
+            filters.asMap().computeIfPresent(after.accountId(), (id, entry) -> {
+                entry.filter.add(fingerprint, after.date().toEpochDay());
+                return entry.filter.isSaturated() ? null : entry;
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.deleted()) {
+            filters.invalidate(event.accountId());
+        }
+    }
+
+    // Preenche a impressão digital das transações gravadas antes da coluna existir, em lotes
+    public long backfillFingerprints(int batchSize) {
+        long updated = 0;
+        while (true) {
+            Integer written = writeTransaction.execute(status -> {
+                List<Long> ids = transactionRepository.findIdsWithoutFingerprint(PageRequest.of(0, batchSize));
+                List<Transaction> transactions = transactionRepository.findAllById(ids);
+                // getId() do proxy LAZY da conta não dispara SELECT
+                transactions.forEach(t -> t.setFingerprint(Fingerprints.of(t.getAccount().getId(), t.getType(), t.getDescription())));
+                return transactions.size();
+            });
+            if (written == null || written == 0) {
+                break;
+            }
+            updated += written;
+        }
+        filters.invalidateAll();
+        logger.info("Impressões digitais preenchidas em {} transações", updated);
+        return updated;
+    }
+
+    // Candidato mais próximo em data (depois em valor) dentro das duas tolerâncias
+    private DuplicateCandidate closest(ImportedRow row, List<DuplicateCandidate> candidates) {
+        long day = row.date().toEpochDay();
+        long cents = TransactionColumns.toCents(row.amount());
+        DuplicateCandidate best = null;
+        long bestDistance = Long.MAX_VALUE;
+        for (DuplicateCandidate candidate : candidates) {
+            long dayDistance = Math.abs(candidate.date().toEpochDay() - day);
+            long centsDistance = Math.abs(TransactionColumns.toCents(candidate.amount()) - cents);
+            if (dayDistance > dateToleranceDays || centsDistance > amountToleranceCents) {
+                continue;
+            }
+            long distance = dayDistance * (amountToleranceCents + 1) + centsDistance;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    // Filtro da conta em dia com o banco: recebe as transações acima do maior id já visto
+    private FingerprintBloomFilter current(Long accountId) {
+        AccountFilter entry = filters.get(accountId, this::loadFilter);
+        synchronized (entry) {
+            List<DuplicateCandidate> fresh = ReadRouting.onPrimary(() -> readOnly.execute(status ->
+                    transactionRepository.findFingerprintsAfter(accountId, entry.highWater)));
+            for (DuplicateCandidate row : fresh) {
+                entry.filter.add(row.fingerprint(), row.date().toEpochDay());
+                entry.highWater = Math.max(entry.highWater, row.id());
+            }
+            if (!entry.filter.isSaturated()) {
+                return entry.filter;
+            }
+        }
+        filters.asMap().remove(accountId, entry);
+        return filters.get(accountId, this::loadFilter).filter;
+    }
+
+    private AccountFilter loadFilter(Long accountId) {
+        long start = System.nanoTime();
+        AccountFilter loaded = ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+            long[] fingerprints = new long[1024];
+            long[] days = new long[1024];
+            int n = 0;
+            long highWater = 0;
+            try (Stream<DuplicateCandidate> rows = transactionRepository.streamFingerprints(accountId)) {
+                for (DuplicateCandidate row : (Iterable<DuplicateCandidate>) rows::iterator) {
+                    if (n == fingerprints.length) {
+                        fingerprints = Arrays.copyOf(fingerprints, n * 2);
+                        days = Arrays.copyOf(days, n * 2);
+                    }
+                    fingerprints[n] = row.fingerprint();
+                    days[n++] = row.date().toEpochDay();
+                    highWater = Math.max(highWater, row.id());
+                }
+            }
+            // Folga para as inclusões seguintes antes de precisar reconstruir
+            FingerprintBloomFilter filter = new FingerprintBloomFilter(2L * n, falsePositiveRate);
+            for (int i = 0; i < n; i++) {
+                filter.add(fingerprints[i], days[i]);
+            }
+            return new AccountFilter(filter, highWater);
+        }));
+        logger.debug("Filtro de duplicatas da conta {} montado em {} ms", accountId, (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    // Filtro de uma conta e o maior id de transação que ele já contém
+    private static final class AccountFilter {
+
+        private final FingerprintBloomFilter filter;
+        private long highWater;
+
+        private AccountFilter(FingerprintBloomFilter filter, long highWater) {
+            this.filter = filter;
+            this.highWater = highWater;
+        }
+    }
+
+    private static int countTrue(boolean[] values) {
+        int count = 0;
+        for (boolean value : values) {
+            if (value) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
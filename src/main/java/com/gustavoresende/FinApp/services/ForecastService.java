@@ -0,0 +1,109 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.models.dto.AccountBalance;
+import com.gustavoresende.FinApp.models.dto.AccountForecast;
+import com.gustavoresende.FinApp.models.dto.BalancePoint;
+import com.gustavoresende.FinApp.models.dto.CashFlowForecast;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.GoalRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.forecast.ForecastEngine;
+import com.gustavoresende.FinApp.services.forecast.ForecastModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+// Saldo projetado por conta e previsão das metas a partir das regras recorrentes.
+// A projeção (ForecastEngine) fica em cache por usuário junto com a versão dos dados dele e é refeita
+// quando a versão muda (escrita em qualquer instância) ou o dia vira; os saldos atuais das contas são
+// lidos a cada consulta e somados a ela.
+@Service
+public class ForecastService {
+
+    private final TransactionRepository transactionRepository;
+    private final GoalRepository goalRepository;
+    private final AccountRepository accountRepository;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate readOnly;
+    private final int maxMonths;
+    private final int goalHorizonMonths;
+    private final Cache<Long, VersionedModel> models;
+
+    public ForecastService(TransactionRepository transactionRepository, GoalRepository goalRepository,
+                           AccountRepository accountRepository, DataVersionService dataVersionService,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${finapp.forecast.max-months:60}") int maxMonths,
+                           @Value("${finapp.forecast.goal-horizon-months:120}") int goalHorizonMonths,
+                           @Value("${finapp.forecast.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${finapp.forecast.cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.goalRepository = goalRepository;
+        this.accountRepository = accountRepository;
+        this.dataVersionService = dataVersionService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.maxMonths = maxMonths;
+        this.goalHorizonMonths = goalHorizonMonths;
+        this.models = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(expireAfterAccess).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, models, "finapp.forecast.models");
+    }
+
+    // Sem transação em volta: a versão e a projeção vêm do primário, os saldos podem vir da réplica
+    public CashFlowForecast forecast(Long userId, int months) {
+        int horizon = Math.clamp(months, 1, maxMonths);
+        LocalDate today = LocalDate.now();
+        ForecastModel model = modelOf(userId, today);
+
+        List<AccountForecast> accounts = new ArrayList<>();
+        YearMonth first = YearMonth.from(today);
+        for (AccountBalance account : accountRepository.findBalancesByUserId(userId)) {
+            List<BalancePoint> points = new ArrayList<>(horizon);
+            for (int m = 0; m < horizon; m++) {
+                BigDecimal balance = account.balance().add(BigDecimal.valueOf(model.cumulativeCents(account.id(), m), 2));
+                points.add(new BalancePoint(first.plusMonths(m).atEndOfMonth(), balance));
+            }
+            accounts.add(new AccountForecast(account.id(), account.name(), account.balance(), points));
+        }
+        return new CashFlowForecast(today, horizon, accounts, model.goals());
+    }
+
+    // Projeção de outra versão dos dados ou de outro dia é refeita; uma por usuário de cada vez
+    private ForecastModel modelOf(Long userId, LocalDate today) {
+        long version = dataVersionService.current(userId);
+        VersionedModel cached = models.getIfPresent(userId);
+        if (cached != null && cached.isCurrent(version, today)) {
+            return cached.model();
+        }
+        return models.asMap().compute(userId, (id, current) ->
+                current != null && current.isCurrent(version, today) ? current : project(id, today)).model();
+    }
+
+    private VersionedModel project(Long userId, LocalDate today) {
+        return ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+            // Versão lida antes das regras e metas: a projeção nunca é mais antiga que ela
+            long version = dataVersionService.current(userId);
+            return new VersionedModel(version, ForecastEngine.project(transactionRepository.findRecurringRulesByUserId(userId),
+                    goalRepository.findStatusByUserId(userId), today, maxMonths, goalHorizonMonths));
+        }));
+    }
+
+    private record VersionedModel(long version, ForecastModel model) {
+
+        boolean isCurrent(long currentVersion, LocalDate today) {
+            return version >= currentVersion && model.asOf().equals(today);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.GoalListItem;
+import com.gustavoresende.FinApp.repositories.GoalRepository;
+import com.gustavoresende.FinApp.services.events.GoalChangedEvent;
+import com.gustavoresende.FinApp.services.exceptions.InvalidReferenceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class GoalService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public Goal findById(Long id) {
+        Optional<Goal> goal = this.goalRepository.findById(id);
+        return goal.orElseThrow(() -> new ObjectNotFoundException(
+                "Meta não encontrada! Id: " + id + ", Tipo: " + Goal.class.getName()));
+    }
+
+    @Transactional(readOnly = true)
+    public GoalListItem findViewById(Long id) {
+        return this.goalRepository.findListItemById(id).orElseThrow(() -> new ObjectNotFoundException(
+                "Meta não encontrada! Id: " + id + ", Tipo: " + Goal.class.getName()));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<GoalListItem> streamAllByUserId(Long userId) {
+        return this.goalRepository.streamListItemsByUserId(userId);
+    }
+
+    // Apenas o lado dono (Goal.user) é preenchido, com uma referência: User.goals não é carregada
+    @Transactional
+    public Goal create(Goal obj) {
+        if (obj.getUser() == null || obj.getUser().getId() == null) {
+            throw new InvalidReferenceException("O id do(a) usuário é obrigatório.");
+        }
+        Long userId = obj.getUser().getId();
+        obj.setId(null);
+        obj.setCurrentAmount(BigDecimal.ZERO);
+        obj.setUser(this.entityManager.getReference(User.class, userId));
+        obj = this.goalRepository.save(obj);
+        this.eventPublisher.publishEvent(new GoalChangedEvent(userId, obj.getId(), false));
+        return obj;
+    }
+
+    @Transactional
+    public Goal update(Goal obj) {
+        Goal newObj = findById(obj.getId());
+        newObj.setName(obj.getName());
+        newObj.setTargetAmount(obj.getTargetAmount());
+        newObj.setEndDate(obj.getEndDate());
+        newObj.setDescription(obj.getDescription());
+        newObj = this.goalRepository.save(newObj);
+        this.eventPublisher.publishEvent(new GoalChangedEvent(newObj.getUser().getId(), newObj.getId(), false));
+        return newObj;
+    }
+
+    // Aporte na meta (limitado ao valor alvo, ver Goal.addToCurrentAmount)
+    @Transactional
+    public Goal contribute(Long id, BigDecimal amount) {
+        Goal obj = findById(id);
+        obj.addToCurrentAmount(amount);
+        obj = this.goalRepository.save(obj);
+        this.eventPublisher.publishEvent(new GoalChangedEvent(obj.getUser().getId(), obj.getId(), false));
+        return obj;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Goal obj = findById(id);
+        this.goalRepository.delete(obj);
+        this.eventPublisher.publishEvent(new GoalChangedEvent(obj.getUser().getId(), id, true));
+    }
+}
@@ -0,0 +1,52 @@
+package com.gustavoresende.FinApp.services;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Listagens da API escritas direto na resposta: cada linha sai do cursor do banco (projeção em
+// record, uma única consulta) para o JsonGenerator, sem montar a lista inteira nem entidades
+// gerenciadas. O stream só vale dentro da transação, por isso a consulta é passada como Supplier.
+@Service
+public class JsonStreamingService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public <T> long writeArray(Supplier<Stream<T>> query, OutputStream out) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Long rows = readOnly.execute(status -> {
+            long count = 0;
+            try (Stream<T> stream = query.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                         .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                generator.writeStartArray();
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(iterator.next());
+                    count++;
+                }
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        return rows != null ? rows : 0;
+    }
+}
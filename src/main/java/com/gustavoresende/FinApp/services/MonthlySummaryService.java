@@ -0,0 +1,159 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.CategoryMonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.MonthlyTotal;
+import com.gustavoresende.FinApp.repositories.MonthlySummaryRepository;
+import com.gustavoresende.FinApp.repositories.UserRepository;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import com.gustavoresende.FinApp.services.outbox.OutboxHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Primeiro handler do outbox: o BudgetService lê o gasto já atualizado por ele no mesmo lote
+@Service
+@Order(0)
+public class MonthlySummaryService implements OutboxHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlySummaryService.class);
+
+    @Autowired
+    private MonthlySummaryRepository monthlySummaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Entregue pelo outbox, na transação que dá baixa nos eventos: o resumo fica atrás das escritas
+    // só pelo atraso do despacho. As mudanças do lote são agrupadas por chave, então um lote gera
+    // um upsert por (categoria, mês, tipo) e não um por linha.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Map<Key, Delta> deltas = new HashMap<>();
+        for (TransactionChange change : event.changes()) {
+            if (change.before() != null) {
+                accumulate(deltas, change.before(), -1);
+            }
+            if (change.after() != null) {
+                accumulate(deltas, change.after(), 1);
+            }
+        }
+        Set<Long> shrunkUsers = new HashSet<>();
+        for (Map.Entry<Key, Delta> entry : deltas.entrySet()) {
+            Key key = entry.getKey();
+            Delta delta = entry.getValue();
+            if (delta.count == 0 && delta.total.signum() == 0) {
+                continue; // ex.: edição só da descrição
+            }
+            monthlySummaryRepository.upsert(key.userId(), key.categoryId(), key.month(), key.type().name(), delta.total, delta.count);
+            if (delta.count < 0) {
+                shrunkUsers.add(key.userId());
+            }
+        }
+        shrunkUsers.forEach(monthlySummaryRepository::deleteEmptyByUserId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MonthlyTotal> findMonthlyTotals(Long userId, YearMonth from, YearMonth to) {
+        return monthlySummaryRepository.findMonthlyTotals(userId, from.atDay(1), to.atDay(1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryMonthlyTotal> findCategoryTotals(Long userId, YearMonth from, YearMonth to) {
+        return monthlySummaryRepository.findCategoryTotals(userId, from.atDay(1), to.atDay(1));
+    }
+
+    // As reconstruções drenam o outbox antes: um delta pendente aplicado depois contaria a mesma
+    // transação duas vezes. Escritas durante a reconstrução: ver rebuildLocked
+    @Transactional
+    public int rebuild(Long userId) {
+        outboxService.drain();
+        return rebuildLocked(userId);
+    }
+
+    // Reconstrução completa, uma transação por usuário para não segurar locks da tabela inteira
+    public void rebuildAll() {
+        TransactionTemplate userTransaction = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        outboxService.drain();
+        List<Long> userIds = userRepository.findAllIds();
+        for (Long userId : userIds) {
+            userTransaction.executeWithoutResult(status -> rebuildLocked(userId));
+        }
+        logger.info("monthly_summary reconstruída para {} usuários em {} ms", userIds.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Com a linha de versão do usuário presa, nenhuma escrita dele é confirmada até o commit (o
+    // incremento é o último passo de cada uma). O que foi confirmado entre o drain e o bloqueio ainda
+    // está no outbox e é entregue aqui, antes de apagar o resumo; o que vier depois só aparece na
+    // tabela após o commit, então entra uma vez só, pelo outbox. A versão nova refaz o dashboard.
+    private int rebuildLocked(Long userId) {
+        dataVersionService.lockAndIncrement(userId);
+        outboxService.deliverPending(userId);
+        monthlySummaryRepository.deleteByUserId(userId);
+        return monthlySummaryRepository.rebuildByUserId(userId) + addArchived(userId);
+    }
+
+    // A reconstrução em SQL só enxerga a tabela quente; os anos arquivados entram como upserts
+    private int addArchived(Long userId) {
+        Map<Key, Delta> deltas = new HashMap<>();
+        try (Stream<ArchivedTransaction> rows = transactionArchiveService.streamAll(userId)) {
+            rows.forEach(row -> {
+                Delta delta = deltas.computeIfAbsent(new Key(userId, row.categoryId(), row.date().withDayOfMonth(1), row.type()),
+                        k -> new Delta());
+                delta.total = delta.total.add(row.amount());
+                delta.count++;
+            });
+        }
+        deltas.forEach((key, delta) -> monthlySummaryRepository.upsert(key.userId(), key.categoryId(), key.month(),
+                key.type().name(), delta.total, delta.count));
+        return deltas.size();
+    }
+
+    private static void accumulate(Map<Key, Delta> deltas, TransactionSnapshot snapshot, int sign) {
+        Key key = new Key(snapshot.userId(), snapshot.categoryId(), snapshot.date().withDayOfMonth(1), snapshot.type());
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.total = sign > 0 ? delta.total.add(snapshot.amount()) : delta.total.subtract(snapshot.amount());
+        delta.count += sign;
+    }
+
+    private record Key(Long userId, Long categoryId, LocalDate month, TransactionType type) {
+    }
+
+    private static final class Delta {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count = 0;
+    }
+}
@@ -0,0 +1,323 @@
+package com.gustavoresende.FinApp.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gustavoresende.FinApp.models.OutboxEvent;
+import com.gustavoresende.FinApp.repositories.OutboxEventRepository;
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.events.GoalChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.outbox.OutboxCodec;
+import com.gustavoresende.FinApp.services.outbox.OutboxHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Outbox transacional. Cada escrita em Transaction, Account ou Goal grava, na própria transação de
+// banco, uma linha em outbox_event (um INSERT por evento e por usuário); as visões derivadas no
+// banco (resumo mensal, alertas de orçamento) são atualizadas depois, pelos OutboxHandler. Assim o
+// custo da escrita não cresce a cada visão derivada nova.
+//
+// O despacho drena as partições em paralelo (threads virtuais), cada uma em lotes ordenados por id.
+// Cada lote é entregue e apagado na mesma transação: um lote que falha volta inteiro na próxima
+// rodada (entrega ao menos uma vez), e o que os handlers gravam no banco nunca é aplicado duas vezes.
+// Quando um lote falha, a mesma rodada o entrega linha a linha: só a linha com problema (handler com
+// defeito, payload inválido) fica para trás, com nova tentativa após uma espera que dobra a cada falha,
+// segurando apenas os eventos seguintes do mesmo usuário. Esgotadas as tentativas, a linha é
+// estacionada (parked = true, ERROR no log e finapp.outbox.parked) e o usuário volta a andar; as
+// visões afetadas se corrigem com a reconstrução (ex.: MonthlySummaryService.rebuild).
+//
+// Continuam síncronos: o saldo da conta (o UPDATE condicional é o que recusa saldo insuficiente),
+// os checkpoints de saldo (ancorados no saldo atual, ver BalanceCheckpointService) e o incremento de
+// user_data_version (DataVersionService), tudo na transação da escrita. Goal.currentAmount não tem
+// handler: não é derivado das transações (nenhuma aponta para uma meta), só muda por aporte explícito
+// em GoalService.contribute, que já grava o valor final.
+//
+// Os caches em memória não passam pelo outbox: os listeners locais deles só rodam na instância que fez
+// a escrita. Nas demais, o que vale é a versão no banco (colunas analíticas, busca, projeção e
+// dashboard são recarregados quando ela muda) ou o expire-after-write de cada cache (referências,
+// filtros de duplicatas, principals); o modelo de categorização, que só sugere, segue por inatividade.
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectProvider<OutboxHandler> handlers;
+    private final OutboxCodec codec;
+    private final TransactionTemplate batchTransaction;
+    private final boolean scheduled;
+    private final int partitions;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final long maxRetryBackoffMillis;
+    private final ReentrantLock draining = new ReentrantLock();
+    private final AtomicLong oldestPending = new AtomicLong(); // created_at da linha mais antiga; 0 = fila vazia
+    private final Counter delivered;
+    private final Counter parked;
+    private final Timer batchTimer;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectProvider<OutboxHandler> handlers,
+                         ObjectMapper objectMapper, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                         @Value("${finapp.outbox.dispatch-on-schedule:true}") boolean dispatchOnSchedule,
+                         @Value("${finapp.outbox.partitions:8}") int partitions,
+                         @Value("${finapp.outbox.batch-size:500}") int batchSize,
+                         @Value("${finapp.outbox.max-attempts:10}") int maxAttempts,
+                         @Value("${finapp.outbox.retry-backoff:1s}") Duration retryBackoff,
+                         @Value("${finapp.outbox.max-retry-backoff:10m}") Duration maxRetryBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.codec = new OutboxCodec(objectMapper);
+        // Sempre uma transação própria, mesmo quando drain() é chamado de dentro de outra (reconstruções)
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.scheduled = dispatchOnSchedule;
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.maxRetryBackoffMillis = maxRetryBackoff.toMillis();
+        this.delivered = Counter.builder("finapp.outbox.delivered").register(meterRegistry);
+        this.parked = Counter.builder("finapp.outbox.parked").register(meterRegistry);
+        this.batchTimer = Timer.builder("finapp.outbox.batch").register(meterRegistry);
+        // Idade do evento mais antigo ainda não entregue (medida a cada rodada do despacho)
+        TimeGauge.builder("finapp.outbox.lag", oldestPending, TimeUnit.MILLISECONDS,
+                oldest -> oldest.get() == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest.get())).register(meterRegistry);
+    }
+
+    // --- Escrita: na transação de quem publicou o evento ---
+
+    // Um bloco de importação vira uma linha por usuário, não uma por transação
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        Map<Long, List<TransactionChange>> byUser = new LinkedHashMap<>();
+        for (TransactionChange change : event.changes()) {
+            byUser.computeIfAbsent(change.userId(), k -> new ArrayList<>()).add(change);
+        }
+        if (byUser.size() == 1) {
+            append(byUser.keySet().iterator().next(), event);
+            return;
+        }
+        byUser.forEach((userId, changes) -> append(userId, new TransactionChangedEvent(changes)));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAccountChanged(AccountChangedEvent event) {
+        append(event.userId(), event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onGoalChanged(GoalChangedEvent event) {
+        append(event.userId(), event);
+    }
+
+    private void append(Long userId, Object event) {
+        outboxEventRepository.append(userId, partition(userId), OutboxCodec.type(event), codec.encode(event),
+                System.currentTimeMillis());
+    }
+
+    private int partition(Long userId) {
+        return Math.floorMod(userId.hashCode(), partitions);
+    }
+
+    // --- Despacho ---
+
+    @Scheduled(fixedDelayString = "${finapp.outbox.poll-interval-ms:200}")
+    public void dispatchOnSchedule() {
+        if (scheduled) {
+            drain();
+        }
+    }
+
+    // Entrega tudo o que estava pendente e devolve quantas linhas foram entregues. Também usado por
+    // quem precisa das visões derivadas em dia (reconstruções, testes)
+    public int drain() {
+        draining.lock();
+        try {
+            List<Integer> pending = outboxEventRepository.findPendingPartitions();
+            AtomicInteger total = new AtomicInteger();
+            if (pending.size() == 1) {
+                total.addAndGet(drainPartition(pending.get(0)));
+            } else if (!pending.isEmpty()) {
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    for (Integer partition : pending) {
+                        executor.submit(() -> total.addAndGet(drainPartition(partition)));
+                    }
+                } // close() aguarda todas as partições
+            }
+            Long oldest = outboxEventRepository.findOldestCreatedAt();
+            oldestPending.set(oldest != null ? oldest : 0);
+            return total.get();
+        } finally {
+            draining.unlock();
+        }
+    }
+
+    // Entrega os eventos pendentes de um usuário na transação de quem chama, que já segura a linha de
+    // versão dele (MonthlySummaryService.rebuild): nenhuma escrita nova do usuário é confirmada até o
+    // commit. Uma falha de handler aqui desfaz a transação inteira de quem chamou.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int deliverPending(Long userId) {
+        List<OutboxEvent> rows = outboxEventRepository.lockPendingByUserId(partition(userId), userId);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        dispatch(decode(rows));
+        outboxEventRepository.deleteAllByIdIn(rows.stream().map(OutboxEvent::getId).toList());
+        delivered.increment(rows.size());
+        return rows.size();
+    }
+
+    // Um lote com falha é entregue linha a linha na mesma rodada; as outras partições seguem
+    private int drainPartition(int partition) {
+        int count = 0;
+        try {
+            int batch;
+            do {
+                try {
+                    batch = batchTransaction.execute(status -> deliverBatch(partition));
+                } catch (RuntimeException e) {
+                    logger.warn("Falha ao entregar lote do outbox (partição {}); entregando evento a evento", partition, e);
+                    count += deliverIsolated(partition);
+                    break;
+                }
+                count += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Falha ao entregar eventos do outbox (partição {}); o lote será repetido", partition, e);
+        }
+        return count;
+    }
+
+    private int deliverBatch(int partition) {
+        List<OutboxEvent> batch = outboxEventRepository.lockBatch(partition, System.currentTimeMillis(), Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        dispatch(decode(batch));
+        outboxEventRepository.deleteAllByIdIn(batch.stream().map(OutboxEvent::getId).toList());
+        delivered.increment(batch.size());
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return batch.size();
+    }
+
+    // Cada linha do lote na sua própria transação; depois de uma falha, as linhas seguintes do mesmo
+    // usuário ficam para a próxima rodada (a ordem por usuário é mantida)
+    private int deliverIsolated(int partition) {
+        List<OutboxEvent> rows = batchTransaction.execute(status ->
+                outboxEventRepository.lockBatch(partition, System.currentTimeMillis(), Limit.of(batchSize)));
+        Set<Long> failedUsers = new HashSet<>();
+        int count = 0;
+        for (OutboxEvent row : rows) {
+            if (failedUsers.contains(row.getUserId())) {
+                continue;
+            }
+            try {
+                count += batchTransaction.execute(status -> deliverOne(row.getId()));
+            } catch (RuntimeException e) {
+                failedUsers.add(row.getUserId());
+                batchTransaction.executeWithoutResult(status -> recordFailure(row, e));
+            }
+        }
+        return count;
+    }
+
+    private int deliverOne(Long id) {
+        OutboxEvent row = outboxEventRepository.lockById(id).orElse(null);
+        if (row == null) {
+            return 0; // Já entregue por outra instância
+        }
+        dispatch(List.of(codec.decode(row.getType(), row.getPayload())));
+        outboxEventRepository.deleteAllByIdIn(List.of(id));
+        delivered.increment();
+        return 1;
+    }
+
+    private void recordFailure(OutboxEvent row, RuntimeException e) {
+        int attempts = row.getAttempts() + 1;
+        boolean park = attempts >= maxAttempts;
+        // Espera dobra a cada falha: 1s, 2s, 4s... até o teto
+        long backoff = Math.min(maxRetryBackoffMillis, retryBackoffMillis << Math.min(attempts - 1, 20));
+        String error = String.valueOf(e.getMessage());
+        outboxEventRepository.recordFailure(row.getId(), attempts, System.currentTimeMillis() + backoff, park,
+                error.length() > 500 ? error.substring(0, 500) : error);
+        if (park) {
+            parked.increment();
+            logger.error("Evento {} do outbox (usuário {}, {}) estacionado após {} tentativas", row.getId(), row.getUserId(),
+                    row.getType(), attempts, e);
+        } else {
+            logger.warn("Evento {} do outbox (usuário {}) falhou ({}ª tentativa); nova tentativa em {} ms", row.getId(),
+                    row.getUserId(), attempts, backoff);
+        }
+    }
+
+    private void dispatch(List<Object> events) {
+        List<OutboxHandler> targets = handlers.orderedStream().toList();
+        for (Object event : events) {
+            for (OutboxHandler handler : targets) {
+                switch (event) {
+                    case TransactionChangedEvent e -> handler.onTransactionChanged(e);
+                    case AccountChangedEvent e -> handler.onAccountChanged(e);
+                    case GoalChangedEvent e -> handler.onGoalChanged(e);
+                    default -> throw new IllegalStateException("Evento sem handler no outbox: " + event.getClass().getName());
+                }
+            }
+        }
+    }
+
+    // Mudanças de transações em linhas consecutivas viram um único evento, para que os handlers
+    // agrupem por chave o lote inteiro (um upsert por chave por lote, e não por escrita)
+    private List<Object> decode(List<OutboxEvent> batch) {
+        List<Object> events = new ArrayList<>();
+        List<TransactionChange> changes = new ArrayList<>();
+        for (OutboxEvent row : batch) {
+            Object event = codec.decode(row.getType(), row.getPayload());
+            if (event instanceof TransactionChangedEvent changed) {
+                changes.addAll(changed.changes());
+                continue;
+            }
+            if (!changes.isEmpty()) {
+                events.add(new TransactionChangedEvent(List.copyOf(changes)));
+                changes.clear();
+            }
+            events.add(event);
+        }
+        if (!changes.isEmpty()) {
+            events.add(new TransactionChangedEvent(List.copyOf(changes)));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,235 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.RecurrenceCheckpoint;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.RecurringRule;
+import com.gustavoresende.FinApp.repositories.RecurrenceCheckpointRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.duplicates.Fingerprints;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Job noturno que transforma as ocorrências vencidas das regras recorrentes em transações reais.
+// O trabalho é dividido por usuário, cada um numa virtual thread; o semáforo limita quantos
+// usuários gravam ao mesmo tempo (para não esgotar o pool de conexões).
+//
+// Cada lote grava ocorrências e avança os checkpoints na mesma transação, com compare-and-set no
+// índice lido (a trava "running" só vale para esta JVM): se outra instância chegou antes, o lote
+// inteiro é desfeito. Um lote que falha é refeito regra a regra; a regra que falha sozinha (ex.: saldo
+// insuficiente) fica para a próxima execução e as outras do usuário seguem avançando.
+@Service
+public class RecurrenceMaterializationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurrenceMaterializationService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RecurrenceCheckpointRepository recurrenceCheckpointRepository;
+
+    @Autowired
+    private BalancePostingService balancePostingService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${finapp.recurrence.batch-size:500}")
+    private int batchSize;
+
+    @Value("${finapp.recurrence.max-concurrency:8}")
+    private int maxConcurrency;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public record MaterializationResult(int users, int failedUsers, int failedRules, long created, long elapsedMillis) {
+    }
+
+    @Scheduled(cron = "${finapp.recurrence.cron:0 30 2 * * *}")
+    public void materializeDueOccurrences() {
+        materializeUpTo(LocalDate.now());
+    }
+
+    public MaterializationResult materializeUpTo(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Materialização de recorrências já em andamento; execução ignorada");
+            return new MaterializationResult(0, 0, 0, 0, 0);
+        }
+        try {
+            long start = System.nanoTime();
+            List<Long> userIds = transactionRepository.findUserIdsWithRecurringRules();
+            Semaphore permits = new Semaphore(maxConcurrency);
+            AtomicLong created = new AtomicLong();
+            AtomicInteger failedUsers = new AtomicInteger();
+            AtomicInteger failedRules = new AtomicInteger();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Long userId : userIds) {
+                    executor.submit(() -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                            created.addAndGet(materializeUser(userId, today, failedRules));
+                        } catch (RuntimeException e) {
+                            failedUsers.incrementAndGet();
+                            logger.error("Falha ao materializar recorrências do usuário {}", userId, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } // close() aguarda todas as tarefas
+            MaterializationResult result = new MaterializationResult(userIds.size(), failedUsers.get(), failedRules.get(),
+                    created.get(), (System.nanoTime() - start) / 1_000_000);
+            logger.info("Recorrências materializadas: {} transações para {} usuários em {} ms ({} usuários e {} regras com falha)",
+                    result.created(), result.users(), result.elapsedMillis(), result.failedUsers(), result.failedRules());
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    long materializeUser(Long userId, LocalDate today, AtomicInteger failedRules) {
+        List<RecurringRule> rules = transactionRepository.findRecurringRulesByUserId(userId);
+        // Índice já gravado de cada regra; sem entrada = regra ainda sem checkpoint
+        Map<Long, Long> committed = new HashMap<>();
+        recurrenceCheckpointRepository.findAllById(rules.stream().map(RecurringRule::id).toList())
+                .forEach(c -> committed.put(c.getRuleId(), c.getLastOccurrenceIndex()));
+
+        TransactionTemplate batchTransaction = new TransactionTemplate(transactionManager);
+        Set<Long> failed = new HashSet<>();
+        List<Occurrence> batch = new ArrayList<>(batchSize);
+        long created = 0;
+        for (RecurringRule rule : rules) {
+            long index = committed.getOrDefault(rule.id(), 0L);
+            LocalDate limit = (rule.endDate() != null && rule.endDate().isBefore(today)) ? rule.endDate() : today;
+            LocalDate next = rule.frequency().occurrence(rule.startDate(), index + 1);
+            while (!next.isAfter(limit) && !failed.contains(rule.id())) {
+                index++;
+                batch.add(new Occurrence(rule, index, next));
+                if (batch.size() == batchSize) {
+                    created += writeOrIsolate(batchTransaction, userId, batch, committed, failed);
+                    batch.clear();
+                }
+                next = rule.frequency().occurrence(rule.startDate(), index + 1);
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += writeOrIsolate(batchTransaction, userId, batch, committed, failed);
+        }
+        failedRules.addAndGet(failed.size());
+        return created;
+    }
+
+    // Um lote com várias regras que falha é refeito uma regra por vez; a regra que falha sozinha não
+    // avança nesta execução (as ocorrências seguintes dela também ficam de fora)
+    private int writeOrIsolate(TransactionTemplate batchTransaction, Long userId, List<Occurrence> batch,
+                               Map<Long, Long> committed, Set<Long> failed) {
+        Map<Long, List<Occurrence>> byRule = new LinkedHashMap<>();
+        for (Occurrence occurrence : batch) {
+            if (!failed.contains(occurrence.rule().id())) {
+                byRule.computeIfAbsent(occurrence.rule().id(), k -> new ArrayList<>()).add(occurrence);
+            }
+        }
+        if (byRule.size() > 1) {
+            try {
+                return writeBatch(batchTransaction, userId, batch, committed);
+            } catch (RuntimeException e) {
+                logger.warn("Lote de recorrências do usuário {} falhou; gravando regra a regra", userId, e);
+            }
+        }
+        int written = 0;
+        for (Map.Entry<Long, List<Occurrence>> rule : byRule.entrySet()) {
+            try {
+                written += writeBatch(batchTransaction, userId, rule.getValue(), committed);
+            } catch (RuntimeException e) {
+                failed.add(rule.getKey());
+                logger.error("Regra recorrente {} do usuário {} não materializada: {}", rule.getKey(), userId, e.getMessage(), e);
+            }
+        }
+        return written;
+    }
+
+    // Grava um lote de ocorrências e avança os checkpoints das regras envolvidas na mesma transação
+    private int writeBatch(TransactionTemplate batchTransaction, Long userId, List<Occurrence> batch,
+                           Map<Long, Long> committed) {
+        Map<Long, Occurrence> lastByRule = new HashMap<>();
+        batchTransaction.executeWithoutResult(status -> {
+            User user = entityManager.getReference(User.class, userId);
+            Map<Long, BigDecimal> netByAccount = new HashMap<>();
+            List<TransactionChange> changes = new ArrayList<>(batch.size());
+            for (Occurrence occurrence : batch) {
+                RecurringRule rule = occurrence.rule();
+                Transaction transaction = new Transaction(rule.amount(), rule.description(), occurrence.date(), rule.type(),
+                        entityManager.getReference(Category.class, rule.categoryId()),
+                        entityManager.getReference(Account.class, rule.accountId()), user);
+                transaction.setFingerprint(Fingerprints.of(rule.accountId(), rule.type(), rule.description()));
+                entityManager.persist(transaction);
+                changes.add(TransactionChange.created(TransactionSnapshot.of(transaction)));
+                BigDecimal signed = rule.type() == TransactionType.INCOME ? rule.amount() : rule.amount().negate();
+                netByAccount.merge(rule.accountId(), signed, BigDecimal::add);
+                lastByRule.put(rule.id(), occurrence);
+            }
+            entityManager.flush();
+            netByAccount.forEach(balancePostingService::applyNow);
+            eventPublisher.publishEvent(new TransactionChangedEvent(changes));
+
+            for (Occurrence last : lastByRule.values()) {
+                Long ruleId = last.rule().id();
+                Long expected = committed.get(ruleId);
+                if (expected == null) {
+                    // Outra instância que inseriu o mesmo checkpoint faz o flush falhar pela chave primária
+                    entityManager.persist(new RecurrenceCheckpoint(ruleId, last.index(), last.date()));
+                } else if (recurrenceCheckpointRepository.advance(ruleId, expected, last.index(), last.date()) == 0) {
+                    throw new OptimisticLockingFailureException("Checkpoint da regra recorrente " + ruleId
+                            + " foi avançado por outra execução");
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        // Só depois do commit o índice gravado passa a ser o esperado pelo próximo lote
+        lastByRule.forEach((ruleId, last) -> committed.put(ruleId, last.index()));
+        return batch.size();
+    }
+
+    private record Occurrence(RecurringRule rule, long index, LocalDate date) {
+    }
+}
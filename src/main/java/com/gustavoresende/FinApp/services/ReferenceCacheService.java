@@ -0,0 +1,98 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.CategoryRepository;
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.events.CategoryChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// Cache das resoluções feitas a cada escrita de Transaction: nome da categoria -> id (por usuário,
+// chave única UK_CATEGORY_NAME_USER) e conta/categoria -> dono. Evita uma ou duas idas ao banco
+// por linha em importações e rajadas de API. Limitado por tamanho e por tempo, e invalidado após
+// o commit de cada criação, renomeação e exclusão de Category/Account.
+//
+// Nomes que não existem ficam num cache à parte, menor e de vida curta: a criação da categoria em
+// outra instância não passa pelos eventos desta, e a linha importada cairia na categoria padrão.
+@Service
+public class ReferenceCacheService {
+
+    private final CategoryRepository categoryRepository;
+    private final AccountRepository accountRepository;
+
+    private final Cache<CategoryNameKey, Long> categoryIdsByName;
+    private final Cache<CategoryNameKey, Boolean> missingCategoryNames;
+    private final Cache<Long, Long> categoryOwners;
+    private final Cache<Long, Long> accountOwners;
+
+    public ReferenceCacheService(CategoryRepository categoryRepository, AccountRepository accountRepository, MeterRegistry meterRegistry,
+                                 @Value("${finapp.cache.references.maximum-size:100000}") long maximumSize,
+                                 @Value("${finapp.cache.references.expire-after-write:10m}") Duration expireAfterWrite,
+                                 @Value("${finapp.cache.references.negative-maximum-size:10000}") long negativeMaximumSize,
+                                 @Value("${finapp.cache.references.negative-expire-after-write:30s}") Duration negativeExpireAfterWrite) {
+        this.categoryRepository = categoryRepository;
+        this.accountRepository = accountRepository;
+        this.categoryIdsByName = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).recordStats().build();
+        this.missingCategoryNames = Caffeine.newBuilder().maximumSize(negativeMaximumSize).expireAfterWrite(negativeExpireAfterWrite)
+                .recordStats().build();
+        this.categoryOwners = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).recordStats().build();
+        this.accountOwners = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).recordStats().build();
+        // Expõe hits, misses, evictions e tamanho em /actuator/metrics (cache.gets, cache.evictions...)
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryIdsByName, "finapp.category.names");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingCategoryNames, "finapp.category.names.missing");
+        CaffeineCacheMetrics.monitor(meterRegistry, categoryOwners, "finapp.category.owners");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountOwners, "finapp.account.owners");
+    }
+
+    public Optional<Long> findCategoryId(Long userId, String name) {
+        CategoryNameKey key = new CategoryNameKey(userId, name);
+        if (missingCategoryNames.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+        Long id = categoryIdsByName.get(key, k -> categoryRepository.findIdByNameAndUserId(k.name(), k.userId()).orElse(null));
+        if (id == null) {
+            missingCategoryNames.put(key, Boolean.TRUE);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    public Optional<Long> findCategoryOwner(Long categoryId) {
+        return Optional.ofNullable(categoryOwners.get(categoryId, id -> categoryRepository.findOwnerIdById(id).orElse(null)));
+    }
+
+    public Optional<Long> findAccountOwner(Long accountId) {
+        return Optional.ofNullable(accountOwners.get(accountId, id -> accountRepository.findOwnerIdById(id).orElse(null)));
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.oldName() != null) {
+            categoryIdsByName.invalidate(new CategoryNameKey(event.userId(), event.oldName()));
+        }
+        if (event.newName() != null) {
+            categoryIdsByName.invalidate(new CategoryNameKey(event.userId(), event.newName()));
+            missingCategoryNames.invalidate(new CategoryNameKey(event.userId(), event.newName()));
+        }
+        if (event.isDeleted()) {
+            categoryOwners.invalidate(event.categoryId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onAccountChanged(AccountChangedEvent event) {
+        if (event.deleted()) {
+            accountOwners.invalidate(event.accountId());
+        }
+    }
+
+    private record CategoryNameKey(Long userId, String name) {
+    }
+}
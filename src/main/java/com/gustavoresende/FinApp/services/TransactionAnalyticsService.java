@@ -0,0 +1,158 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.CategoryTotal;
+import com.gustavoresende.FinApp.models.dto.MonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.PeriodTotals;
+import com.gustavoresende.FinApp.models.dto.TransactionFact;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.analytics.TransactionColumns;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Relatórios calculados em memória sobre as colunas primitivas de TransactionColumns.
+// As colunas de um usuário são carregadas junto com a versão dos dados dele (DataVersionService) e
+// só servem enquanto ela não mudar: qualquer escrita, em qualquer instância, incrementa a versão no
+// banco e a próxima consulta recarrega. Descartadas por tamanho total, por inatividade ou quando
+// falta memória (valores soft: o GC pode recolhê-los antes de um OutOfMemoryError).
+@Service
+public class TransactionAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionAnalyticsService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveService transactionArchiveService;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate readOnly;
+    private final int fetchSize;
+    private final Cache<Long, VersionedColumns> columns;
+
+    public TransactionAnalyticsService(TransactionRepository transactionRepository, TransactionArchiveService transactionArchiveService,
+                                       DataVersionService dataVersionService, PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${finapp.analytics.fetch-size:1000}") int fetchSize,
+                                       @Value("${finapp.analytics.maximum-bytes:268435456}") long maximumBytes,
+                                       @Value("${finapp.analytics.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveService = transactionArchiveService;
+        this.dataVersionService = dataVersionService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.columns = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long userId, VersionedColumns c) -> (int) Math.min(Integer.MAX_VALUE, c.columns().estimatedBytes()))
+                .expireAfterAccess(expireAfterAccess)
+                .softValues()
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, columns, "finapp.analytics.columns");
+    }
+
+    public PeriodTotals findTotals(Long userId, LocalDate from, LocalDate to) {
+        long[] acc = columnsOf(userId).sum(day(from), day(to));
+        BigDecimal income = money(acc[TransactionColumns.INCOME_CENTS]);
+        BigDecimal expense = money(acc[TransactionColumns.EXPENSE_CENTS]);
+        return new PeriodTotals(from, to, income, expense, income.subtract(expense),
+                acc[TransactionColumns.INCOME_COUNT], acc[TransactionColumns.EXPENSE_COUNT]);
+    }
+
+    public List<CategoryTotal> findCategoryTotals(Long userId, LocalDate from, LocalDate to) {
+        TransactionColumns c = columnsOf(userId);
+        long[] acc = c.sumByCategory(day(from), day(to));
+        List<CategoryTotal> totals = new ArrayList<>();
+        for (int ordinal = 0; ordinal < c.categoryCount(); ordinal++) {
+            int base = ordinal * TransactionColumns.SLOTS;
+            Long categoryId = c.categoryId(ordinal);
+            if (acc[base + TransactionColumns.INCOME_COUNT] > 0) {
+                totals.add(new CategoryTotal(categoryId, TransactionType.INCOME, money(acc[base + TransactionColumns.INCOME_CENTS]),
+                        acc[base + TransactionColumns.INCOME_COUNT]));
+            }
+            if (acc[base + TransactionColumns.EXPENSE_COUNT] > 0) {
+                totals.add(new CategoryTotal(categoryId, TransactionType.EXPENSE, money(acc[base + TransactionColumns.EXPENSE_CENTS]),
+                        acc[base + TransactionColumns.EXPENSE_COUNT]));
+            }
+        }
+        return totals;
+    }
+
+    public List<MonthlyTotal> findMonthlyTotals(Long userId, YearMonth from, YearMonth to) {
+        long[] acc = columnsOf(userId).sumByMonth(day(from.atDay(1)), day(to.atEndOfMonth()));
+        List<MonthlyTotal> totals = new ArrayList<>();
+        for (int m = 0; m * TransactionColumns.SLOTS < acc.length; m++) {
+            int base = m * TransactionColumns.SLOTS;
+            LocalDate month = from.plusMonths(m).atDay(1);
+            if (acc[base + TransactionColumns.INCOME_COUNT] > 0) {
+                totals.add(new MonthlyTotal(month, TransactionType.INCOME, money(acc[base + TransactionColumns.INCOME_CENTS]),
+                        acc[base + TransactionColumns.INCOME_COUNT]));
+            }
+            if (acc[base + TransactionColumns.EXPENSE_COUNT] > 0) {
+                totals.add(new MonthlyTotal(month, TransactionType.EXPENSE, money(acc[base + TransactionColumns.EXPENSE_CENTS]),
+                        acc[base + TransactionColumns.EXPENSE_COUNT]));
+            }
+        }
+        return totals;
+    }
+
+    // Uma leitura da versão por consulta; colunas de uma versão anterior são recarregadas (uma carga
+    // por usuário de cada vez, as demais consultas dele esperam e aproveitam)
+    private TransactionColumns columnsOf(Long userId) {
+        long version = dataVersionService.current(userId);
+        VersionedColumns cached = columns.getIfPresent(userId);
+        if (cached != null && cached.version() >= version) {
+            return cached.columns();
+        }
+        return columns.asMap().compute(userId, (id, current) ->
+                current != null && current.version() >= version ? current : load(id)).columns();
+    }
+
+    private VersionedColumns load(Long userId) {
+        long start = System.nanoTime();
+        VersionedColumns loaded = ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+            // Versão lida antes das linhas: as colunas nunca são mais antigas que a versão que levam
+            long version = dataVersionService.current(userId);
+            TransactionColumns.Builder builder = new TransactionColumns.Builder(1024);
+            try (Stream<TransactionFact> facts = transactionRepository.streamFacts(userId, fetchSize)) {
+                facts.forEach(f -> builder.add(f.id(), TransactionColumns.toCents(f.amount()), (int) f.date().toEpochDay(),
+                        f.categoryId(), f.accountId(), f.type() == TransactionType.INCOME));
+            }
+            try (Stream<ArchivedTransaction> archived = transactionArchiveService.streamAll(userId)) {
+                archived.forEach(a -> builder.add(a.id(), TransactionColumns.toCents(a.amount()), (int) a.date().toEpochDay(),
+                        a.categoryId(), a.accountId(), a.type() == TransactionType.INCOME));
+            }
+            return new VersionedColumns(version, builder.build());
+        }));
+        logger.debug("Colunas analíticas do usuário {} carregadas na versão {}: {} transações em {} ms",
+                userId, loaded.version(), loaded.columns().size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    private static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private record VersionedColumns(long version, TransactionColumns columns) {
+    }
+}
@@ -0,0 +1,337 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.TransactionArchive;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.ArchivedYear;
+import com.gustavoresende.FinApp.models.dto.TransactionCursor;
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.TransactionListItem;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.CategoryRepository;
+import com.gustavoresende.FinApp.repositories.TransactionArchiveRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.archive.ArchiveCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+// Arquivamento do histórico frio: transações com mais de retention-years anos saem da tabela quente
+// e vão para um arquivo compactado por (usuário, ano) em transaction_archive. Saldos, resumos
+// mensais e checkpoints não mudam (as transações continuam existindo, só mudam de lugar), então o
+// job não publica eventos; só incrementa a versão dos dados do usuário. Transações arquivadas são
+// somente leitura.
+//
+// As leituras que atravessam o histórico (listagem, exportação, saldo histórico, reconstruções e
+// caches em memória) juntam as linhas quentes com as arquivadas, mas só abrem os arquivos dos anos
+// que o intervalo pedido alcança.
+@Service
+public class TransactionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveService.class);
+    private static final int DELETE_BATCH = 1000;
+    private static final Comparator<ArchivedTransaction> ORDER =
+            Comparator.comparing(ArchivedTransaction::date).thenComparing(ArchivedTransaction::id);
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
+    private final AccountRepository accountRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionPartitionService transactionPartitionService;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+    private final int retentionYears;
+    private final Cache<Long, VersionedYears> years;
+    private final Cache<ArchiveKey, List<ArchivedTransaction>> decoded;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public record ArchiveResult(int users, int archives, long rows, long elapsedMillis) {
+    }
+
+    public TransactionArchiveService(TransactionRepository transactionRepository, TransactionArchiveRepository transactionArchiveRepository,
+                                     AccountRepository accountRepository, CategoryRepository categoryRepository,
+                                     TransactionPartitionService transactionPartitionService, DataVersionService dataVersionService,
+                                     PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                     @Value("${finapp.archive.enabled:true}") boolean enabled,
+                                     @Value("${finapp.archive.retention-years:5}") int retentionYears,
+                                     @Value("${finapp.archive.maximum-bytes:67108864}") long maximumBytes) {
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveRepository = transactionArchiveRepository;
+        this.accountRepository = accountRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionPartitionService = transactionPartitionService;
+        this.dataVersionService = dataVersionService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionYears = retentionYears;
+        // Anos arquivados por usuário, válidos enquanto a versão dos dados dele não mudar: o arquivamento
+        // incrementa a versão, então qualquer instância relê a lista na leitura seguinte
+        this.years = Caffeine.newBuilder().maximumSize(100_000).recordStats().build();
+        this.decoded = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((ArchiveKey key, List<ArchivedTransaction> rows) -> rows.size() * 160)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .softValues()
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, years, "finapp.archive.years");
+        CaffeineCacheMetrics.monitor(meterRegistry, decoded, "finapp.archive.decoded");
+    }
+
+    @Scheduled(cron = "${finapp.archive.cron:0 0 4 1 * *}")
+    public void archiveOnSchedule() {
+        if (enabled) {
+            archiveExpired(LocalDate.now());
+        }
+    }
+
+    // Arquiva os anos inteiros que já saíram da janela de retenção e depois remove as partições vazias
+    public ArchiveResult archiveExpired(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Arquivamento de transações já em andamento; execução ignorada");
+            return new ArchiveResult(0, 0, 0, 0);
+        }
+        try {
+            long start = System.nanoTime();
+            int throughYear = today.minusYears(retentionYears).getYear() - 1;
+            LocalDate before = LocalDate.of(throughYear + 1, 1, 1);
+            List<Long> userIds = transactionRepository.findUserIdsWithArchivableBefore(before);
+            int archives = 0;
+            long rows = 0;
+            for (Long userId : userIds) {
+                for (Integer year : transactionRepository.findArchivableYears(userId, before)) {
+                    try {
+                        rows += archiveYear(userId, year);
+                        archives++;
+                    } catch (RuntimeException e) {
+                        logger.error("Falha ao arquivar {} do usuário {}", year, userId, e);
+                    }
+                }
+            }
+            transactionPartitionService.dropArchived(throughYear);
+            ArchiveResult result = new ArchiveResult(userIds.size(), archives, rows, (System.nanoTime() - start) / 1_000_000);
+            logger.info("Arquivamento até {}: {} transações de {} usuários em {} arquivos, {} ms",
+                    throughYear, result.rows(), result.users(), result.archives(), result.elapsedMillis());
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Uma transação por (usuário, ano): lê e bloqueia as linhas, junta com o arquivo existente
+    // (transações retroativas incluídas depois do primeiro arquivamento) e apaga as linhas quentes.
+    // Por último incrementa a versão do usuário (o último bloqueio, como nas demais escritas), para
+    // que as outras instâncias releiam os anos arquivados
+    public long archiveYear(Long userId, int year) {
+        Long moved = writeTransaction.execute(status -> {
+            List<ArchivedTransaction> hot = transactionRepository.lockArchivable(userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+            if (hot.isEmpty()) {
+                return 0L;
+            }
+            TransactionArchive archive = transactionArchiveRepository.findByUserIdAndArchiveYear(userId, year)
+                    .orElseGet(() -> new TransactionArchive(userId, year));
+            List<ArchivedTransaction> rows = new ArrayList<>(hot);
+            if (archive.getPayload() != null) {
+                Set<Long> ids = new HashSet<>();
+                hot.forEach(row -> ids.add(row.id()));
+                ArchiveCodec.decode(archive.getPayload()).stream().filter(row -> !ids.contains(row.id())).forEach(rows::add);
+                rows.sort(ORDER);
+            }
+            archive.replace(ArchiveCodec.encode(rows), rows.size(), rows.getFirst().date(), rows.getLast().date());
+            transactionArchiveRepository.save(archive);
+            List<Long> ids = hot.stream().map(ArchivedTransaction::id).toList();
+            for (int i = 0; i < ids.size(); i += DELETE_BATCH) {
+                transactionRepository.deleteAllByIdIn(ids.subList(i, Math.min(ids.size(), i + DELETE_BATCH)));
+            }
+            dataVersionService.lockAndIncrement(userId);
+            return (long) hot.size();
+        });
+        return moved != null ? moved : 0;
+    }
+
+    public List<Integer> archivedYears(Long userId) {
+        return yearsOf(userId).years();
+    }
+
+    // Linhas de um ano arquivado, ordenadas por (date, id). A chave leva o número de linhas do
+    // arquivo: um rearquivamento (retroativas) só acrescenta linhas, então a versão antiga decodificada
+    // deixa de ser usada em todas as instâncias assim que a lista de anos é relida
+    public List<ArchivedTransaction> read(Long userId, int year) {
+        VersionedYears current = yearsOf(userId);
+        int i = current.years().indexOf(year);
+        if (i < 0) {
+            return List.of();
+        }
+        return decoded.get(new ArchiveKey(userId, year, current.rowCounts()[i]), key ->
+                transactionArchiveRepository.findPayload(key.userId(), key.year())
+                        .map(ArchiveCodec::decode)
+                        .orElse(List.of()));
+    }
+
+    // Linhas arquivadas em [from, to] em ordem de (date, id); os anos fora do intervalo não são lidos
+    public Stream<ArchivedTransaction> stream(Long userId, LocalDate from, LocalDate to) {
+        return archivedYears(userId).stream()
+                .filter(year -> year >= from.getYear() && year <= to.getYear())
+                .flatMap(year -> read(userId, year).stream())
+                .filter(row -> !row.date().isBefore(from) && !row.date().isAfter(to));
+    }
+
+    // Todas as linhas arquivadas do usuário (reconstruções e caches em memória)
+    public Stream<ArchivedTransaction> streamAll(Long userId) {
+        return archivedYears(userId).stream().flatMap(year -> read(userId, year).stream());
+    }
+
+    public boolean referencesAccount(Long userId, Long accountId) {
+        return streamAll(userId).anyMatch(row -> row.accountId().equals(accountId));
+    }
+
+    public boolean referencesCategory(Long userId, Long categoryId) {
+        return streamAll(userId).anyMatch(row -> row.categoryId().equals(categoryId));
+    }
+
+    // Completa uma página da listagem (keyset em date DESC, id DESC) com as linhas arquivadas.
+    // Se a página quente já está cheia e termina depois do último ano arquivado, nenhum arquivo é lido.
+    public List<TransactionListItem> mergePage(TransactionFilter filter, TransactionCursor after, int limit, List<TransactionListItem> hot) {
+        List<Integer> archived = archivedYears(filter.userId());
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        int floorYear = hot.size() >= limit ? hot.get(limit - 1).date().getYear() : Integer.MIN_VALUE;
+        if (floorYear > archived.getLast()) {
+            return hot;
+        }
+        List<ArchivedTransaction> picked = new ArrayList<>();
+        for (int i = archived.size() - 1; i >= 0 && picked.size() < limit; i--) {
+            int year = archived.get(i);
+            if (year < floorYear || (filter.from() != null && year < filter.from().getYear())) {
+                break;
+            }
+            if ((filter.to() != null && year > filter.to().getYear()) || (after != null && year > after.date().getYear())) {
+                continue;
+            }
+            List<ArchivedTransaction> rows = read(filter.userId(), year);
+            for (int j = rows.size() - 1; j >= 0 && picked.size() < limit; j--) {
+                ArchivedTransaction row = rows.get(j);
+                if (matches(filter, after, row)) {
+                    picked.add(row);
+                }
+            }
+        }
+        if (picked.isEmpty()) {
+            return hot;
+        }
+        Map<Long, String> categoryNames = categoryNames(picked);
+        List<TransactionListItem> merged = new ArrayList<>(hot);
+        for (ArchivedTransaction row : picked) {
+            merged.add(new TransactionListItem(row.id(), row.date(), row.description(), row.amount(), row.type(),
+                    row.accountId(), row.categoryId(), categoryNames.get(row.categoryId())));
+        }
+        merged.sort(Comparator.comparing(TransactionListItem::date).thenComparing(TransactionListItem::id).reversed());
+        return merged.size() > limit ? List.copyOf(merged.subList(0, limit)) : merged;
+    }
+
+    // Linhas da exportação já com os nomes de conta e categoria, um ano arquivado de cada vez
+    public Stream<TransactionExportRow> streamForExport(Long userId, LocalDate from, LocalDate to) {
+        return archivedYears(userId).stream()
+                .filter(year -> year >= from.getYear() && year <= to.getYear())
+                .flatMap(year -> {
+                    List<ArchivedTransaction> rows = read(userId, year).stream()
+                            .filter(row -> !row.date().isBefore(from) && !row.date().isAfter(to))
+                            .toList();
+                    Map<Long, String> accountNames = accountNames(rows);
+                    Map<Long, String> categoryNames = categoryNames(rows);
+                    return rows.stream().map(row -> new TransactionExportRow(row.id(), row.date(), row.description(), row.amount(),
+                            row.type(), accountNames.get(row.accountId()), categoryNames.get(row.categoryId())));
+                });
+    }
+
+    private static boolean matches(TransactionFilter filter, TransactionCursor after, ArchivedTransaction row) {
+        if (filter.accountId() != null && !filter.accountId().equals(row.accountId())) {
+            return false;
+        }
+        if (filter.categoryId() != null && !filter.categoryId().equals(row.categoryId())) {
+            return false;
+        }
+        if (filter.type() != null && filter.type() != row.type()) {
+            return false;
+        }
+        if ((filter.from() != null && row.date().isBefore(filter.from())) || (filter.to() != null && row.date().isAfter(filter.to()))) {
+            return false;
+        }
+        return after == null || row.date().isBefore(after.date()) || (row.date().isEqual(after.date()) && row.id() < after.id());
+    }
+
+    private Map<Long, String> categoryNames(List<ArchivedTransaction> rows) {
+        Set<Long> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(row.categoryId()));
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(ids)) {
+            names.put(category.getId(), category.getName());
+        }
+        return names;
+    }
+
+    private Map<Long, String> accountNames(List<ArchivedTransaction> rows) {
+        Set<Long> ids = new HashSet<>();
+        rows.forEach(row -> ids.add(row.accountId()));
+        Map<Long, String> names = new HashMap<>();
+        for (Account account : accountRepository.findAllById(ids)) {
+            names.put(account.getId(), account.getName());
+        }
+        return names;
+    }
+
+    // Lista de uma versão anterior é relida; a versão vem antes dos anos, como nos caches de análise e busca
+    private VersionedYears yearsOf(Long userId) {
+        long version = dataVersionService.current(userId);
+        VersionedYears cached = years.getIfPresent(userId);
+        if (cached != null && cached.version() >= version) {
+            return cached;
+        }
+        return years.asMap().compute(userId, (id, current) ->
+                current != null && current.version() >= version ? current : loadYears(id));
+    }
+
+    private VersionedYears loadYears(Long userId) {
+        return ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+            long version = dataVersionService.current(userId);
+            List<ArchivedYear> archived = transactionArchiveRepository.findYearsByUserId(userId);
+            return new VersionedYears(version, archived.stream().map(ArchivedYear::year).toList(),
+                    archived.stream().mapToInt(ArchivedYear::rowCount).toArray());
+        }));
+    }
+
+    // rowCounts[i] é o número de linhas do arquivo de years[i]
+    private record VersionedYears(long version, List<Integer> years, int[] rowCounts) {
+    }
+
+    private record ArchiveKey(Long userId, int year, int rowCount) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.gustavoresende.FinApp.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.archive.SortedMerge;
+import com.gustavoresende.FinApp.services.exports.ExportFormat;
+import com.gustavoresende.FinApp.services.exports.ExportWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exportação do histórico em streaming: as linhas saem do cursor do banco direto para a resposta.
+// O heap usado é limitado pelo buffer de escrita e pelo fetch size, não pelo tamanho do histórico.
+@Service
+public class TransactionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportService.class);
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final Comparator<TransactionExportRow> EXPORT_ORDER =
+            Comparator.comparing(TransactionExportRow::date).thenComparing(TransactionExportRow::id);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${finapp.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${finapp.export.clear-every:5000}")
+    private int clearEvery;
+
+    public long export(Long userId, LocalDate from, LocalDate to, ExportFormat format, OutputStream out) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        LocalDate start = from != null ? from : MIN_DATE;
+        LocalDate end = to != null ? to : LocalDate.now();
+        long begin = System.nanoTime();
+
+        Long rows = readOnly.execute(status -> {
+            long count = 0;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try (Stream<TransactionExportRow> stream = transactionRepository.streamForExport(userId, start, end, fetchSize);
+                 Stream<TransactionExportRow> archived = transactionArchiveService.streamForExport(userId, start, end)) {
+                ExportWriter exportWriter = format.open(writer, objectMapper.getFactory());
+                // Anos arquivados só são abertos se o intervalo chegar neles
+                Iterator<TransactionExportRow> iterator = new SortedMerge<>(stream.iterator(), archived.iterator(), EXPORT_ORDER);
+                while (iterator.hasNext()) {
+                    exportWriter.write(iterator.next());
+                    // Projeções não ficam gerenciadas, mas o contexto é limpo mesmo assim para que
+                    // nada (ex.: entidades carregadas por ouvintes) se acumule durante a exportação
+                    if (++count % clearEvery == 0) {
+                        entityManager.clear();
+                    }
+                }
+                exportWriter.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+        logger.info("Exportação {} do usuário {}: {} linhas em {} ms", format, userId, rows, (System.nanoTime() - begin) / 1_000_000);
+        return rows != null ? rows : 0;
+    }
+}
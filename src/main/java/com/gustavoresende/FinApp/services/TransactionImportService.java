@@ -0,0 +1,223 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.CategorySuggestion;
+import com.gustavoresende.FinApp.services.duplicates.DuplicateCheck;
+import com.gustavoresende.FinApp.services.duplicates.Fingerprints;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import com.gustavoresende.FinApp.services.exceptions.InsufficientBalanceException;
+import com.gustavoresende.FinApp.services.exceptions.InvalidImportException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import com.gustavoresende.FinApp.services.imports.ImportFormat;
+import com.gustavoresende.FinApp.services.imports.ImportResult;
+import com.gustavoresende.FinApp.services.imports.ImportedRow;
+import com.gustavoresende.FinApp.services.imports.StatementReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// Importação em massa de extratos: o arquivo é lido em streaming e gravado em blocos (chunks).
+// Cada bloco vira um único lote JDBC dentro da sua própria transação e o contexto de
+// persistência é limpo ao final, então o heap usado não depende do tamanho do arquivo.
+@Service
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private BalancePostingService balancePostingService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategorizationService categorizationService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Value("${finapp.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${finapp.import.auto-categorize:true}")
+    private boolean autoCategorize;
+
+    @Value("${finapp.import.skip-duplicates:true}")
+    private boolean skipDuplicates;
+
+    public ImportResult importStatement(Long accountId, Long defaultCategoryId, ImportFormat format, InputStream input) {
+        Long userId = referenceCacheService.findAccountOwner(accountId).orElseThrow(() -> new ObjectNotFoundException(
+                "Conta não encontrada! Id: " + accountId + ", Tipo: " + Account.class.getName()));
+        Long categoryOwner = referenceCacheService.findCategoryOwner(defaultCategoryId).orElseThrow(() -> new ObjectNotFoundException(
+                "Categoria não encontrada! Id: " + defaultCategoryId + ", Tipo: " + Category.class.getName()));
+        if (!Objects.equals(userId, categoryOwner)) {
+            throw new InvalidImportException("A categoria padrão não pertence ao dono da conta.");
+        }
+
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        List<ImportedRow> chunk = new ArrayList<>(chunkSize);
+        ImportCounts counts = new ImportCounts();
+        DuplicateCheck duplicates = duplicateDetectionService.begin(userId, accountId);
+        long imported = 0;
+        long read = 0;
+        int chunks = 0;
+        long skipped;
+        long start = System.nanoTime();
+
+        try (StatementReader reader = format.open(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            while (reader.hasNext()) {
+                chunk.add(reader.next());
+                read++;
+                if (chunk.size() == chunkSize) {
+                    imported += writeChunk(chunkTransaction, chunk, userId, accountId, defaultCategoryId, duplicates, counts);
+                    chunks++;
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += writeChunk(chunkTransaction, chunk, userId, accountId, defaultCategoryId, duplicates, counts);
+                chunks++;
+            }
+            skipped = reader.skipped();
+        } catch (InsufficientBalanceException e) {
+            // Os blocos anteriores já foram commitados: o erro diz até onde o extrato entrou
+            // (registros = linhas válidas lidas, sem contar as ignoradas)
+            long first = read - chunk.size() + 1;
+            throw new InsufficientBalanceException("Saldo insuficiente no bloco " + (chunks + 1) + " (registros " + first
+                    + " a " + read + " do extrato): os blocos anteriores foram mantidos (" + imported
+                    + " linhas importadas) e nada a partir do registro " + first + " foi gravado.", e);
+        } catch (IOException | UncheckedIOException e) {
+            throw new InvalidImportException("Falha ao ler o extrato (" + imported + " linhas já importadas).", e);
+        }
+
+        ImportResult result = ImportResult.of(imported, skipped, chunks, System.nanoTime() - start, counts.duplicates,
+                counts.auto, counts.review);
+        logger.info("Importação {} da conta {}: {} linhas em {} ms ({} linhas/s), {} ignoradas, {} duplicadas, {} categorizadas pelo histórico, {} para revisão",
+                format, accountId, result.imported(), result.elapsedMillis(), Math.round(result.rowsPerSecond()), result.skipped(),
+                result.duplicates(), result.autoCategorized(), result.review());
+        return result;
+    }
+
+    private int writeChunk(TransactionTemplate chunkTransaction, List<ImportedRow> read, Long userId, Long accountId,
+                           Long defaultCategoryId, DuplicateCheck duplicates, ImportCounts counts) {
+        List<ImportedRow> chunk = skipDuplicates ? withoutDuplicates(read, duplicates, counts) : read;
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        // Resolvidas fora da transação do bloco: o modelo de categorização pode precisar ser treinado
+        Long[] categoryIds = resolveCategories(chunk, userId, defaultCategoryId, counts);
+        chunkTransaction.executeWithoutResult(status -> {
+            // O bloco inteiro vai num único lote JDBC
+            entityManager.unwrap(Session.class).setJdbcBatchSize(chunk.size());
+            // Referências (proxies) evitam um SELECT por linha para conta, usuário e categoria
+            User user = entityManager.getReference(User.class, userId);
+            Account account = entityManager.getReference(Account.class, accountId);
+            BigDecimal net = BigDecimal.ZERO;
+            List<TransactionChange> changes = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                ImportedRow row = chunk.get(i);
+                Category category = entityManager.getReference(Category.class, categoryIds[i]);
+                Transaction transaction = new Transaction(row.amount(), row.description(), row.date(), row.type(), category, account, user);
+                transaction.setFingerprint(Fingerprints.of(accountId, row.type(), row.description()));
+                entityManager.persist(transaction);
+                duplicates.recordWritten(transaction.getId());
+                net = row.type() == TransactionType.INCOME ? net.add(row.amount()) : net.subtract(row.amount());
+                changes.add(TransactionChange.created(TransactionSnapshot.of(transaction)));
+            }
+            entityManager.flush();
+            // Um único lançamento de saldo e um único evento por bloco, na mesma transação dos INSERTs
+            balancePostingService.applyNow(accountId, net);
+            eventPublisher.publishEvent(new TransactionChangedEvent(changes));
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return chunk.size();
+    }
+
+    // Linhas que já existem na conta (extrato reimportado ou com período sobreposto) ficam de fora
+    private List<ImportedRow> withoutDuplicates(List<ImportedRow> read, DuplicateCheck duplicates, ImportCounts counts) {
+        boolean[] duplicate = duplicateDetectionService.findDuplicates(duplicates, read);
+        List<ImportedRow> fresh = new ArrayList<>(read.size());
+        for (int i = 0; i < read.size(); i++) {
+            if (duplicate[i]) {
+                counts.duplicates++;
+            } else {
+                fresh.add(read.get(i));
+            }
+        }
+        return fresh;
+    }
+
+    // Categoria pelo nome (coluna opcional do CSV). Sem nome conhecido, a sugestão do histórico do
+    // usuário (um lote por bloco); sugestões de baixa confiança ficam na categoria padrão, para revisão
+    private Long[] resolveCategories(List<ImportedRow> chunk, Long userId, Long defaultCategoryId, ImportCounts counts) {
+        Long[] categoryIds = new Long[chunk.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportedRow row = chunk.get(i);
+            Long categoryId = row.categoryName() != null
+                    ? referenceCacheService.findCategoryId(userId, row.categoryName()).orElse(null) : null;
+            if (categoryId != null || !autoCategorize) {
+                categoryIds[i] = categoryId != null ? categoryId : defaultCategoryId;
+            } else {
+                pending.add(i);
+                descriptions.add(row.description());
+            }
+        }
+        if (pending.isEmpty()) {
+            return categoryIds;
+        }
+        List<CategorySuggestion> suggestions = categorizationService.suggest(userId, descriptions);
+        for (int j = 0; j < pending.size(); j++) {
+            CategorySuggestion suggestion = suggestions.get(j);
+            if (suggestion.review()) {
+                categoryIds[pending.get(j)] = defaultCategoryId;
+                counts.review++;
+            } else {
+                categoryIds[pending.get(j)] = suggestion.categoryId();
+                counts.auto++;
+            }
+        }
+        return categoryIds;
+    }
+
+    private static final class ImportCounts {
+        private long duplicates;
+        private long auto;
+        private long review;
+    }
+}
@@ -0,0 +1,126 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.services.archive.TransactionPartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+// Particionamento de `transaction` por ano, mantido pela aplicação (só MySQL/MariaDB; em outros
+// bancos não faz nada). Na primeira execução converte a tabela; depois mantém partições abertas
+// para os próximos anos e remove as partições dos anos que o arquivamento já esvaziou.
+@Service
+public class TransactionPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int yearsAhead;
+
+    public TransactionPartitionService(JdbcTemplate jdbcTemplate,
+                                       @Value("${finapp.partitioning.enabled:false}") boolean enabled,
+                                       @Value("${finapp.partitioning.years-ahead:2}") int yearsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.yearsAhead = yearsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain(LocalDate.now().getYear());
+    }
+
+    @Scheduled(cron = "${finapp.partitioning.cron:0 0 3 1 * *}")
+    public void scheduledMaintenance() {
+        maintain(LocalDate.now().getYear());
+    }
+
+    public synchronized void maintain(int currentYear) {
+        if (!isSupported()) {
+            return;
+        }
+        int lastYear = currentYear + yearsAhead;
+        List<String> partitions = partitions();
+        List<String> statements;
+        if (partitions.isEmpty()) {
+            List<String> referencing = jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS "
+                    + "WHERE CONSTRAINT_SCHEMA = DATABASE() AND REFERENCED_TABLE_NAME = 'transaction'", String.class);
+            if (!referencing.isEmpty()) {
+                logger.error("`transaction` não pode ser particionada: referenciada pelas chaves estrangeiras {}", referencing);
+                return;
+            }
+            Date oldest = jdbcTemplate.queryForObject("SELECT MIN(`date`) FROM " + TransactionPartitions.TABLE, Date.class);
+            int firstYear = oldest != null ? Math.min(oldest.toLocalDate().getYear(), currentYear) : currentYear;
+            statements = TransactionPartitions.convert(foreignKeys(), uniqueIndexes(), firstYear, lastYear);
+            logger.info("Convertendo `transaction` para particionamento anual ({} a {})", firstYear, lastYear);
+        } else {
+            statements = TransactionPartitions.extend(partitions, lastYear);
+        }
+        long start = System.nanoTime();
+        statements.forEach(jdbcTemplate::execute);
+        if (!statements.isEmpty()) {
+            logger.info("Partições de `transaction` atualizadas ({} comandos) em {} ms", statements.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // Depois do arquivamento: DROP PARTITION dos anos até throughYear que ficaram vazios
+    // (regras recorrentes antigas continuam na tabela quente e mantêm a partição do seu ano)
+    public synchronized int dropArchived(int throughYear) {
+        if (!isSupported()) {
+            return 0;
+        }
+        int dropped = 0;
+        for (String partition : TransactionPartitions.droppable(partitions(), throughYear)) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(TransactionPartitions.isEmpty(partition), Boolean.class))) {
+                jdbcTemplate.execute(TransactionPartitions.drop(partition));
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.info("{} partições de `transaction` arquivadas removidas (até {})", dropped, throughYear);
+        }
+        return dropped;
+    }
+
+    private boolean isSupported() {
+        if (!enabled) {
+            return false;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        String name = product != null ? product.toLowerCase(Locale.ROOT) : "";
+        if (!name.contains("mysql") && !name.contains("mariadb")) {
+            logger.warn("Particionamento de `transaction` só é suportado no MySQL/MariaDB (banco atual: {})", product);
+            return false;
+        }
+        return true;
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transaction' AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+    }
+
+    private List<String> foreignKeys() {
+        return jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transaction' AND CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class);
+    }
+
+    private List<String> uniqueIndexes() {
+        return jdbcTemplate.queryForList("SELECT DISTINCT INDEX_NAME FROM information_schema.STATISTICS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transaction' AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'",
+                String.class);
+    }
+}
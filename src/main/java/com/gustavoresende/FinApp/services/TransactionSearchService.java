@@ -0,0 +1,100 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.configs.routing.ReadRouting;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.TransactionSearch;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchResult;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.search.DescriptionIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+// Busca textual nas descrições sem LIKE '%termo%' no banco: cada usuário tem um DescriptionIndex
+// em memória, montado junto com a versão dos dados dele e remontado quando ela muda (escritas de
+// qualquer instância a incrementam no banco), como as colunas de TransactionAnalyticsService. Os índices
+// são descartados por tamanho total, por inatividade ou quando falta memória (valores soft).
+@Service
+public class TransactionSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSearchService.class);
+    private static final int MAX_LIMIT = 200;
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchiveService transactionArchiveService;
+    private final DataVersionService dataVersionService;
+    private final TransactionTemplate readOnly;
+    private final int fetchSize;
+    private final Cache<Long, VersionedIndex> indexes;
+
+    public TransactionSearchService(TransactionRepository transactionRepository, TransactionArchiveService transactionArchiveService,
+                                    DataVersionService dataVersionService, PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${finapp.search.fetch-size:1000}") int fetchSize,
+                                    @Value("${finapp.search.maximum-bytes:268435456}") long maximumBytes,
+                                    @Value("${finapp.search.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.transactionArchiveService = transactionArchiveService;
+        this.dataVersionService = dataVersionService;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Long userId, VersionedIndex index) -> (int) Math.min(Integer.MAX_VALUE, index.index().estimatedBytes()))
+                .expireAfterAccess(expireAfterAccess)
+                .softValues()
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "finapp.search.indexes");
+    }
+
+    public TransactionSearchResult search(Long userId, TransactionSearch query, int limit) {
+        return indexOf(userId).search(query, Math.clamp(limit, 1, MAX_LIMIT));
+    }
+
+    // Índice de uma versão anterior é remontado; uma montagem por usuário de cada vez
+    private DescriptionIndex indexOf(Long userId) {
+        long version = dataVersionService.current(userId);
+        VersionedIndex cached = indexes.getIfPresent(userId);
+        if (cached != null && cached.version() >= version) {
+            return cached.index();
+        }
+        return indexes.asMap().compute(userId, (id, current) ->
+                current != null && current.version() >= version ? current : load(id)).index();
+    }
+
+    private VersionedIndex load(Long userId) {
+        long start = System.nanoTime();
+        VersionedIndex loaded = ReadRouting.onPrimary(() -> readOnly.execute(status -> {
+            // Versão lida antes das linhas, como em TransactionAnalyticsService
+            long version = dataVersionService.current(userId);
+            DescriptionIndex index = new DescriptionIndex(1024);
+            try (Stream<TransactionSearchHit> rows = transactionRepository.streamSearchRows(userId, fetchSize)) {
+                rows.forEach(index::put);
+            }
+            try (Stream<ArchivedTransaction> archived = transactionArchiveService.streamAll(userId)) {
+                archived.forEach(row -> index.put(new TransactionSearchHit(row.id(), row.date(), row.description(), row.amount(),
+                        row.type(), row.accountId(), row.categoryId())));
+            }
+            return new VersionedIndex(version, index);
+        }));
+        logger.debug("Índice de busca do usuário {} montado na versão {}: {} transações em {} ms",
+                userId, loaded.version(), loaded.index().size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private record VersionedIndex(long version, DescriptionIndex index) {
+    }
+}
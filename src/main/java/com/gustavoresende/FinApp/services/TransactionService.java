@@ -0,0 +1,173 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.CursorPage;
+import com.gustavoresende.FinApp.models.dto.TransactionCursor;
+import com.gustavoresende.FinApp.models.dto.TransactionDetail;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.TransactionListItem;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.duplicates.Fingerprints;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import com.gustavoresende.FinApp.services.exceptions.InvalidReferenceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+public class TransactionService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private BalancePostingService balancePostingService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    public Transaction findById(Long id) {
+        Optional<Transaction> transaction = this.transactionRepository.findById(id);
+        return transaction.orElseThrow(() -> new ObjectNotFoundException(
+                "Transação não encontrada! Id: " + id + ", Tipo: " + Transaction.class.getName()));
+    }
+
+    // Leitura pela API: uma consulta, sem carregar a transação, a conta ou a categoria
+    @Transactional(readOnly = true)
+    public TransactionDetail findViewById(Long id) {
+        return this.transactionRepository.findDetailById(id).orElseThrow(() -> new ObjectNotFoundException(
+                "Transação não encontrada! Id: " + id + ", Tipo: " + Transaction.class.getName()));
+    }
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Listagem por keyset: busca size + 1 linhas para saber se existe próxima página
+    @Transactional(readOnly = true)
+    public CursorPage<TransactionListItem> findPage(TransactionFilter filter, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        TransactionCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = TransactionCursor.decode(cursor);
+            if (after == null) {
+                throw new InvalidReferenceException("Cursor de paginação inválido.");
+            }
+        }
+        List<TransactionListItem> rows = this.transactionArchiveService.mergePage(filter, after, limit + 1,
+                this.transactionRepository.findPage(filter, after, limit + 1));
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TransactionListItem> items = rows.subList(0, limit);
+        TransactionListItem last = items.get(limit - 1);
+        return new CursorPage<>(List.copyOf(items), new TransactionCursor(last.date(), last.id()).encode());
+    }
+
+    @Transactional
+    public Transaction create(Transaction obj) {
+        Long userId = requireId(obj.getUser(), "usuário");
+        obj.setId(null);
+        bindReferences(obj, userId, requireId(obj.getAccount(), "conta"), requireId(obj.getCategory(), "categoria"));
+        obj = this.transactionRepository.save(obj);
+
+        TransactionSnapshot after = TransactionSnapshot.of(obj);
+        this.balancePostingService.applyNow(after.accountId(), after.signedAmount());
+        this.eventPublisher.publishEvent(TransactionChangedEvent.of(TransactionChange.created(after)));
+        return obj;
+    }
+
+    @Transactional
+    public Transaction update(Transaction obj) {
+        Transaction newObj = findById(obj.getId());
+        TransactionSnapshot before = TransactionSnapshot.of(newObj);
+
+        newObj.setAmount(obj.getAmount());
+        newObj.setDescription(obj.getDescription());
+        newObj.setDate(obj.getDate());
+        newObj.setType(obj.getType());
+        newObj.setRecurring(obj.isRecurring());
+        newObj.setRecurrenceFrequency(obj.getRecurrenceFrequency());
+        newObj.setRecurrenceEndDate(obj.getRecurrenceEndDate());
+        Long accountId = obj.getAccount() != null ? obj.getAccount().getId() : before.accountId();
+        Long categoryId = obj.getCategory() != null ? obj.getCategory().getId() : before.categoryId();
+        bindReferences(newObj, before.userId(), accountId, categoryId);
+        newObj = this.transactionRepository.save(newObj);
+
+        TransactionSnapshot after = TransactionSnapshot.of(newObj);
+        // Desfaz o efeito antigo e aplica o novo (um único lançamento se a conta não mudou)
+        if (Objects.equals(before.accountId(), after.accountId())) {
+            this.balancePostingService.applyNow(after.accountId(), after.signedAmount().subtract(before.signedAmount()));
+        } else {
+            this.balancePostingService.applyNow(before.accountId(), before.signedAmount().negate());
+            this.balancePostingService.applyNow(after.accountId(), after.signedAmount());
+        }
+        this.eventPublisher.publishEvent(TransactionChangedEvent.of(TransactionChange.updated(before, after)));
+        return newObj;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Transaction obj = findById(id);
+        TransactionSnapshot before = TransactionSnapshot.of(obj);
+        this.transactionRepository.delete(obj);
+        this.balancePostingService.applyNow(before.accountId(), before.signedAmount().negate());
+        this.eventPublisher.publishEvent(TransactionChangedEvent.of(TransactionChange.deleted(before)));
+    }
+
+    // Conta e categoria precisam pertencer ao mesmo usuário da transação.
+    // Os donos vêm do cache de referências e as associações usam proxies, sem carregar entidades.
+    private void bindReferences(Transaction obj, Long userId, Long accountId, Long categoryId) {
+        Long accountOwner = this.referenceCacheService.findAccountOwner(accountId).orElseThrow(() -> new ObjectNotFoundException(
+                "Conta não encontrada! Id: " + accountId + ", Tipo: " + Account.class.getName()));
+        Long categoryOwner = this.referenceCacheService.findCategoryOwner(categoryId).orElseThrow(() -> new ObjectNotFoundException(
+                "Categoria não encontrada! Id: " + categoryId + ", Tipo: " + Category.class.getName()));
+        if (!Objects.equals(userId, accountOwner) || !Objects.equals(userId, categoryOwner)) {
+            throw new InvalidReferenceException("A conta e a categoria devem pertencer ao usuário da transação.");
+        }
+        obj.setUser(this.entityManager.getReference(User.class, userId));
+        obj.setAccount(this.entityManager.getReference(Account.class, accountId));
+        obj.setCategory(this.entityManager.getReference(Category.class, categoryId));
+        // Tipo e descrição já estão definidos aqui; a impressão digital acompanha a conta
+        obj.setFingerprint(Fingerprints.of(accountId, obj.getType(), obj.getDescription()));
+    }
+
+    private static Long requireId(User user, String name) {
+        return requireId(user != null ? user.getId() : null, name);
+    }
+
+    private static Long requireId(Account account, String name) {
+        return requireId(account != null ? account.getId() : null, name);
+    }
+
+    private static Long requireId(Category category, String name) {
+        return requireId(category != null ? category.getId() : null, name);
+    }
+
+    private static Long requireId(Long id, String name) {
+        if (id == null) {
+            throw new InvalidReferenceException("O id do(a) " + name + " é obrigatório.");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package com.gustavoresende.FinApp.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.repositories.UserRepository;
+import com.gustavoresende.FinApp.services.events.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+// UserDetailsService do login: uma consulta de três colunas (UserPrincipal) em vez da entidade User,
+// com um cache limitado na frente. Usernames inexistentes ficam num cache à parte, menor e mais curto,
+// então tentativas repetidas com um e-mail qualquer não chegam ao banco nem ocupam o cache dos
+// usuários reais. Criação de usuário e troca de senha invalidam as entradas após o commit; nas outras
+// instâncias a senha antiga vale até expire-after-write (por isso curto, 30s).
+@Service
+public class UserAuthenticationService implements UserDetailsService {
+
+    private final Function<String, Optional<UserPrincipal>> lookup;
+    private final Cache<String, UserPrincipal> principals;
+    private final Cache<String, Boolean> missing;
+
+    @Autowired
+    public UserAuthenticationService(UserRepository userRepository, MeterRegistry meterRegistry,
+                                     @Value("${finapp.security.principal-cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${finapp.security.principal-cache.expire-after-write:30s}") Duration expireAfterWrite,
+                                     @Value("${finapp.security.principal-cache.negative-maximum-size:10000}") long negativeMaximumSize,
+                                     @Value("${finapp.security.principal-cache.negative-expire-after-write:10s}") Duration negativeExpireAfterWrite) {
+        this(userRepository::findPrincipalByUsername, meterRegistry, maximumSize, expireAfterWrite, negativeMaximumSize,
+                negativeExpireAfterWrite);
+    }
+
+    // Busca injetável (benchmarks de login sem banco)
+    public UserAuthenticationService(Function<String, Optional<UserPrincipal>> lookup, MeterRegistry meterRegistry,
+                                     long maximumSize, Duration expireAfterWrite, long negativeMaximumSize,
+                                     Duration negativeExpireAfterWrite) {
+        this.lookup = lookup;
+        this.principals = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).recordStats().build();
+        this.missing = Caffeine.newBuilder().maximumSize(negativeMaximumSize).expireAfterWrite(negativeExpireAfterWrite)
+                .recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "finapp.security.principals");
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, "finapp.security.principals.missing");
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (missing.getIfPresent(username) == null) {
+            UserPrincipal principal = principals.get(username, key -> lookup.apply(key).orElse(null));
+            if (principal != null) {
+                return principal;
+            }
+            missing.put(username, Boolean.TRUE);
+        }
+        throw new UsernameNotFoundException("Usuário não encontrado.");
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        principals.invalidate(event.username());
+        missing.invalidate(event.username());
+    }
+}
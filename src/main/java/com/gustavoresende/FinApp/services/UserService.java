@@ -0,0 +1,53 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.repositories.UserRepository;
+import com.gustavoresende.FinApp.services.events.UserChangedEvent;
+import com.gustavoresende.FinApp.services.exceptions.DataBindingViolationException;
+import com.gustavoresende.FinApp.services.exceptions.InvalidReferenceException;
+import com.gustavoresende.FinApp.services.exceptions.ObjectNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class UserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Cadastro (POST /user): a senha chega em texto puro e é gravada só como hash
+    @Transactional
+    public User create(User obj) {
+        if (this.userRepository.existsByUsername(obj.getUsername())) {
+            throw new DataBindingViolationException("Já existe um usuário com este nome de usuário.");
+        }
+        obj.setId(null);
+        obj.setPassword(this.passwordEncoder.encode(obj.getPassword()));
+        obj = this.userRepository.save(obj);
+        this.eventPublisher.publishEvent(new UserChangedEvent(obj.getId(), obj.getUsername()));
+        return obj;
+    }
+
+    // Confere a senha atual pelo hash do principal (sem carregar User) e grava só a coluna da senha
+    @Transactional
+    public void updatePassword(UserPrincipal principal, String currentPassword, String newPassword) {
+        UserPrincipal current = this.userRepository.findPrincipalByUsername(principal.username())
+                .orElseThrow(() -> new ObjectNotFoundException(
+                        "Usuário não encontrado! Id: " + principal.id() + ", Tipo: " + User.class.getName()));
+        if (!this.passwordEncoder.matches(currentPassword, current.password())) {
+            throw new InvalidReferenceException("A senha atual não confere.");
+        }
+        this.userRepository.updatePassword(current.id(), this.passwordEncoder.encode(newPassword));
+        this.eventPublisher.publishEvent(new UserChangedEvent(current.id(), current.username()));
+    }
+}
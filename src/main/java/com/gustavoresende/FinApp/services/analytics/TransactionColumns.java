@@ -0,0 +1,291 @@
+package com.gustavoresende.FinApp.services.analytics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Transações de um usuário em colunas primitivas: valor em centavos (long), data em dias desde
+// 1970-01-01 (int), categoria e conta como ordinais (int) e o tipo num bitset (bit ligado = receita).
+// Montada de uma vez pelo Builder e imutável depois disso; uma mudança nos dados gera outra
+// instância, carregada do zero.
+//
+// As somas percorrem os arrays sem criar objetos por linha e devolvem acumuladores long[] com
+// SLOTS posições por grupo: centavos de receita, centavos de despesa, quantidade de receitas e
+// quantidade de despesas.
+public final class TransactionColumns {
+
+    public static final int INCOME_CENTS = 0;
+    public static final int EXPENSE_CENTS = 1;
+    public static final int INCOME_COUNT = 2;
+    public static final int EXPENSE_COUNT = 3;
+    public static final int SLOTS = 4;
+
+    // Abaixo disso o custo de dividir o trabalho entre threads é maior que o da varredura
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final boolean PARALLEL = Runtime.getRuntime().availableProcessors() > 1;
+
+    private final int size;
+    private final long[] ids;
+    private final long[] cents;
+    private final int[] days;
+    private final int[] categories;
+    private final int[] accounts;
+    private final long[] incomeBits;
+    private final int minDay;
+    private final int maxDay;
+
+    private final Ordinals categoryOrdinals;
+    private final Ordinals accountOrdinals;
+    private final int categoryCount;
+    private final int accountCount;
+    private final long[] categoryIds;
+    private final long[] accountIds;
+
+    private TransactionColumns(int size, long[] ids, long[] cents, int[] days, int[] categories, int[] accounts,
+                               long[] incomeBits, int minDay, int maxDay, Ordinals categoryOrdinals, Ordinals accountOrdinals) {
+        this.size = size;
+        this.ids = ids;
+        this.cents = cents;
+        this.days = days;
+        this.categories = categories;
+        this.accounts = accounts;
+        this.incomeBits = incomeBits;
+        this.minDay = minDay;
+        this.maxDay = maxDay;
+        this.categoryOrdinals = categoryOrdinals;
+        this.accountOrdinals = accountOrdinals;
+        this.categoryCount = categoryOrdinals.size;
+        this.accountCount = accountOrdinals.size;
+        this.categoryIds = categoryOrdinals.ids;
+        this.accountIds = accountOrdinals.ids;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int categoryCount() {
+        return categoryCount;
+    }
+
+    public int accountCount() {
+        return accountCount;
+    }
+
+    public long categoryId(int ordinal) {
+        return categoryIds[ordinal];
+    }
+
+    public long accountId(int ordinal) {
+        return accountIds[ordinal];
+    }
+
+    // Bytes aproximados ocupados pelas colunas (para o peso no cache)
+    public long estimatedBytes() {
+        return (long) ids.length * (8 + 8 + 4 + 4 + 4) + (long) incomeBits.length * 8 + 64;
+    }
+
+    // Totais do período [fromDay, toDay] (dias desde 1970-01-01, inclusive)
+    public long[] sum(int fromDay, int toDay) {
+        return scan(fromDay, toDay, 1, null, null);
+    }
+
+    // Totais por ordinal de categoria: o grupo g começa em g * SLOTS
+    public long[] sumByCategory(int fromDay, int toDay) {
+        return scan(fromDay, toDay, categoryCount, categories, null);
+    }
+
+    // Totais por ordinal de conta
+    public long[] sumByAccount(int fromDay, int toDay) {
+        return scan(fromDay, toDay, accountCount, accounts, null);
+    }
+
+    // Totais por mês: o grupo 0 é o mês de fromDay
+    public long[] sumByMonth(int fromDay, int toDay) {
+        int firstMonth = epochMonth(fromDay);
+        int months = Math.max(0, epochMonth(toDay) - firstMonth + 1);
+        // Tabela dia -> mês só para os dias que existem nas colunas, calculada uma vez por consulta
+        int from = Math.max(fromDay, minDay);
+        int to = Math.min(toDay, maxDay);
+        int[] monthOfDay = new int[from <= to ? to - from + 1 : 0];
+        for (int d = 0; d < monthOfDay.length; d++) {
+            monthOfDay[d] = epochMonth(from + d) - firstMonth;
+        }
+        return scan(fromDay, toDay, months, null, monthOfDay);
+    }
+
+    // Agrupa pela coluna rowKeys (ordinal por linha), pela tabela dayKeys (grupo por dia a partir
+    // do primeiro dia consultado) ou, sem nenhuma das duas, num grupo só
+    private long[] scan(int fromDay, int toDay, int groups, int[] rowKeys, int[] dayKeys) {
+        int from = Math.max(fromDay, minDay);
+        int to = Math.min(toDay, maxDay);
+        if (groups == 0 || from > to) {
+            return new long[groups * SLOTS];
+        }
+        if (size < PARALLEL_THRESHOLD || !PARALLEL) {
+            long[] acc = new long[groups * SLOTS];
+            accumulateRange(acc, 0, size, from, to, rowKeys, dayKeys);
+            return acc;
+        }
+        // Cada parte soma um bloco contíguo de linhas no seu próprio acumulador
+        int block = PARALLEL_THRESHOLD / 4;
+        return IntStream.range(0, Math.ceilDiv(size, block)).parallel().collect(
+                () -> new long[groups * SLOTS],
+                (acc, b) -> accumulateRange(acc, b * block, Math.min(size, (b + 1) * block), from, to, rowKeys, dayKeys),
+                TransactionColumns::merge);
+    }
+
+    // Sem desvios por tipo: o bit de receita (0 ou 1) escolhe a posição do acumulador,
+    // já que INCOME_* = EXPENSE_* - 1
+    private void accumulateRange(long[] acc, int start, int end, int from, int to, int[] rowKeys, int[] dayKeys) {
+        if (rowKeys != null) {
+            for (int i = start; i < end; i++) {
+                int day = days[i];
+                if (day >= from && day <= to) {
+                    int base = rowKeys[i] * SLOTS;
+                    int income = (int) (incomeBits[i >>> 6] >>> i) & 1;
+                    acc[base + EXPENSE_CENTS - income] += cents[i];
+                    acc[base + EXPENSE_COUNT - income]++;
+                }
+            }
+        } else if (dayKeys != null) {
+            for (int i = start; i < end; i++) {
+                int day = days[i];
+                if (day >= from && day <= to) {
+                    int base = dayKeys[day - from] * SLOTS;
+                    int income = (int) (incomeBits[i >>> 6] >>> i) & 1;
+                    acc[base + EXPENSE_CENTS - income] += cents[i];
+                    acc[base + EXPENSE_COUNT - income]++;
+                }
+            }
+        } else {
+            for (int i = start; i < end; i++) {
+                int day = days[i];
+                if (day >= from && day <= to) {
+                    int income = (int) (incomeBits[i >>> 6] >>> i) & 1;
+                    acc[EXPENSE_CENTS - income] += cents[i];
+                    acc[EXPENSE_COUNT - income]++;
+                }
+            }
+        }
+    }
+
+    private static void merge(long[] target, long[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] += other[i];
+        }
+    }
+
+    // Mês como ano * 12 + (mês - 1), calculado direto do dia (algoritmo "civil from days" de
+    // H. Hinnant), sem criar LocalDate
+    public static int epochMonth(int epochDay) {
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097L);
+        long dayOfEra = z - era * 146097L;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) (year * 12 + month - 1);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    // Dicionário id -> ordinal, preenchido na ordem em que os ids aparecem na carga
+    private static final class Ordinals {
+
+        private final Map<Long, Integer> index = new HashMap<>();
+        private long[] ids = new long[16];
+        private int size;
+
+        int ordinal(long id) {
+            Integer ordinal = index.get(id);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            index.put(id, size);
+            return size++;
+        }
+    }
+
+    // Monta as colunas linha a linha, crescendo os arrays quando faltar espaço
+    public static final class Builder {
+
+        private final Ordinals categoryOrdinals;
+        private final Ordinals accountOrdinals;
+        private int size;
+        private long[] ids;
+        private long[] cents;
+        private int[] days;
+        private int[] categories;
+        private int[] accounts;
+        private long[] incomeBits;
+        private int minDay = Integer.MAX_VALUE;
+        private int maxDay = Integer.MIN_VALUE;
+
+        public Builder(int expectedSize) {
+            this.categoryOrdinals = new Ordinals();
+            this.accountOrdinals = new Ordinals();
+            int capacity = Math.max(16, expectedSize);
+            this.ids = new long[capacity];
+            this.cents = new long[capacity];
+            this.days = new int[capacity];
+            this.categories = new int[capacity];
+            this.accounts = new int[capacity];
+            this.incomeBits = new long[words(capacity)];
+        }
+
+        public Builder add(long id, long amountInCents, int epochDay, long categoryId, long accountId, boolean income) {
+            return addRow(id, amountInCents, epochDay, categoryOrdinals.ordinal(categoryId), accountOrdinals.ordinal(accountId), income);
+        }
+
+        private Builder addRow(long id, long amountInCents, int epochDay, int categoryOrdinal, int accountOrdinal, boolean income) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            cents[size] = amountInCents;
+            days[size] = epochDay;
+            minDay = Math.min(minDay, epochDay);
+            maxDay = Math.max(maxDay, epochDay);
+            categories[size] = categoryOrdinal;
+            accounts[size] = accountOrdinal;
+            if (income) {
+                incomeBits[size >>> 6] |= 1L << size;
+            } else {
+                incomeBits[size >>> 6] &= ~(1L << size);
+            }
+            size++;
+            return this;
+        }
+
+        private void grow() {
+            int capacity = size + (size >> 1) + 16;
+            ids = Arrays.copyOf(ids, capacity);
+            cents = Arrays.copyOf(cents, capacity);
+            days = Arrays.copyOf(days, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+            accounts = Arrays.copyOf(accounts, capacity);
+            incomeBits = Arrays.copyOf(incomeBits, words(capacity));
+        }
+
+        public TransactionColumns build() {
+            return new TransactionColumns(size, ids, cents, days, categories, accounts, incomeBits, minDay, maxDay,
+                    categoryOrdinals, accountOrdinals);
+        }
+
+        private static int words(int capacity) {
+            return (capacity + 63) >>> 6;
+        }
+    }
+}
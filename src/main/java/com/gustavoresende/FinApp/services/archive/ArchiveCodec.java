@@ -0,0 +1,233 @@
+package com.gustavoresende.FinApp.services.archive;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.services.analytics.TransactionColumns;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Formato dos arquivos anuais: as linhas (ordenadas por data e id) são gravadas por coluna, com
+// datas, ids, contas e categorias como diferenças para a linha anterior em varint, valores em
+// centavos e as descrições no fim, e o bloco inteiro passa pelo Deflate. Colunas separadas deixam
+// valores parecidos lado a lado (datas quase iguais, descrições repetidas), o que o Deflate
+// aproveita bem: um ano de transações ocupa uma fração do espaço das linhas com seus índices.
+public final class ArchiveCodec {
+
+    private static final int VERSION = 1;
+
+    private ArchiveCodec() {
+    }
+
+    public static byte[] encode(List<ArchivedTransaction> rows) {
+        Buffer out = new Buffer(rows.size() * 48 + 16);
+        out.write(VERSION);
+        out.writeVarLong(rows.size());
+        long previous = 0;
+        for (ArchivedTransaction row : rows) {
+            long day = row.date().toEpochDay();
+            out.writeZigZag(day - previous);
+            previous = day;
+        }
+        previous = 0;
+        for (ArchivedTransaction row : rows) {
+            out.writeZigZag(row.id() - previous);
+            previous = row.id();
+        }
+        for (ArchivedTransaction row : rows) {
+            out.writeVarLong(TransactionColumns.toCents(row.amount()));
+        }
+        for (ArchivedTransaction row : rows) {
+            out.write(row.type() == TransactionType.INCOME ? 1 : 0);
+        }
+        previous = 0;
+        for (ArchivedTransaction row : rows) {
+            out.writeZigZag(row.accountId() - previous);
+            previous = row.accountId();
+        }
+        previous = 0;
+        for (ArchivedTransaction row : rows) {
+            out.writeZigZag(row.categoryId() - previous);
+            previous = row.categoryId();
+        }
+        for (ArchivedTransaction row : rows) {
+            byte[] text = row.description().getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(text.length);
+            out.write(text);
+        }
+        return deflate(out.toByteArray());
+    }
+
+    public static List<ArchivedTransaction> decode(byte[] payload) {
+        Reader in = new Reader(inflate(payload));
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IllegalStateException("Versão de arquivo de transações desconhecida: " + version);
+        }
+        int size = (int) in.readVarLong();
+        long[] days = new long[size];
+        long[] ids = new long[size];
+        long[] cents = new long[size];
+        boolean[] income = new boolean[size];
+        long[] accounts = new long[size];
+        long[] categories = new long[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += in.readZigZag();
+            days[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += in.readZigZag();
+            ids[i] = previous;
+        }
+        for (int i = 0; i < size; i++) {
+            cents[i] = in.readVarLong();
+        }
+        for (int i = 0; i < size; i++) {
+            income[i] = in.read() == 1;
+        }
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += in.readZigZag();
+            accounts[i] = previous;
+        }
+        previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += in.readZigZag();
+            categories[i] = previous;
+        }
+        List<ArchivedTransaction> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String description = in.readString((int) in.readVarLong());
+            rows.add(new ArchivedTransaction(ids[i], LocalDate.ofEpochDay(days[i]), description, BigDecimal.valueOf(cents[i], 2),
+                    income[i] ? TransactionType.INCOME : TransactionType.EXPENSE, accounts[i], categories[i]));
+        }
+        return rows;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] payload) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(payload);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Arquivo de transações truncado");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Arquivo de transações corrompido", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static final class Buffer {
+
+        private byte[] bytes;
+        private int size;
+
+        Buffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, size, b.length);
+            size += b.length;
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int read() {
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = read();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString(int length) {
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
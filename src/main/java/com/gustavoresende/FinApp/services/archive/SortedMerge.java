@@ -0,0 +1,45 @@
+package com.gustavoresende.FinApp.services.archive;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Intercala dois iteradores já ordenados pelo mesmo critério (ex.: linhas quentes do cursor do
+// banco e linhas dos arquivos anuais), sem materializar nenhum dos dois
+public final class SortedMerge<T> implements Iterator<T> {
+
+    private final Iterator<T> left;
+    private final Iterator<T> right;
+    private final Comparator<? super T> order;
+    private T nextLeft;
+    private T nextRight;
+
+    public SortedMerge(Iterator<T> left, Iterator<T> right, Comparator<? super T> order) {
+        this.left = left;
+        this.right = right;
+        this.order = order;
+        this.nextLeft = left.hasNext() ? left.next() : null;
+        this.nextRight = right.hasNext() ? right.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLeft != null || nextRight != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T value;
+        if (nextRight == null || (nextLeft != null && order.compare(nextLeft, nextRight) <= 0)) {
+            value = nextLeft;
+            nextLeft = left.hasNext() ? left.next() : null;
+        } else {
+            value = nextRight;
+            nextRight = right.hasNext() ? right.next() : null;
+        }
+        return value;
+    }
+}
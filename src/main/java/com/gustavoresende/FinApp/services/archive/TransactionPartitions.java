@@ -0,0 +1,95 @@
+package com.gustavoresende.FinApp.services.archive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+// DDL do particionamento de `transaction` no MySQL: RANGE COLUMNS(date) com uma partição por ano
+// (pAAAA guarda as datas anteriores a AAAA+1-01-01) e pmax para o que vier depois. Consultas com
+// filtro de data só leem as partições do intervalo, e um ano arquivado sai com DROP PARTITION
+// em vez de um DELETE linha a linha.
+//
+// O MySQL exige que toda chave única contenha a coluna de particionamento e não aceita chaves
+// estrangeiras em tabelas particionadas: a conversão troca a PK por (id, date) e remove as FKs
+// (a integridade com usuário, conta e categoria continua garantida pelos serviços).
+public final class TransactionPartitions {
+
+    public static final String TABLE = "`transaction`";
+    public static final String MAX_PARTITION = "pmax";
+
+    private TransactionPartitions() {
+    }
+
+    public static String name(int year) {
+        return "p" + year;
+    }
+
+    public static OptionalInt year(String partition) {
+        if (partition == null || partition.length() != 5 || partition.charAt(0) != 'p') {
+            return OptionalInt.empty();
+        }
+        try {
+            return OptionalInt.of(Integer.parseInt(partition.substring(1)));
+        } catch (NumberFormatException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    // Tabela ainda sem partições: partições de firstYear (que também recebe os anos anteriores) até lastYear
+    public static List<String> convert(List<String> foreignKeys, List<String> uniqueIndexes, int firstYear, int lastYear) {
+        List<String> statements = new ArrayList<>();
+        for (String foreignKey : foreignKeys) {
+            statements.add("ALTER TABLE " + TABLE + " DROP FOREIGN KEY `" + foreignKey + "`");
+        }
+        for (String index : uniqueIndexes) {
+            statements.add("ALTER TABLE " + TABLE + " DROP INDEX `" + index + "`");
+        }
+        statements.add("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `date`)");
+        statements.add("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(`date`) (" + definitions(firstYear, lastYear) + ")");
+        return statements;
+    }
+
+    // Abre as partições dos anos seguintes dividindo pmax (que deve estar vazia ou quase)
+    public static List<String> extend(List<String> partitions, int lastYear) {
+        int newest = Integer.MIN_VALUE;
+        for (String partition : partitions) {
+            OptionalInt year = year(partition);
+            if (year.isPresent()) {
+                newest = Math.max(newest, year.getAsInt());
+            }
+        }
+        if (newest == Integer.MIN_VALUE || newest >= lastYear || !partitions.contains(MAX_PARTITION)) {
+            return List.of();
+        }
+        return List.of("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                + definitions(newest + 1, lastYear) + ")");
+    }
+
+    // Partições de anos até throughYear (já arquivados); o serviço só remove as que estiverem vazias
+    public static List<String> droppable(List<String> partitions, int throughYear) {
+        List<String> droppable = new ArrayList<>();
+        for (String partition : partitions) {
+            OptionalInt year = year(partition);
+            if (year.isPresent() && year.getAsInt() <= throughYear) {
+                droppable.add(partition);
+            }
+        }
+        return droppable;
+    }
+
+    public static String drop(String partition) {
+        return "ALTER TABLE " + TABLE + " DROP PARTITION " + partition;
+    }
+
+    public static String isEmpty(String partition) {
+        return "SELECT NOT EXISTS (SELECT 1 FROM " + TABLE + " PARTITION (" + partition + "))";
+    }
+
+    private static String definitions(int firstYear, int lastYear) {
+        StringBuilder sql = new StringBuilder();
+        for (int year = firstYear; year <= lastYear; year++) {
+            sql.append("PARTITION ").append(name(year)).append(" VALUES LESS THAN ('").append(year + 1).append("-01-01'), ");
+        }
+        return sql.append("PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN (MAXVALUE)").toString();
+    }
+}
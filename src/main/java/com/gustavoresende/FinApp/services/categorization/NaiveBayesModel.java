@@ -0,0 +1,273 @@
+package com.gustavoresende.FinApp.services.categorization;
+
+import com.gustavoresende.FinApp.models.dto.CategorySuggestion;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import com.gustavoresende.FinApp.services.search.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Naive Bayes multinomial (descrição -> categoria) de um usuário, treinado com as palavras das
+// descrições já categorizadas. Só guarda contagens, então aprender ou esquecer uma transação custa
+// O(palavras) e uma recategorização é esquecer na categoria antiga e aprender na nova.
+//
+// Com suavização de Laplace, a pontuação (log) de uma categoria c para as palavras t1..tn é
+//   log(docs_c + 1) - n * log(palavras_c + V) + soma log(contagem(t, c) + 1)
+// O último termo só é diferente de zero nas categorias em que a palavra já apareceu, então cada
+// palavra visita apenas a sua lista esparsa de categorias. Palavras nunca vistas são ignoradas.
+// A confiança é a probabilidade posterior da melhor categoria (softmax das pontuações).
+public final class NaiveBayesModel {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    // Pacote de até 12 letras em base 37 cabe num long positivo; palavras maiores viram hash negativo
+    private static final int PACKED_LENGTH = 12;
+    private static final double[] LOG = new double[1024];
+
+    static {
+        for (int i = 1; i < LOG.length; i++) {
+            LOG[i] = Math.log(i);
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, TokenCounts> vocabulary = new HashMap<>();
+    private long[] categoryIds = new long[8];
+    private int[] docs = new int[8];
+    private long[] tokens = new long[8];
+    private int categories;
+    private long totalDocs;
+    private int vocabularySize;
+
+    // Aprende (delta = 1) ou esquece (delta = -1) uma descrição na categoria
+    public void learn(String description, long categoryId, int delta) {
+        long[] keys = tokenize(description);
+        lock.writeLock().lock();
+        try {
+            update(keys, categoryId, delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Aplica as mudanças de um evento: cada versão anterior é esquecida e cada nova, aprendida
+    public NaiveBayesModel apply(List<TransactionChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (TransactionChange change : changes) {
+                TransactionSnapshot before = change.before();
+                TransactionSnapshot after = change.after();
+                // Edição que não muda descrição nem categoria (ex.: só o valor) não mexe nas contagens
+                if (before != null && after != null && before.categoryId().equals(after.categoryId())
+                        && Objects.equals(before.description(), after.description())) {
+                    continue;
+                }
+                if (before != null) {
+                    update(tokenize(before.description()), before.categoryId(), -1);
+                }
+                if (after != null) {
+                    update(tokenize(after.description()), after.categoryId(), 1);
+                }
+            }
+            return this;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long documents() {
+        lock.readLock().lock();
+        try {
+            return totalDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bytes aproximados (para o peso no cache): mapa de palavras com as listas esparsas por categoria
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) vocabulary.size() * 120 + (long) categoryIds.length * 24 + 256;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Categoria mais provável de cada descrição, com a confiança; abaixo de minConfidence a linha vai
+    // para revisão. Sem nenhum treino, todas vão para revisão sem categoria.
+    public List<CategorySuggestion> predict(List<String> descriptions, double minConfidence) {
+        List<CategorySuggestion> suggestions = new ArrayList<>(descriptions.size());
+        lock.readLock().lock();
+        try {
+            // Partes da pontuação que só dependem da categoria, calculadas uma vez por lote
+            double[] prior = new double[categories];
+            double[] logDenominator = new double[categories];
+            for (int c = 0; c < categories; c++) {
+                prior[c] = Math.log(docs[c] + 1.0);
+                logDenominator[c] = Math.log(tokens[c] + (double) vocabularySize);
+            }
+            double[] scores = new double[categories];
+            for (String description : descriptions) {
+                suggestions.add(predict(tokenize(description), prior, logDenominator, scores, minConfidence));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private CategorySuggestion predict(long[] keys, double[] prior, double[] logDenominator, double[] scores, double minConfidence) {
+        Arrays.fill(scores, 0.0);
+        int known = 0;
+        for (long key : keys) {
+            TokenCounts counts = vocabulary.get(key);
+            if (counts == null) {
+                continue;
+            }
+            known++;
+            for (int i = 0; i < counts.size; i++) {
+                scores[counts.ordinals[i]] += log(counts.counts[i] + 1);
+            }
+        }
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < categories; c++) {
+            if (docs[c] == 0) {
+                continue;
+            }
+            scores[c] += prior[c] - known * logDenominator[c];
+            if (scores[c] > bestScore) {
+                bestScore = scores[c];
+                best = c;
+            }
+        }
+        if (best == -1) {
+            return new CategorySuggestion(null, 0.0, true);
+        }
+        double sum = 0.0;
+        for (int c = 0; c < categories; c++) {
+            if (docs[c] > 0) {
+                sum += Math.exp(scores[c] - bestScore);
+            }
+        }
+        double confidence = 1.0 / sum;
+        // Sem nenhuma palavra conhecida a "previsão" é só a categoria mais frequente
+        boolean review = known == 0 || confidence < minConfidence;
+        return new CategorySuggestion(categoryIds[best], confidence, review);
+    }
+
+    private void update(long[] keys, long categoryId, int delta) {
+        int ordinal = ordinal(categoryId);
+        // Nunca abaixo de zero, mesmo que um evento seja esquecido duas vezes
+        int applied = Math.max(delta, -docs[ordinal]);
+        docs[ordinal] += applied;
+        totalDocs += applied;
+        tokens[ordinal] = Math.max(0, tokens[ordinal] + (long) keys.length * delta);
+        for (long key : keys) {
+            TokenCounts counts = delta > 0 ? vocabulary.computeIfAbsent(key, k -> new TokenCounts()) : vocabulary.get(key);
+            if (counts == null) {
+                continue;
+            }
+            int before = counts.total;
+            counts.add(ordinal, delta);
+            if (before == 0 && counts.total > 0) {
+                vocabularySize++;
+            } else if (counts.total == 0) {
+                vocabularySize--;
+                vocabulary.remove(key);
+            }
+        }
+    }
+
+    private int ordinal(long categoryId) {
+        Integer ordinal = ordinals.get(categoryId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (categories == categoryIds.length) {
+            categoryIds = Arrays.copyOf(categoryIds, categories * 2);
+            docs = Arrays.copyOf(docs, categories * 2);
+            tokens = Arrays.copyOf(tokens, categories * 2);
+        }
+        categoryIds[categories] = categoryId;
+        ordinals.put(categoryId, categories);
+        return categories++;
+    }
+
+    // Palavras da descrição como chaves long; números soltos (ex.: "#12345", datas) não ajudam a
+    // categorizar e ficam de fora
+    static long[] tokenize(String description) {
+        byte[] text = TextNormalizer.normalize(description);
+        long[] keys = new long[text.length / 2 + 1];
+        int n = 0;
+        int length = 0;
+        boolean letters = false;
+        long key = 0;
+        for (byte code : text) {
+            if (code == TextNormalizer.SEPARATOR) {
+                if (length >= MIN_TOKEN_LENGTH && letters) {
+                    keys[n++] = key;
+                }
+                length = 0;
+                letters = false;
+                key = 0;
+                continue;
+            }
+            letters |= code <= 26;
+            length++;
+            if (length <= PACKED_LENGTH) {
+                key = key * TextNormalizer.ALPHABET + code;
+            } else {
+                key = (key * 0x9E3779B97F4A7C15L + code) | Long.MIN_VALUE;
+            }
+        }
+        return Arrays.copyOf(keys, n);
+    }
+
+    private static double log(int value) {
+        return value < LOG.length ? LOG[value] : Math.log(value);
+    }
+
+    // Contagens de uma palavra por ordinal de categoria, só das categorias em que ela aparece
+    private static final class TokenCounts {
+
+        private int[] ordinals = new int[2];
+        private int[] counts = new int[2];
+        private int size;
+        private int total;
+
+        void add(int ordinal, int delta) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    int applied = Math.max(delta, -counts[i]);
+                    counts[i] += applied;
+                    total += applied;
+                    if (counts[i] == 0) {
+                        // Remove trocando pelo último
+                        size--;
+                        ordinals[i] = ordinals[size];
+                        counts[i] = counts[size];
+                    }
+                    return;
+                }
+            }
+            if (delta <= 0) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            ordinals[size] = ordinal;
+            counts[size++] = delta;
+            total += delta;
+        }
+    }
+}
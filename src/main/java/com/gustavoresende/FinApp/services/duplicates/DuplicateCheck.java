@@ -0,0 +1,41 @@
+package com.gustavoresende.FinApp.services.duplicates;
+
+import java.util.BitSet;
+
+// Estado da detecção de duplicatas durante uma importação: os ids gravados pela própria importação
+// não contam como duplicata (um extrato pode ter duas compras iguais no mesmo dia, e a segunda pode
+// cair no bloco seguinte). Os ids vêm da sequência pooled em ordem crescente, então um BitSet a partir
+// do primeiro id guardado custa ~1 bit por id do intervalo.
+public final class DuplicateCheck {
+
+    private final Long userId;
+    private final Long accountId;
+    private final BitSet own = new BitSet();
+    private long firstId = -1;
+
+    public DuplicateCheck(Long userId, Long accountId) {
+        this.userId = userId;
+        this.accountId = accountId;
+    }
+
+    public Long userId() {
+        return userId;
+    }
+
+    public Long accountId() {
+        return accountId;
+    }
+
+    public void recordWritten(long id) {
+        if (firstId == -1) {
+            firstId = id;
+        }
+        if (id >= firstId && id - firstId <= Integer.MAX_VALUE) {
+            own.set((int) (id - firstId));
+        }
+    }
+
+    public boolean isOwn(long id) {
+        return firstId != -1 && id >= firstId && id - firstId <= Integer.MAX_VALUE && own.get((int) (id - firstId));
+    }
+}
@@ -0,0 +1,65 @@
+package com.gustavoresende.FinApp.services.duplicates;
+
+// Filtro de Bloom das (impressão digital, dia) já gravadas numa conta. "Não" é definitivo: a linha
+// importada não tem nenhuma transação parecida no banco e nem precisa ser consultada. "Talvez" vai
+// para a consulta em lote. Exclusões e edições não removem bits (só aumentam os falsos positivos);
+// quando as inclusões passam da capacidade o filtro deve ser reconstruído.
+public final class FingerprintBloomFilter {
+
+    private final long[] bits;
+    private final long mask;
+    private final int hashes;
+    private final long capacity;
+    private long insertions;
+
+    // Tamanho em potência de 2 para capacity itens com a taxa de falsos positivos pedida
+    public FingerprintBloomFilter(long capacity, double falsePositiveRate) {
+        this.capacity = Math.max(capacity, 1024);
+        double bitsNeeded = -this.capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long size = Long.highestOneBit((long) Math.ceil(bitsNeeded) - 1) << 1;
+        this.bits = new long[(int) Math.max(1, size >>> 6)];
+        this.mask = (long) bits.length * 64 - 1;
+        this.hashes = Math.max(1, (int) Math.round(bitsNeeded / this.capacity * Math.log(2)));
+    }
+
+    public synchronized void add(long fingerprint, long epochDay) {
+        long key = Fingerprints.withDay(fingerprint, epochDay);
+        long h1 = key;
+        long h2 = Fingerprints.mix(key) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    // Algum dia em [fromDay, toDay] pode ter a impressão digital
+    public synchronized boolean mightContain(long fingerprint, long fromDay, long toDay) {
+        for (long day = fromDay; day <= toDay; day++) {
+            if (contains(Fingerprints.withDay(fingerprint, day))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized boolean isSaturated() {
+        return insertions > capacity;
+    }
+
+    public long estimatedBytes() {
+        return (long) bits.length * 8 + 64;
+    }
+
+    private boolean contains(long key) {
+        long h1 = key;
+        long h2 = Fingerprints.mix(key) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
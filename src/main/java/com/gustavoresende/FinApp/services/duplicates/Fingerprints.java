@@ -0,0 +1,36 @@
+package com.gustavoresende.FinApp.services.duplicates;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.services.search.TextNormalizer;
+
+// Impressão digital de uma transação para detectar reimportações: conta, tipo e descrição normalizada
+// (maiúsculas, acentos e pontuação não importam). Data e valor ficam de fora do hash para que as
+// janelas de tolerância possam ser aplicadas por faixa na consulta (fingerprint IN ... AND date BETWEEN ...)
+public final class Fingerprints {
+
+    private Fingerprints() {
+    }
+
+    public static long of(Long accountId, TransactionType type, String description) {
+        long hash = mix(accountId) ^ (type == TransactionType.INCOME ? 0x5bd1e995L : 0);
+        for (byte code : TextNormalizer.normalize(description)) {
+            hash = (hash ^ code) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // Chave do filtro de Bloom: impressão digital + dia
+    static long withDay(long fingerprint, long epochDay) {
+        return mix(fingerprint ^ (epochDay * 0x9E3779B97F4A7C15L));
+    }
+
+    // Finalizador do MurmurHash3 (64 bits)
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,5 @@
+package com.gustavoresende.FinApp.services.events;
+
+// Criação, alteração ou exclusão de uma Account
+public record AccountChangedEvent(Long userId, Long accountId, boolean deleted) {
+}
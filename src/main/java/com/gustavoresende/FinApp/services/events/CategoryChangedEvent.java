@@ -0,0 +1,9 @@
+package com.gustavoresende.FinApp.services.events;
+
+// Criação (oldName == null), renomeação ou exclusão (newName == null) de uma Category
+public record CategoryChangedEvent(Long userId, Long categoryId, String oldName, String newName) {
+
+    public boolean isDeleted() {
+        return newName == null;
+    }
+}
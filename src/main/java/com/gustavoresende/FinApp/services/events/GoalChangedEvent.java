@@ -0,0 +1,5 @@
+package com.gustavoresende.FinApp.services.events;
+
+// Criação, alteração (inclusive de progresso) ou exclusão de uma Goal
+public record GoalChangedEvent(Long userId, Long goalId, boolean deleted) {
+}
@@ -0,0 +1,25 @@
+package com.gustavoresende.FinApp.services.events;
+
+// Uma escrita em Transaction: before == null na criação, after == null na exclusão
+public record TransactionChange(TransactionSnapshot before, TransactionSnapshot after) {
+
+    public static TransactionChange created(TransactionSnapshot after) {
+        return new TransactionChange(null, after);
+    }
+
+    public static TransactionChange updated(TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChange(before, after);
+    }
+
+    public static TransactionChange deleted(TransactionSnapshot before) {
+        return new TransactionChange(before, null);
+    }
+
+    public Long userId() {
+        return after != null ? after.userId() : before.userId();
+    }
+
+    public Long transactionId() {
+        return after != null ? after.id() : before.id();
+    }
+}
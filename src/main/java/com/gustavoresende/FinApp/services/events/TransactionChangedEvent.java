@@ -0,0 +1,12 @@
+package com.gustavoresende.FinApp.services.events;
+
+import java.util.List;
+
+// Publicado dentro da transação de banco que fez as escritas. Escritas em lote (importação,
+// recorrências) publicam um único evento por bloco, para que os ouvintes também trabalhem em lote.
+public record TransactionChangedEvent(List<TransactionChange> changes) {
+
+    public static TransactionChangedEvent of(TransactionChange change) {
+        return new TransactionChangedEvent(List.of(change));
+    }
+}
@@ -0,0 +1,26 @@
+package com.gustavoresende.FinApp.services.events;
+
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Cópia imutável dos campos de uma Transaction em um instante (antes ou depois de uma escrita).
+// Usa apenas os ids das associações, então montar o snapshot nunca inicializa proxies LAZY.
+public record TransactionSnapshot(Long id, Long userId, Long accountId, Long categoryId, TransactionType type,
+                                  BigDecimal amount, LocalDate date, String description, boolean recurring,
+                                  RecurrenceFrequency recurrenceFrequency, LocalDate recurrenceEndDate) {
+
+    public static TransactionSnapshot of(Transaction t) {
+        return new TransactionSnapshot(t.getId(), t.getUser().getId(), t.getAccount().getId(), t.getCategory().getId(),
+                t.getType(), t.getAmount(), t.getDate(), t.getDescription(), t.isRecurring(),
+                t.getRecurrenceFrequency(), t.getRecurrenceEndDate());
+    }
+
+    // Efeito no saldo da conta: receitas somam, despesas subtraem
+    public BigDecimal signedAmount() {
+        return type == TransactionType.INCOME ? amount : amount.negate();
+    }
+}
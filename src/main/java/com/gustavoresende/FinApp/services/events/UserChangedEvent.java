@@ -0,0 +1,5 @@
+package com.gustavoresende.FinApp.services.events;
+
+// Criação de um User ou troca de senha (o principal em cache para o username deixa de valer)
+public record UserChangedEvent(Long userId, String username) {
+}
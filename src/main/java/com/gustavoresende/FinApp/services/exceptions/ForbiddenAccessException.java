@@ -0,0 +1,13 @@
+package com.gustavoresende.FinApp.services.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class ForbiddenAccessException extends RuntimeException {
+
+    public ForbiddenAccessException(String message) {
+        super(message);
+    }
+
+}
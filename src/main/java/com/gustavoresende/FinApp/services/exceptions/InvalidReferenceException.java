@@ -0,0 +1,13 @@
+package com.gustavoresende.FinApp.services.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidReferenceException extends RuntimeException {
+
+    public InvalidReferenceException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.gustavoresende.FinApp.services.exceptions;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ObjectNotFoundException extends EntityNotFoundException {
+
+    public ObjectNotFoundException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.gustavoresende.FinApp.services.exports;
+
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Cabeçalho id;data;descricao;valor;tipo;conta;categoria. A importação mapeia as colunas pelo nome
+// (ignora id e conta), então o arquivo pode ser reimportado; só descrições com quebra de linha não
+// voltam, porque a importação lê uma linha por registro
+class CsvExportWriter implements ExportWriter {
+
+    private static final char DELIMITER = ';';
+
+    private final Writer writer;
+
+    CsvExportWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write("id;data;descricao;valor;tipo;conta;categoria\n");
+    }
+
+    @Override
+    public void write(TransactionExportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(DELIMITER);
+        writer.write(row.date().toString());
+        writer.write(DELIMITER);
+        writeText(row.description());
+        writer.write(DELIMITER);
+        writer.write(row.amount().toPlainString());
+        writer.write(DELIMITER);
+        writer.write(row.type().name());
+        writer.write(DELIMITER);
+        writeText(row.accountName());
+        writer.write(DELIMITER);
+        writeText(row.categoryName());
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    // Campos com separador, aspas ou quebra de linha vão entre aspas (aspas internas duplicadas)
+    private void writeText(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == DELIMITER || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
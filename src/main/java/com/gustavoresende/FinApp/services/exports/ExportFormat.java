@@ -0,0 +1,39 @@
+package com.gustavoresende.FinApp.services.exports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv") {
+        @Override
+        public ExportWriter open(Writer writer, JsonFactory jsonFactory) throws IOException {
+            return new CsvExportWriter(writer);
+        }
+    },
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public ExportWriter open(Writer writer, JsonFactory jsonFactory) throws IOException {
+            return new NdjsonExportWriter(jsonFactory.createGenerator(writer));
+        }
+    };
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public abstract ExportWriter open(Writer writer, JsonFactory jsonFactory) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.gustavoresende.FinApp.services.exports;
+
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+
+import java.io.IOException;
+
+// Escreve as linhas diretamente na saída, uma a uma, sem acumular
+public interface ExportWriter {
+
+    void write(TransactionExportRow row) throws IOException;
+
+    void finish() throws IOException;
+
+}
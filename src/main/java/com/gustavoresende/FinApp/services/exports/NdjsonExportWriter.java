@@ -0,0 +1,37 @@
+package com.gustavoresende.FinApp.services.exports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+
+import java.io.IOException;
+
+// Um objeto JSON por linha, escrito campo a campo pelo gerador (sem montar árvore ou Map)
+class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonExportWriter(JsonGenerator generator) {
+        this.generator = generator;
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+    }
+
+    @Override
+    public void write(TransactionExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", row.id());
+        generator.writeStringField("date", row.date().toString());
+        generator.writeStringField("description", row.description());
+        generator.writeNumberField("amount", row.amount());
+        generator.writeStringField("type", row.type().name());
+        generator.writeStringField("account", row.accountName());
+        generator.writeStringField("category", row.categoryName());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+}
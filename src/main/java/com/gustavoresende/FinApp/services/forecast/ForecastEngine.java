@@ -0,0 +1,156 @@
+package com.gustavoresende.FinApp.services.forecast;
+
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.GoalForecast;
+import com.gustavoresende.FinApp.models.dto.GoalStatus;
+import com.gustavoresende.FinApp.models.dto.RecurringRule;
+import com.gustavoresende.FinApp.services.analytics.TransactionColumns;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Projeção de fluxo de caixa a partir das regras recorrentes, sem gravar linhas futuras.
+// Cada regra vira um cursor que gera suas ocorrências sob demanda; os cursores ficam num heap
+// ordenado pela próxima data, então as ocorrências de todas as regras saem em ordem cronológica
+// numa única passada. Essa passada alimenta ao mesmo tempo as curvas de saldo por conta e a
+// previsão de todas as metas do usuário.
+//
+// Metas: o saldo líquido projetado (receitas - despesas das regras) financia as metas uma de
+// cada vez, da de prazo mais próximo para a mais distante (sem prazo por último). A data
+// prevista de uma meta é o dia em que o acumulado cobre o que falta para ela e para as anteriores.
+public final class ForecastEngine {
+
+    private ForecastEngine() {
+    }
+
+    // Projeta a partir do dia seguinte a asOf: "months" curvas mensais (o mês de asOf é o mês 0)
+    // e metas até goalHorizonMonths meses à frente
+    public static ForecastModel project(List<RecurringRule> rules, List<GoalStatus> goals, LocalDate asOf, int months,
+                                        int goalHorizonMonths) {
+        int firstMonth = TransactionColumns.epochMonth((int) asOf.toEpochDay());
+        int curveEnd = (int) YearMonth.from(asOf).plusMonths(months - 1L).atEndOfMonth().toEpochDay();
+
+        List<GoalStatus> queue = new ArrayList<>(goals);
+        // Metas já atingidas primeiro (nada a financiar), depois por prazo
+        queue.sort(Comparator.comparing((GoalStatus g) -> g.remaining().signum())
+                .thenComparing(GoalStatus::endDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(GoalStatus::id));
+        long[] thresholds = new long[queue.size()];
+        long pending = 0;
+        for (int g = 0; g < queue.size(); g++) {
+            pending += TransactionColumns.toCents(queue.get(g).remaining());
+            thresholds[g] = pending;
+        }
+        int lastDay = queue.isEmpty() ? curveEnd
+                : Math.max(curveEnd, (int) asOf.plusMonths(goalHorizonMonths).toEpochDay());
+
+        Map<Long, Integer> accountOrdinals = new HashMap<>();
+        PriorityQueue<RuleCursor> cursors = new PriorityQueue<>(Math.max(1, rules.size()), Comparator.comparingInt(c -> c.nextDay));
+        for (RecurringRule rule : rules) {
+            if (rule.frequency() == null) {
+                continue;
+            }
+            int ordinal = accountOrdinals.computeIfAbsent(rule.accountId(), id -> accountOrdinals.size());
+            RuleCursor cursor = new RuleCursor(rule, ordinal, asOf, lastDay);
+            if (cursor.hasNext()) {
+                cursors.add(cursor);
+            }
+        }
+
+        long[] deltas = new long[accountOrdinals.size() * months];
+        int[] etaDays = new int[queue.size()];
+        Arrays.fill(etaDays, -1);
+        long surplus = 0;
+        int reached = 0;
+        while (reached < thresholds.length && surplus >= thresholds[reached]) {
+            etaDays[reached++] = (int) asOf.toEpochDay(); // já atingidas
+        }
+        while (!cursors.isEmpty()) {
+            RuleCursor cursor = cursors.poll();
+            int day = cursor.nextDay;
+            if (day > curveEnd && reached == thresholds.length) {
+                break; // curvas completas e todas as metas já têm data
+            }
+            if (day <= curveEnd) {
+                deltas[cursor.account * months + TransactionColumns.epochMonth(day) - firstMonth] += cursor.cents;
+            }
+            surplus += cursor.cents;
+            while (reached < thresholds.length && surplus >= thresholds[reached]) {
+                etaDays[reached++] = day;
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+
+        Map<Long, long[]> cumulative = new HashMap<>();
+        accountOrdinals.forEach((accountId, ordinal) -> {
+            long[] curve = Arrays.copyOfRange(deltas, ordinal * months, (ordinal + 1) * months);
+            for (int m = 1; m < months; m++) {
+                curve[m] += curve[m - 1];
+            }
+            cumulative.put(accountId, curve);
+        });
+        List<GoalForecast> forecasts = new ArrayList<>(queue.size());
+        for (int g = 0; g < queue.size(); g++) {
+            GoalStatus goal = queue.get(g);
+            LocalDate eta = etaDays[g] >= 0 ? LocalDate.ofEpochDay(etaDays[g]) : null;
+            boolean onTrack = eta != null && (goal.endDate() == null || !eta.isAfter(goal.endDate()));
+            forecasts.add(new GoalForecast(goal.id(), goal.name(), goal.remaining(), eta, onTrack));
+        }
+        return new ForecastModel(asOf, months, cumulative, forecasts);
+    }
+
+    // Ocorrências futuras de uma regra, geradas uma a uma. Frequências em dias avançam por soma;
+    // as mensais recalculam a partir da data inicial (ajuste de fim de mês, ver RecurrenceFrequency).
+    private static final class RuleCursor {
+
+        private final LocalDate start;
+        private final RecurrenceFrequency frequency;
+        private final long startDay;
+        private final int stepDays;
+        private final int lastDay;
+        private final long cents;
+        private final int account;
+        private long index;
+        private int nextDay;
+
+        RuleCursor(RecurringRule rule, int account, LocalDate asOf, int horizonEnd) {
+            this.start = rule.startDate();
+            this.frequency = rule.frequency();
+            this.startDay = start.toEpochDay();
+            this.stepDays = switch (frequency) {
+                case DAILY -> 1;
+                case WEEKLY -> 7;
+                case FORTNIGHTLY -> 14;
+                default -> 0;
+            };
+            this.lastDay = rule.endDate() != null ? Math.min(horizonEnd, (int) rule.endDate().toEpochDay()) : horizonEnd;
+            long amount = TransactionColumns.toCents(rule.amount());
+            this.cents = rule.type() == TransactionType.INCOME ? amount : -amount;
+            this.account = account;
+            // A ocorrência 0 é a própria transação, que já está no saldo
+            this.index = frequency.firstIndexAfter(start, asOf) - 1;
+            advance();
+        }
+
+        boolean hasNext() {
+            return nextDay <= lastDay;
+        }
+
+        boolean advance() {
+            index++;
+            long day = stepDays > 0 ? startDay + index * stepDays : frequency.occurrence(start, index).toEpochDay();
+            nextDay = (int) Math.min(day, Integer.MAX_VALUE);
+            return hasNext();
+        }
+    }
+}
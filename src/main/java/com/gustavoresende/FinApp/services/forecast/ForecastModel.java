@@ -0,0 +1,18 @@
+package com.gustavoresende.FinApp.services.forecast;
+
+import com.gustavoresende.FinApp.models.dto.GoalForecast;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Resultado da projeção que não depende dos saldos atuais: variação acumulada de cada conta
+// até o fim de cada mês (em centavos) e a previsão das metas. Fica em cache até uma regra ou
+// meta do usuário mudar (ou o dia virar); os saldos atuais são somados na leitura.
+public record ForecastModel(LocalDate asOf, int months, Map<Long, long[]> cumulativeCentsByAccount, List<GoalForecast> goals) {
+
+    public long cumulativeCents(Long accountId, int month) {
+        long[] cumulative = cumulativeCentsByAccount.get(accountId);
+        return cumulative != null ? cumulative[month] : 0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.gustavoresende.FinApp.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+// CSV com colunas data, descrição, valor e, opcionalmente, tipo e categoria.
+// O cabeçalho é opcional; o separador (';' ou ',') é detectado na primeira linha.
+class CsvStatementReader implements StatementReader {
+
+    private final BufferedReader reader;
+    private char delimiter = ';';
+    private int dateCol = 0;
+    private int descriptionCol = 1;
+    private int amountCol = 2;
+    private int typeCol = -1;
+    private int categoryCol = -1;
+    private boolean started = false;
+    private ImportedRow next;
+    private long skipped = 0;
+
+    CsvStatementReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader, 64 * 1024);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (!started) {
+                    started = true;
+                    if (readHeader(line)) {
+                        continue;
+                    }
+                }
+                next = parse(line);
+                if (next != null) {
+                    return true;
+                }
+                skipped++;
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImportedRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportedRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public long skipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Retorna true se a primeira linha for um cabeçalho (e mapeia as colunas por nome)
+    private boolean readHeader(String line) {
+        if (line.indexOf(';') < 0 && line.indexOf(',') >= 0) {
+            delimiter = ',';
+        }
+        List<String> fields = split(line);
+        if (!fields.isEmpty() && ImportParsers.parseDate(fields.get(0)) != null) {
+            // Sem cabeçalho: data;descrição;valor[;tipo][;categoria]
+            typeCol = 3;
+            categoryCol = 4;
+            return false;
+        }
+        int extraType = -1, extraCategory = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "data", "date" -> dateCol = i;
+                case "descricao", "descrição", "description", "historico", "histórico" -> descriptionCol = i;
+                case "valor", "amount" -> amountCol = i;
+                case "tipo", "type" -> extraType = i;
+                case "categoria", "category" -> extraCategory = i;
+                default -> { }
+            }
+        }
+        typeCol = extraType;
+        categoryCol = extraCategory;
+        return true;
+    }
+
+    private ImportedRow parse(String line) {
+        List<String> fields = split(line);
+        return ImportParsers.toRow(
+                ImportParsers.parseDate(field(fields, dateCol)),
+                field(fields, descriptionCol),
+                ImportParsers.parseAmount(field(fields, amountCol)),
+                ImportParsers.parseType(field(fields, typeCol)),
+                field(fields, categoryCol));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return (index >= 0 && index < fields.size()) ? fields.get(index) : null;
+    }
+
+    // Divide a linha respeitando campos entre aspas ("a;b" e aspas escapadas como "")
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>(6);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == delimiter && !quoted) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
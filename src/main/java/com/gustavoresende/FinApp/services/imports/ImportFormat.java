@@ -0,0 +1,20 @@
+package com.gustavoresende.FinApp.services.imports;
+
+import java.io.Reader;
+
+public enum ImportFormat {
+    CSV {
+        @Override
+        public StatementReader open(Reader reader) {
+            return new CsvStatementReader(reader);
+        }
+    },
+    OFX {
+        @Override
+        public StatementReader open(Reader reader) {
+            return new OfxStatementReader(reader);
+        }
+    };
+
+    public abstract StatementReader open(Reader reader);
+}
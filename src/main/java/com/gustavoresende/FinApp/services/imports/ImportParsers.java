@@ -0,0 +1,102 @@
+package com.gustavoresende.FinApp.services.imports;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Conversões comuns aos formatos de extrato (datas e valores em padrão brasileiro ou ISO)
+final class ImportParsers {
+
+    static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    // STRICT: "31/02/2024" é linha inválida, não 29/02
+    private static final DateTimeFormatter BR_DATE = DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    // Só separadores de milhar, todos iguais: "1.234", "1,234", "-1.234.567"
+    private static final Pattern THOUSANDS_ONLY = Pattern.compile("-?\\d{1,3}([.,])\\d{3}(\\1\\d{3})*");
+
+    private ImportParsers() {
+    }
+
+    static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String v = value.trim();
+        try {
+            if (v.indexOf('/') > 0) {
+                return LocalDate.parse(v, BR_DATE);
+            }
+            if (v.indexOf('-') > 0) {
+                return LocalDate.parse(v);
+            }
+            // OFX: AAAAMMDD[HHMMSS[.XXX][TZ]]
+            if (v.length() >= 8) {
+                return LocalDate.parse(v.substring(0, 8), OFX_DATE);
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        return null;
+    }
+
+    // Aceita "1234.56", "-1234.56", "1.234,56", "1,234.56" e "R$ -1.234,56". Um separador seguido de
+    // exatamente 3 dígitos ("1,234" ou "1.234") é de milhar: valores em dinheiro não têm 3 casas decimais
+    static BigDecimal parseAmount(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String v = value.trim().replace("R$", "").replace(" ", "");
+        int comma = v.lastIndexOf(',');
+        int dot = v.lastIndexOf('.');
+        if (THOUSANDS_ONLY.matcher(v).matches()) {
+            v = v.replace(".", "").replace(",", "");
+        } else if (comma > dot) {
+            v = v.replace(".", "").replace(',', '.');
+        } else if (comma >= 0) {
+            v = v.replace(",", "");
+        }
+        try {
+            return new BigDecimal(v);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static TransactionType parseType(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "INCOME", "RECEITA", "CREDIT", "CREDITO", "CRÉDITO", "C" -> TransactionType.INCOME;
+            case "EXPENSE", "DESPESA", "DEBIT", "DEBITO", "DÉBITO", "D" -> TransactionType.EXPENSE;
+            default -> null;
+        };
+    }
+
+    // Monta a linha final: valor sempre positivo e tipo inferido pelo sinal quando não informado
+    static ImportedRow toRow(LocalDate date, String description, BigDecimal signedAmount, TransactionType type, String categoryName) {
+        if (date == null || signedAmount == null || signedAmount.signum() == 0) {
+            return null;
+        }
+        if (date.isAfter(LocalDate.now())) {
+            return null; // Transação não pode ser em data futura
+        }
+        if (type == null) {
+            type = signedAmount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        }
+        String desc = (description == null || description.isBlank()) ? "Sem descrição" : description.trim();
+        if (desc.length() > MAX_DESCRIPTION_LENGTH) {
+            desc = desc.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+        String category = (categoryName == null || categoryName.isBlank()) ? null : categoryName.trim();
+        return new ImportedRow(date, desc, signedAmount.abs().setScale(2, RoundingMode.HALF_EVEN), type, category);
+    }
+}
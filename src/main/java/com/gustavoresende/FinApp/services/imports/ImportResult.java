@@ -0,0 +1,15 @@
+package com.gustavoresende.FinApp.services.imports;
+
+// duplicates: linhas que já existiam na conta (extrato reimportado) e não foram gravadas;
+// autoCategorized: linhas sem categoria no arquivo que receberam a categoria sugerida pelo histórico;
+// review: linhas com sugestão de baixa confiança, gravadas na categoria padrão para revisão manual
+public record ImportResult(long imported, long skipped, int chunks, long elapsedMillis, double rowsPerSecond,
+                           long duplicates, long autoCategorized, long review) {
+
+    public static ImportResult of(long imported, long skipped, int chunks, long elapsedNanos, long duplicates,
+                                  long autoCategorized, long review) {
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        double rowsPerSecond = elapsedNanos > 0 ? imported * 1_000_000_000.0 / elapsedNanos : 0.0;
+        return new ImportResult(imported, skipped, chunks, elapsedMillis, rowsPerSecond, duplicates, autoCategorized, review);
+    }
+}
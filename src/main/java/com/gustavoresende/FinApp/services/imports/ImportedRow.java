@@ -0,0 +1,11 @@
+package com.gustavoresende.FinApp.services.imports;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Linha lida do extrato, ainda sem categoria/conta resolvidas.
+// amount é sempre positivo; o sinal original do extrato vira o type.
+public record ImportedRow(LocalDate date, String description, BigDecimal amount, TransactionType type, String categoryName) {
+}
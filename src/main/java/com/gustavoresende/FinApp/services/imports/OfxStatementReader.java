@@ -0,0 +1,133 @@
+package com.gustavoresende.FinApp.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+// Lê blocos <STMTTRN> de arquivos OFX (SGML 1.x ou XML 2.x) tag a tag,
+// sem montar o documento em memória.
+class OfxStatementReader implements StatementReader {
+
+    private final BufferedReader reader;
+    private final StringBuilder buffer = new StringBuilder(64);
+    private ImportedRow next;
+    private long skipped = 0;
+    private boolean eof = false;
+
+    // Campos do bloco STMTTRN corrente
+    private boolean inTransaction = false;
+    private String trnType;
+    private String posted;
+    private String amount;
+    private String memo;
+    private String name;
+
+    OfxStatementReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader, 64 * 1024);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        try {
+            String tag;
+            while (!eof && (tag = nextTag()) != null) {
+                if (tag.equals("STMTTRN")) {
+                    inTransaction = true;
+                    trnType = posted = amount = memo = name = null;
+                } else if (tag.equals("/STMTTRN")) {
+                    inTransaction = false;
+                    next = ImportParsers.toRow(
+                            ImportParsers.parseDate(posted),
+                            memo != null ? memo : name,
+                            ImportParsers.parseAmount(amount),
+                            ImportParsers.parseType(trnType),
+                            null);
+                    if (next != null) {
+                        return true;
+                    }
+                    skipped++;
+                } else if (inTransaction && !tag.startsWith("/")) {
+                    String value = readValue();
+                    switch (tag) {
+                        case "TRNTYPE" -> trnType = value;
+                        case "DTPOSTED" -> posted = value;
+                        case "TRNAMT" -> amount = value;
+                        case "MEMO" -> memo = value;
+                        case "NAME" -> name = value;
+                        default -> { }
+                    }
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImportedRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportedRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public long skipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Avança até o próximo '<' e devolve o nome da tag em maiúsculas
+    private String nextTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            // ignora o conteúdo fora das tags de interesse
+        }
+        if (c == -1) {
+            eof = true;
+            return null;
+        }
+        buffer.setLength(0);
+        while ((c = reader.read()) != -1 && c != '>') {
+            buffer.append((char) c);
+        }
+        if (c == -1) {
+            eof = true;
+        }
+        return buffer.toString().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Lê o valor de uma tag até o próximo '<' (que é devolvido ao stream)
+    private String readValue() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while (true) {
+            reader.mark(1);
+            c = reader.read();
+            if (c == -1) {
+                eof = true;
+                break;
+            }
+            if (c == '<') {
+                reader.reset();
+                break;
+            }
+            buffer.append((char) c);
+        }
+        String value = buffer.toString().trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,12 @@
+package com.gustavoresende.FinApp.services.imports;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+// Leitor de extrato em streaming: lê uma linha/registro por vez, nunca o arquivo inteiro.
+// Linhas inválidas não interrompem a leitura; são apenas contadas em skipped().
+public interface StatementReader extends Iterator<ImportedRow>, Closeable {
+
+    long skipped();
+
+}
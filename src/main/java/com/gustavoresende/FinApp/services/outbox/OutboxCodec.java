@@ -0,0 +1,58 @@
+package com.gustavoresende.FinApp.services.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.events.GoalChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+
+import java.util.Map;
+
+// Tipo (coluna outbox_event.type) e payload JSON de cada evento. Os nomes dos tipos ficam
+// gravados no banco: renomear um evento exige manter o nome antigo aqui até a fila esvaziar.
+public final class OutboxCodec {
+
+    public static final String TRANSACTION_CHANGED = "TransactionChanged";
+    public static final String ACCOUNT_CHANGED = "AccountChanged";
+    public static final String GOAL_CHANGED = "GoalChanged";
+
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            TRANSACTION_CHANGED, TransactionChangedEvent.class,
+            ACCOUNT_CHANGED, AccountChangedEvent.class,
+            GOAL_CHANGED, GoalChangedEvent.class);
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static String type(Object event) {
+        return switch (event) {
+            case TransactionChangedEvent e -> TRANSACTION_CHANGED;
+            case AccountChangedEvent e -> ACCOUNT_CHANGED;
+            case GoalChangedEvent e -> GOAL_CHANGED;
+            default -> throw new IllegalArgumentException("Evento sem tipo no outbox: " + event.getClass().getName());
+        };
+    }
+
+    public String encode(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento do outbox", e);
+        }
+    }
+
+    public Object decode(String type, String payload) {
+        Class<?> eventClass = TYPES.get(type);
+        if (eventClass == null) {
+            throw new IllegalStateException("Tipo de evento desconhecido no outbox: " + type);
+        }
+        try {
+            return objectMapper.readValue(payload, eventClass);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido no outbox (" + type + ")", e);
+        }
+    }
+}
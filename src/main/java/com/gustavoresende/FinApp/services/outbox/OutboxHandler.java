@@ -0,0 +1,22 @@
+package com.gustavoresende.FinApp.services.outbox;
+
+import com.gustavoresende.FinApp.services.events.AccountChangedEvent;
+import com.gustavoresende.FinApp.services.events.GoalChangedEvent;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+
+// Consumidor dos eventos do outbox (ver OutboxService). Os métodos rodam dentro da transação que
+// apaga as linhas entregues, então o que o handler grava no banco é confirmado junto com a baixa
+// do evento. Se o lote falhar, ele inteiro é entregue de novo: efeitos fora dessa transação
+// precisam tolerar reentrega. Eventos de transações consecutivas do lote chegam num único
+// TransactionChangedEvent, possivelmente com mudanças de vários usuários.
+public interface OutboxHandler {
+
+    default void onTransactionChanged(TransactionChangedEvent event) {
+    }
+
+    default void onAccountChanged(AccountChangedEvent event) {
+    }
+
+    default void onGoalChanged(GoalChangedEvent event) {
+    }
+}
@@ -0,0 +1,346 @@
+package com.gustavoresende.FinApp.services.search;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.TransactionSearch;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchResult;
+import com.gustavoresende.FinApp.services.analytics.TransactionColumns;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido de trigramas sobre as descrições das transações de um usuário.
+//
+// Cada descrição é normalizada (TextNormalizer) e delimitada por separadores, então " merc" marca
+// o início de uma palavra. Cada trigrama aponta para a lista ordenada dos slots que o contêm. Uma busca
+// intersecta as listas dos trigramas de todos os termos, a partir da menor, e só confere filtros e
+// o texto nos candidatos que sobram. Bigramas também são indexados, para termos de duas letras;
+// só um termo de uma letra solta exige varrer os candidatos (ou todos os slots).
+//
+// Slots só são acrescentados, o que mantém as listas ordenadas sem esforço: substituir um id marca o
+// slot antigo como morto e acrescenta outro; quando os mortos passam da metade, o índice é reconstruído.
+// Leituras e escritas podem ser concorrentes (trava de leitura/escrita).
+public final class DescriptionIndex {
+
+    private static final int ALPHABET = TextNormalizer.ALPHABET;
+    private static final byte SEPARATOR = TextNormalizer.SEPARATOR;
+    private static final int COMPACT_THRESHOLD = 4096;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int dead;
+    private long[] ids;
+    private int[] days;
+    private long[] cents;
+    private long[] categoryIds;
+    private long[] accountIds;
+    private TransactionType[] types;
+    private String[] descriptions;
+    private byte[][] texts;
+    private long[] deadBits;
+    private long textBytes;
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<Integer, Postings> postings = new HashMap<>();
+
+    public DescriptionIndex(int capacity) {
+        allocate(Math.max(16, capacity));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - dead;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bytes aproximados (para o peso no cache): colunas, textos original e normalizado, listas de bigramas
+    // e trigramas e o mapa de ids
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) ids.length * (8 + 4 + 8 + 8 + 8 + 4 + 4 + 4) + (long) size * (48 + 16 + 64)
+                    + textBytes * 10 + (long) postings.size() * 64 + 256;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Inclui (ou substitui, se o id já estiver no índice) uma transação
+    public void put(TransactionSearchHit row) {
+        lock.writeLock().lock();
+        try {
+            remove(row.id());
+            append(row);
+            if (dead > COMPACT_THRESHOLD && dead * 2 > size) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public TransactionSearchResult search(TransactionSearch query, int limit) {
+        List<byte[]> patterns = patterns(query.text(), query.match() != null ? query.match() : SearchMatch.SUBSTRING);
+        int fromDay = query.from() != null ? (int) query.from().toEpochDay() : Integer.MIN_VALUE;
+        int toDay = query.to() != null ? (int) query.to().toEpochDay() : Integer.MAX_VALUE;
+        long minCents = query.minAmount() != null ? TransactionColumns.toCents(query.minAmount()) : Long.MIN_VALUE;
+        long maxCents = query.maxAmount() != null ? TransactionColumns.toCents(query.maxAmount()) : Long.MAX_VALUE;
+        long categoryId = query.categoryId() != null ? query.categoryId() : -1;
+
+        lock.readLock().lock();
+        try {
+            // Mais antigo no topo: é o primeiro a sair quando passa do limite
+            PriorityQueue<Integer> newest = new PriorityQueue<>(Comparator.<Integer>comparingInt(s -> days[s]).thenComparingLong(s -> ids[s]));
+            long matches = 0;
+            Postings[] lists = postingsFor(patterns);
+            if (lists == null) {
+                return new TransactionSearchResult(0, List.of());
+            }
+            int candidates = lists.length > 0 ? lists[0].size : size;
+            int[] cursors = new int[lists.length];
+            candidates:
+            for (int i = 0; i < candidates; i++) {
+                int slot = lists.length > 0 ? lists[0].slots[i] : i;
+                for (int k = 1; k < lists.length; k++) {
+                    int c = lists[k].seek(cursors[k], slot);
+                    cursors[k] = c;
+                    if (c == lists[k].size) {
+                        break candidates;
+                    }
+                    if (lists[k].slots[c] != slot) {
+                        continue candidates;
+                    }
+                }
+                if (isDead(slot) || days[slot] < fromDay || days[slot] > toDay || cents[slot] < minCents || cents[slot] > maxCents
+                        || (categoryId != -1 && categoryIds[slot] != categoryId) || !containsAll(texts[slot], patterns)) {
+                    continue;
+                }
+                matches++;
+                // Com o heap cheio, só entra quem for mais recente que o mais antigo dele
+                if (newest.size() < limit) {
+                    newest.add(slot);
+                } else if (isNewer(slot, newest.peek())) {
+                    newest.poll();
+                    newest.add(slot);
+                }
+            }
+            TransactionSearchHit[] items = new TransactionSearchHit[newest.size()];
+            for (int i = items.length - 1; i >= 0; i--) {
+                items[i] = row(newest.poll());
+            }
+            return new TransactionSearchResult(matches, List.of(items));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Listas dos trigramas de todos os padrões, da menor para a maior; null se algum trigrama não existe
+    // (nenhuma descrição pode casar)
+    private Postings[] postingsFor(List<byte[]> patterns) {
+        Map<Integer, Postings> selected = new HashMap<>();
+        for (byte[] pattern : patterns) {
+            int[] keys = pattern.length == 2 ? new int[] {bigram(pattern, 0)} : new int[Math.max(0, pattern.length - 2)];
+            for (int i = 0; pattern.length > 2 && i < keys.length; i++) {
+                keys[i] = trigram(pattern, i);
+            }
+            for (int key : keys) {
+                Postings list = postings.get(key);
+                if (list == null) {
+                    return null;
+                }
+                selected.put(key, list);
+            }
+        }
+        Postings[] lists = selected.values().toArray(new Postings[0]);
+        Arrays.sort(lists, Comparator.comparingInt((Postings p) -> p.size));
+        return lists;
+    }
+
+    private void append(TransactionSearchHit row) {
+        if (size == ids.length) {
+            grow(size * 2);
+        }
+        int slot = size++;
+        byte[] text = TextNormalizer.normalize(row.description());
+        ids[slot] = row.id();
+        days[slot] = (int) row.date().toEpochDay();
+        cents[slot] = TransactionColumns.toCents(row.amount());
+        categoryIds[slot] = row.categoryId();
+        accountIds[slot] = row.accountId();
+        types[slot] = row.type();
+        descriptions[slot] = row.description();
+        texts[slot] = text;
+        textBytes += text.length;
+        slotById.put(row.id(), slot);
+        for (int i = 0; i + 2 <= text.length; i++) {
+            postings.computeIfAbsent(bigram(text, i), k -> new Postings()).add(slot);
+            if (i + 3 <= text.length) {
+                postings.computeIfAbsent(trigram(text, i), k -> new Postings()).add(slot);
+            }
+        }
+    }
+
+    private void remove(long id) {
+        Integer slot = slotById.remove(id);
+        if (slot != null) {
+            deadBits[slot >>> 6] |= 1L << slot;
+            textBytes -= texts[slot].length;
+            descriptions[slot] = null;
+            texts[slot] = null;
+            dead++;
+        }
+    }
+
+    private boolean isNewer(int slot, int other) {
+        return days[slot] > days[other] || (days[slot] == days[other] && ids[slot] > ids[other]);
+    }
+
+    private boolean isDead(int slot) {
+        return (deadBits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    // Refaz as listas só com os slots vivos, na mesma ordem
+    private void compact() {
+        List<TransactionSearchHit> live = new ArrayList<>(size - dead);
+        for (int slot = 0; slot < size; slot++) {
+            if (!isDead(slot)) {
+                live.add(row(slot));
+            }
+        }
+        slotById.clear();
+        postings.clear();
+        textBytes = 0;
+        size = 0;
+        dead = 0;
+        allocate(Math.max(16, live.size() + live.size() / 4));
+        live.forEach(this::append);
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        days = new int[capacity];
+        cents = new long[capacity];
+        categoryIds = new long[capacity];
+        accountIds = new long[capacity];
+        types = new TransactionType[capacity];
+        descriptions = new String[capacity];
+        texts = new byte[capacity][];
+        deadBits = new long[Math.ceilDiv(capacity, 64)];
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        days = Arrays.copyOf(days, capacity);
+        cents = Arrays.copyOf(cents, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        accountIds = Arrays.copyOf(accountIds, capacity);
+        types = Arrays.copyOf(types, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        texts = Arrays.copyOf(texts, capacity);
+        deadBits = Arrays.copyOf(deadBits, Math.ceilDiv(capacity, 64));
+    }
+
+    private TransactionSearchHit row(int slot) {
+        return new TransactionSearchHit(ids[slot], LocalDate.ofEpochDay(days[slot]), descriptions[slot],
+                BigDecimal.valueOf(cents[slot], 2), types[slot], accountIds[slot], categoryIds[slot]);
+    }
+
+    // Um padrão por termo; no modo PREFIX o padrão começa com o separador (início de palavra)
+    static List<byte[]> patterns(String text, SearchMatch match) {
+        byte[] normalized = TextNormalizer.normalize(text);
+        List<byte[]> patterns = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length; i++) {
+            if (normalized[i] != SEPARATOR && start == -1) {
+                start = i;
+            } else if (normalized[i] == SEPARATOR && start != -1) {
+                int from = match == SearchMatch.PREFIX ? start - 1 : start;
+                patterns.add(Arrays.copyOfRange(normalized, from, i));
+                start = -1;
+            }
+        }
+        return patterns;
+    }
+
+    private static int trigram(byte[] text, int i) {
+        return (text[i] * ALPHABET + text[i + 1]) * ALPHABET + text[i + 2];
+    }
+
+    // Bigramas ficam depois de todos os trigramas no espaço de chaves
+    private static int bigram(byte[] text, int i) {
+        return ALPHABET * ALPHABET * ALPHABET + text[i] * ALPHABET + text[i + 1];
+    }
+
+    private static boolean containsAll(byte[] text, List<byte[]> patterns) {
+        for (byte[] pattern : patterns) {
+            if (!contains(text, pattern)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(byte[] text, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= text.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (text[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // Slots (crescentes) que contêm um trigrama
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            // Trigrama repetido na mesma descrição
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        // Primeira posição a partir de "from" com valor >= slot (busca exponencial e depois binária)
+        int seek(int from, int slot) {
+            int step = 1;
+            int hi = from;
+            while (hi < size && slots[hi] < slot) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            int lo = from;
+            hi = Math.min(hi, size);
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (slots[mid] < slot) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.gustavoresende.FinApp.services.search;
+
+// Como cada termo da busca casa com a descrição
+public enum SearchMatch {
+    // Início de palavra: "merc" encontra "Mercado Livre", mas não "Supermercado"
+    PREFIX,
+    // Qualquer trecho: "merc" encontra os dois
+    SUBSTRING
+}
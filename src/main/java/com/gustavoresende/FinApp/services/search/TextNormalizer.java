@@ -0,0 +1,55 @@
+package com.gustavoresende.FinApp.services.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+
+// Normalização de descrições para um alfabeto de 37 símbolos: separador (0), a-z (1..26) e 0-9
+// (27..36). Letras viram minúsculas sem acento e qualquer outro caractere vira separador; separadores
+// seguidos são colapsados. Usada pelo índice de busca e pelo categorizador.
+public final class TextNormalizer {
+
+    public static final int ALPHABET = 37;
+    public static final byte SEPARATOR = 0;
+
+    private TextNormalizer() {
+    }
+
+    // Texto no alfabeto acima, sempre começando e terminando com um único separador
+    public static byte[] normalize(String text) {
+        if (text == null) {
+            return new byte[] {SEPARATOR};
+        }
+        String folded = text;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+                break;
+            }
+        }
+        byte[] out = new byte[folded.length() + 2];
+        int n = 0;
+        out[n++] = SEPARATOR;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            byte code;
+            if (c >= 'a' && c <= 'z') {
+                code = (byte) (c - 'a' + 1);
+            } else if (c >= 'A' && c <= 'Z') {
+                code = (byte) (c - 'A' + 1);
+            } else if (c >= '0' && c <= '9') {
+                code = (byte) (c - '0' + 27);
+            } else if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            } else {
+                code = SEPARATOR;
+            }
+            if (code != SEPARATOR || out[n - 1] != SEPARATOR) {
+                out[n++] = code;
+            }
+        }
+        if (out[n - 1] != SEPARATOR) {
+            out[n++] = SEPARATOR;
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gustavoresende.FinApp;
+
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.services.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Perfil usado pelo treino do CDS e pelo StartupBenchmark (build fast-startup): sobe com o H2 embutido,
+// resolve o dialeto pelas propriedades (sem ler os metadados JDBC) e atende HTTP. Banco em memória
+// próprio, para o create-drop não apagar o dos demais testes
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:finapp-startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("startup-bench")
+class StartupBenchProfileTests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private UserService userService;
+
+	@Test
+	void bootsOnEmbeddedDatabaseAndServesTheFirstRequest() {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+		assertInstanceOf(H2Dialect.class, sessionFactory.getJdbcServices().getDialect());
+		assertEquals("false", sessionFactory.getProperties().get("hibernate.boot.allow_jdbc_metadata_access"));
+
+		// Mesmo endpoint que o benchmark mede, aqui autenticado: também passa pelo banco (login)
+		userService.create(new User("startup@finapp.test", "senha-segura-123", "Usuário de Teste"));
+		ResponseEntity<String> health = restTemplate.withBasicAuth("startup@finapp.test", "senha-segura-123")
+				.getForEntity("/actuator/health", String.class);
+		assertEquals(HttpStatus.OK, health.getStatusCode());
+		assertTrue(health.getBody().contains("UP"), health.getBody());
+	}
+
+}
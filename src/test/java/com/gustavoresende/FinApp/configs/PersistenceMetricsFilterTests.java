@@ -0,0 +1,77 @@
+package com.gustavoresende.FinApp.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Requisição acima do limite de comandos SQL: a resposta já enviada não é afetada, e o excesso
+// fica contado por endpoint
+class PersistenceMetricsFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PersistenceMetricsFilter filter = new PersistenceMetricsFilter(meterRegistry, entityManagerFactory(), 3);
+
+    @Test
+    void requestOverTheLimitIsCountedWithoutTouchingTheCommittedResponse() throws Exception {
+        MockHttpServletResponse over = perform(4);
+        assertEquals(200, over.getStatus());
+        assertEquals("ok", over.getContentAsString(StandardCharsets.UTF_8));
+        perform(3);
+
+        Counter excess = meterRegistry.find("finapp.persistence.statements.excess").tags("uri", "/teste", "method", "GET").counter();
+        assertNotNull(excess);
+        assertEquals(1, excess.count());
+        assertEquals(7, meterRegistry.find("finapp.persistence.statements").tag("uri", "/teste").summary().totalAmount());
+    }
+
+    @Test
+    void requestWithinTheLimitRecordsNoExcess() throws Exception {
+        perform(3);
+        assertNull(meterRegistry.find("finapp.persistence.statements.excess").counter());
+    }
+
+    // O handler escreve e envia a resposta antes de o filtro fechar a contagem
+    private MockHttpServletResponse perform(int statements) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/teste");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/teste");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            for (int i = 0; i < statements; i++) {
+                PersistenceStats.current().statementExecuted(1_000);
+            }
+            res.getWriter().write("ok");
+            res.flushBuffer();
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    // Só o caminho até o registro de listeners do Hibernate, que o construtor usa
+    private static EntityManagerFactory entityManagerFactory() {
+        EventListenerRegistry listeners = stub(EventListenerRegistry.class, null);
+        ServiceRegistryImplementor services = stub(ServiceRegistryImplementor.class, listeners);
+        SessionFactoryImplementor sessionFactory = stub(SessionFactoryImplementor.class, services);
+        return stub(EntityManagerFactory.class, sessionFactory);
+    }
+
+    // Toda chamada devolve "next" (unwrap, getServiceRegistry, requireService) ou nada
+    private static <T> T stub(Class<T> type, Object next) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> method.getReturnType() == void.class ? null : next));
+    }
+}
@@ -0,0 +1,163 @@
+package com.gustavoresende.FinApp.configs.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Três bancos H2 independentes fazem o papel de primário e réplicas; cada um responde com o
+// próprio nome, então dá para ver para onde cada transação foi roteada
+class ReplicaRoutingTests {
+
+    private DriverManagerDataSource primary;
+    private Map<String, DriverManagerDataSource> replicas;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", database("replica-2"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(primary, new LinkedHashMap<>(replicas), 2000, meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, monitor, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        replicas.values().forEach(replica -> new JdbcTemplate(replica).execute("SHUTDOWN"));
+    }
+
+    @Test
+    void readOnlyTransactionsRotateAcrossHealthyReplicas() {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        assertEquals(List.of("replica-1", "replica-2"), monitor.healthy());
+
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            targets.add(readOnly.execute(status -> whoAmI()));
+        }
+        assertEquals(List.of("replica-1", "replica-2", "replica-1", "replica-2"), targets);
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void laggingOrMissingReplicasFallBackToPrimary() {
+        // Nenhuma medição ainda: tudo no primário
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+
+        // replica-1 atrasada 10 s, replica-2 em dia
+        new JdbcTemplate(replicas.get("replica-1")).update("UPDATE replica_heartbeat SET beat_at = ?", System.currentTimeMillis() - 10_000);
+        new JdbcTemplate(replicas.get("replica-2")).update("UPDATE replica_heartbeat SET beat_at = ?", System.currentTimeMillis());
+        monitor.check();
+        assertEquals(List.of("replica-2"), monitor.healthy());
+        assertEquals("replica-2", readOnly.execute(status -> whoAmI()));
+
+        // replica-2 fora do ar
+        new JdbcTemplate(replicas.get("replica-2")).execute("SHUTDOWN");
+        monitor.check();
+        assertEquals(List.of(), monitor.healthy());
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void writesPinTheClientToPrimaryForTheStickyWindow() throws Exception {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+
+        // A escrita fixa a própria requisição no primário e devolve o cookie
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        List<String> seen = new ArrayList<>();
+        filter.doFilter(new MockHttpServletRequest("POST", "/transaction"), written,
+                new MockFilterChain(new RecordingServlet(seen)));
+        Cookie cookie = written.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+
+        // Leitura seguinte do mesmo cliente: primário; de outro cliente (ou com cookie vencido): réplica
+        MockHttpServletRequest sticky = new MockHttpServletRequest("GET", "/transaction/user/1");
+        sticky.setCookies(cookie);
+        filter.doFilter(sticky, new MockHttpServletResponse(), new MockFilterChain(new RecordingServlet(seen)));
+        filter.doFilter(new MockHttpServletRequest("GET", "/transaction/user/1"), new MockHttpServletResponse(),
+                new MockFilterChain(new RecordingServlet(seen)));
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/transaction/user/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        filter.doFilter(expired, new MockHttpServletResponse(), new MockFilterChain(new RecordingServlet(seen)));
+
+        assertEquals("primary", seen.get(0));
+        assertEquals("primary", seen.get(1));
+        assertTrue(seen.get(2).startsWith("replica-"));
+        assertTrue(seen.get(3).startsWith("replica-"));
+        assertEquals("primary", ReadRouting.onPrimary(() -> readOnly.execute(status -> whoAmI())));
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    // Simula a replicação do heartbeat gravado no primário
+    private void replicate(long beatAt) {
+        replicas.values().forEach(replica -> new JdbcTemplate(replica).update("UPDATE replica_heartbeat SET beat_at = ?", beatAt));
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO whoami VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replica_heartbeat (id BIGINT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO replica_heartbeat VALUES (1, 0)");
+        return dataSource;
+    }
+
+    private final class RecordingServlet extends HttpServlet {
+
+        private final List<String> seen;
+
+        private RecordingServlet(List<String> seen) {
+            this.seen = seen;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            seen.add(readOnly.execute(status -> whoAmI()));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.AccountService;
+import com.gustavoresende.FinApp.services.CategoryService;
+import com.gustavoresende.FinApp.services.GoalService;
+import com.gustavoresende.FinApp.services.OutboxService;
+import com.gustavoresende.FinApp.services.TransactionService;
+import com.gustavoresende.FinApp.services.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sem escrita do usuário, o dashboard repetido custa só a leitura da versão dos dados e as
+// listagens respondem 304 ao If-None-Match; qualquer escrita (ou a entrega do outbox) invalida os dois
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalReadTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void unchangedDataCostsOneVersionLookup() throws Exception {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Category category = categoryService.create(new Category("Mercado", reference(user)));
+        expense(user, account, category, "12.34");
+        outboxService.drain();
+        String dashboard = "/dashboard/user/" + user.getId();
+
+        mockMvc.perform(get(dashboard).with(as(user))).andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryTotals[0].total").value(12.34));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String etag = mockMvc.perform(get(dashboard).with(as(user))).andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].balance").value(987.66))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(dashboard).with(as(user)).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertEquals(2, statistics.getPrepareStatementCount(), "Dashboard em cache e 304: só a leitura da versão");
+
+        // Antes da entrega do outbox o saldo já mudou e os gastos por categoria ainda não; a entrega
+        // também muda a versão, então o dashboard não fica com os gastos antigos
+        expense(user, account, category, "10.00");
+        mockMvc.perform(get(dashboard).with(as(user)).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].balance").value(977.66))
+                .andExpect(jsonPath("$.categoryTotals[0].total").value(12.34));
+        outboxService.drain();
+        mockMvc.perform(get(dashboard).with(as(user))).andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryTotals[0].total").value(22.34));
+
+        String[] listings = {"/account/user/", "/category/user/", "/goal/user/", "/transaction/user/"};
+        String[] etags = new String[listings.length];
+        for (int i = 0; i < listings.length; i++) {
+            etags[i] = mockMvc.perform(get(listings[i] + user.getId()).with(as(user))).andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotNull(etags[i]);
+            mockMvc.perform(get(listings[i] + user.getId()).with(as(user)).header(HttpHeaders.IF_NONE_MATCH, etags[i]))
+                    .andExpect(status().isNotModified());
+        }
+
+        // Uma meta nova muda a versão de todas as listagens do usuário
+        goalService.create(new Goal("Viagem", new BigDecimal("5000.00"), LocalDate.now().plusYears(1), null, reference(user)));
+        for (int i = 0; i < listings.length; i++) {
+            String fresh = mockMvc.perform(get(listings[i] + user.getId()).with(as(user)).header(HttpHeaders.IF_NONE_MATCH, etags[i]))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotEquals(etags[i], fresh);
+        }
+        mockMvc.perform(get("/goal/user/" + user.getId()).with(as(user))).andExpect(jsonPath("$[0].name").value("Viagem"));
+    }
+
+    private void expense(User user, Account account, Category category, String amount) {
+        Account accountRef = new Account();
+        accountRef.setId(account.getId());
+        Category categoryRef = new Category();
+        categoryRef.setId(category.getId());
+        transactionService.create(new Transaction(new BigDecimal(amount), "Padaria", LocalDate.now(), TransactionType.EXPENSE,
+                categoryRef, accountRef, reference(user)));
+    }
+
+    // Requisição autenticada como o próprio usuário (os endpoints /…/user/{userId} exigem o dono)
+    private static RequestPostProcessor as(User user) {
+        return user(new UserPrincipal(user.getId(), user.getUsername(), user.getPassword()));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,179 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.AccountService;
+import com.gustavoresende.FinApp.services.CategoryService;
+import com.gustavoresende.FinApp.services.GoalService;
+import com.gustavoresende.FinApp.services.TransactionImportService;
+import com.gustavoresende.FinApp.services.TransactionService;
+import com.gustavoresende.FinApp.services.UserService;
+import com.gustavoresende.FinApp.services.imports.ImportFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// As listagens devem executar o mesmo número de comandos SQL com 5 ou com centenas de
+// transações (nada de N+1 nas associações LAZY). Nenhuma requisição feita neste contexto (inclusive
+// pelas outras classes de teste que o compartilham) pode passar do limite do perfil de testes
+// (finapp.persistence.max-statements-per-request): o filtro conta cada excesso em
+// finapp.persistence.statements.excess.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointStatementCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listingEndpointsRunConstantStatementCount() throws Exception {
+        Long small = seedUser(5);
+        Long large = seedUser(300);
+        String month = YearMonth.now().toString();
+        String today = LocalDate.now().toString();
+        String yearAgo = LocalDate.now().minusYears(1).toString();
+
+        String[][] endpoints = {
+                {"/transaction/user/{userId}", "/transaction/user/%d?size=200"},
+                {"/dashboard/user/{userId}", "/dashboard/user/%d"},
+                {"/monthly-summary/user/{userId}/categories", "/monthly-summary/user/%d/categories?from=" + month + "&to=" + month},
+                {"/analytics/user/{userId}/categories", "/analytics/user/%d/categories?from=" + yearAgo + "&to=" + today},
+                {"/forecast/user/{userId}", "/forecast/user/%d"},
+                {"/transaction/user/{userId}/search", "/transaction/user/%d/search?q=compra&from=" + yearAgo},
+                {"/account/user/{userId}", "/account/user/%d"},
+                {"/category/user/{userId}", "/category/user/%d"},
+                {"/goal/user/{userId}", "/goal/user/%d"},
+        };
+        for (String[] endpoint : endpoints) {
+            long smallCount = statements(small, endpoint[0], endpoint[1].formatted(small));
+            long largeCount = statements(large, endpoint[0], endpoint[1].formatted(large));
+            assertEquals(smallCount, largeCount, "Comandos SQL em " + endpoint[0] + " não podem depender do histórico");
+            assertTrue(largeCount > 0, "Nenhum comando contabilizado em " + endpoint[0]);
+        }
+    }
+
+    // Leituras saem de projeções: nenhuma entidade é carregada e só os campos da visão são serializados
+    @Test
+    void readEndpointsSerializeProjectionsWithoutLoadingEntities() throws Exception {
+        Long userId = seedUser(3);
+        User ref = new User();
+        ref.setId(userId);
+        Long goalId = goalService.create(new Goal("Viagem", new BigDecimal("5000.00"), LocalDate.now().plusYears(1), null, ref)).getId();
+        Long transactionId = transactionService.findPage(new TransactionFilter(userId, null, null, null, null, null), null, 1)
+                .items().get(0).id();
+        Long accountId = transactionService.findViewById(transactionId).accountId();
+        Long categoryId = transactionService.findViewById(transactionId).categoryId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/account/user/" + userId).with(as(userId))).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Conta Corrente"))
+                .andExpect(jsonPath("$[0].user").doesNotExist());
+        mockMvc.perform(get("/category/user/" + userId).with(as(userId))).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Mercado"));
+        mockMvc.perform(get("/goal/user/" + userId).with(as(userId))).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(goalId));
+        mockMvc.perform(get("/account/" + accountId).with(as(userId))).andExpect(status().isOk());
+        mockMvc.perform(get("/category/" + categoryId).with(as(userId))).andExpect(status().isOk());
+        mockMvc.perform(get("/goal/" + goalId).with(as(userId))).andExpect(status().isOk());
+        mockMvc.perform(get("/transaction/" + transactionId).with(as(userId))).andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountName").value("Conta Corrente"))
+                .andExpect(jsonPath("$.categoryName").value("Mercado"));
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        mockMvc.perform(get("/goal/0").with(as(userId))).andExpect(status().isNotFound());
+    }
+
+    @AfterEach
+    void noRequestExceededTheStatementLimit() {
+        for (Counter excess : meterRegistry.find("finapp.persistence.statements.excess").counters()) {
+            assertEquals(0, excess.count(), "Requisições acima do limite de comandos SQL em " + excess.getId().getTag("method")
+                    + " " + excess.getId().getTag("uri"));
+        }
+    }
+
+    private long statements(Long userId, String pattern, String url) throws Exception {
+        double before = total(pattern);
+        mockMvc.perform(get(url).with(as(userId))).andExpect(status().isOk());
+        return Math.round(total(pattern) - before);
+    }
+
+    private double total(String pattern) {
+        DistributionSummary summary = meterRegistry.find("finapp.persistence.statements").tag("uri", pattern).summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    // Requisição autenticada como o próprio usuário (os endpoints /…/user/{userId} exigem o dono)
+    private static RequestPostProcessor as(Long userId) {
+        return user(new UserPrincipal(userId, "usuario-" + userId + "@finapp.test", ""));
+    }
+
+    private Long seedUser(int transactions) {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        User ref = new User();
+        ref.setId(user.getId());
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000000.00"), ref));
+        Category category = categoryService.create(new Category("Mercado", ref));
+        StringBuilder csv = new StringBuilder("data;descricao;valor\n");
+        for (int i = 0; i < transactions; i++) {
+            csv.append(LocalDate.now().minusDays(i % 28)).append(";Compra ").append(i).append(";-1.00\n");
+        }
+        transactionImportService.importStatement(account.getId(), category.getId(), ImportFormat.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        return user.getId();
+    }
+}
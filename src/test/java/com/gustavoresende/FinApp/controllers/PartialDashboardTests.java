@@ -0,0 +1,91 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.AccountService;
+import com.gustavoresende.FinApp.services.GoalService;
+import com.gustavoresende.FinApp.services.MonthlySummaryService;
+import com.gustavoresende.FinApp.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dashboard parcial vai sem ETag, e o If-None-Match de uma versão completa anterior não a transforma
+// em 304. O spy cria outro contexto, então o banco em memória é outro (o create-drop apagaria o dos demais)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:finapp-partial;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PartialDashboardTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoSpyBean
+    private MonthlySummaryService monthlySummaryService;
+
+    @Test
+    void partialDashboardCarriesNoETag() throws Exception {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        String dashboard = "/dashboard/user/" + user.getId();
+        String etag = mockMvc.perform(get(dashboard).with(as(user))).andExpect(status().isOk())
+                .andExpect(jsonPath("$.partial").value(false))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mockMvc.perform(get(dashboard).with(as(user)).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        // A meta muda a versão; os gastos por categoria falham e a resposta sai sem essa parte
+        goalService.create(new Goal("Viagem", new BigDecimal("5000.00"), LocalDate.now().plusYears(1), null, reference(user)));
+        doThrow(new IllegalStateException("indisponível")).when(monthlySummaryService)
+                .findCategoryTotals(eq(user.getId()), any(), any());
+        mockMvc.perform(get(dashboard).with(as(user)).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk())
+                .andExpect(jsonPath("$.partial").value(true))
+                .andExpect(jsonPath("$.missing[0]").value("categoryTotals"))
+                .andExpect(jsonPath("$.goals[0].name").value("Viagem"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    // Requisição autenticada como o próprio usuário (os endpoints /…/user/{userId} exigem o dono)
+    private static RequestPostProcessor as(User user) {
+        return user(new UserPrincipal(user.getId(), user.getUsername(), user.getPassword()));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,155 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.AccountService;
+import com.gustavoresende.FinApp.services.CategoryService;
+import com.gustavoresende.FinApp.services.TransactionService;
+import com.gustavoresende.FinApp.services.UserService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Paginação por cursor (date DESC, id DESC): muitas linhas na mesma data não repetem nem pulam
+// itens entre páginas, a última página não tem nextCursor e cursor inválido é 400
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionPagingTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 4, 10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private final List<Row> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("10000.00"), reference(user)));
+        Category category = categoryService.create(new Category("Mercado", reference(user)));
+        // 3 datas com 40 transações cada, gravadas intercaladas
+        for (int i = 0; i < 120; i++) {
+            LocalDate date = DAY.minusDays(i % 3);
+            Account accountRef = new Account();
+            accountRef.setId(account.getId());
+            Category categoryRef = new Category();
+            categoryRef.setId(category.getId());
+            Transaction saved = transactionService.create(new Transaction(new BigDecimal("1.00"), "Compra " + i, date,
+                    TransactionType.EXPENSE, categoryRef, accountRef, reference(user)));
+            written.add(new Row(saved.getId(), date));
+        }
+        written.sort(Comparator.comparing(Row::date).thenComparing(Row::id).reversed());
+    }
+
+    @Test
+    void pagesWalkEqualDatesWithoutGapsOrRepeats() throws Exception {
+        assertEquals(ids(written), walk(25, 5));
+        // Total múltiplo do tamanho: a página cheia final também não aponta para uma página vazia
+        assertEquals(ids(written), walk(40, 3));
+        assertEquals(ids(written), walk(120, 1));
+    }
+
+    @Test
+    void malformedOrTamperedCursorIsBadRequest() throws Exception {
+        String[] cursors = {
+                "nao-e-um-cursor!!",
+                encode("2024-04-10"),
+                encode("2024-04-10:abc"),
+                encode("2024-13-40:5"),
+                encode(":5"),
+                encode("2024-04-10:5").substring(1)
+        };
+        for (String cursor : cursors) {
+            mockMvc.perform(page(25).param("cursor", cursor)).andExpect(status().isBadRequest());
+        }
+    }
+
+    // Segue o nextCursor até o fim e confere o número de páginas
+    private List<Long> walk(int size, int expectedPages) throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = page(size);
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse()
+                    .getContentAsString(StandardCharsets.UTF_8);
+            List<Number> ids = JsonPath.read(body, "$.items[*].id");
+            ids.forEach(id -> seen.add(id.longValue()));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            pages++;
+        } while (cursor != null);
+        assertEquals(expectedPages, pages);
+        assertNull(cursor);
+        return seen;
+    }
+
+    private MockHttpServletRequestBuilder page(int size) {
+        return get("/transaction/user/" + user.getId()).with(as(user)).param("size", String.valueOf(size));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Long> ids(List<Row> rows) {
+        return rows.stream().map(Row::id).toList();
+    }
+
+    // Requisição autenticada como o próprio usuário (os endpoints /…/user/{userId} exigem o dono)
+    private static RequestPostProcessor as(User user) {
+        return user(new UserPrincipal(user.getId(), user.getUsername(), user.getPassword()));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    private record Row(Long id, LocalDate date) {
+    }
+}
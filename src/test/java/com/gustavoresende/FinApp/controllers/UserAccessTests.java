@@ -0,0 +1,123 @@
+package com.gustavoresende.FinApp.controllers;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import com.gustavoresende.FinApp.services.AccountService;
+import com.gustavoresende.FinApp.services.CategoryService;
+import com.gustavoresende.FinApp.services.TransactionService;
+import com.gustavoresende.FinApp.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Os endpoints /…/user/{userId} só atendem o dono: outro usuário autenticado recebe 403 sem que nada
+// seja lido ou escrito, e o próprio dono continua sendo atendido
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserAccessTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void anotherUsersExportIsForbidden() throws Exception {
+        User owner = seedUser("Padaria do Dono");
+        User other = seedUser("Padaria do Outro");
+        String export = "/transaction/user/" + owner.getId() + "/export";
+
+        mockMvc.perform(get(export).with(as(other))).andExpect(status().isForbidden());
+
+        MvcResult started = mockMvc.perform(get(export).with(as(owner))).andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn().getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("Padaria do Dono"), csv);
+    }
+
+    @Test
+    void anotherUsersReadsAndRebuildAreForbidden() throws Exception {
+        User owner = seedUser("Mercado");
+        User other = seedUser("Mercado");
+        String[] reads = {"/transaction/user/%d", "/transaction/user/%d/search?q=mercado", "/dashboard/user/%d",
+                "/analytics/user/%d?from=2024-01-01&to=2024-12-31", "/forecast/user/%d", "/budget/user/%d",
+                "/monthly-summary/user/%d?from=2024-01&to=2024-12", "/account/user/%d", "/category/user/%d", "/goal/user/%d"};
+        for (String read : reads) {
+            mockMvc.perform(get(read.formatted(owner.getId())).with(as(other))).andExpect(status().isForbidden());
+        }
+        mockMvc.perform(post("/monthly-summary/user/" + owner.getId() + "/rebuild").with(as(other)).with(csrf()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/categorization/user/" + owner.getId()).with(as(other)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content("[\"MERCADO\"]"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/monthly-summary/user/" + owner.getId() + "/rebuild").with(as(owner)).with(csrf()))
+                .andExpect(status().isNoContent());
+    }
+
+    // Autenticado por outro mecanismo (sem UserPrincipal): não há id para comparar, então 403
+    @Test
+    @WithMockUser
+    void principalWithoutUserIdIsForbidden() throws Exception {
+        User owner = seedUser("Mercado");
+        mockMvc.perform(get("/transaction/user/" + owner.getId())).andExpect(status().isForbidden());
+    }
+
+    private User seedUser(String description) {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Category category = categoryService.create(new Category("Mercado", reference(user)));
+        Account accountRef = new Account();
+        accountRef.setId(account.getId());
+        Category categoryRef = new Category();
+        categoryRef.setId(category.getId());
+        transactionService.create(new Transaction(new BigDecimal("12.34"), description, LocalDate.of(2024, 5, 10),
+                TransactionType.EXPENSE, categoryRef, accountRef, reference(user)));
+        return user;
+    }
+
+    // Requisição autenticada como o usuário informado
+    private static RequestPostProcessor as(User user) {
+        return user(new UserPrincipal(user.getId(), user.getUsername(), user.getPassword()));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,126 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.BalancePoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Saldos históricos (checkpoints mensais + transações do mês) iguais à soma direta das transações,
+// inclusive depois de inserções, edições e exclusões retroativas
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceCheckpointServiceTests {
+
+    private static final BigDecimal OPENING = new BigDecimal("5000.00");
+    private static final LocalDate START = LocalDate.of(2022, 1, 1);
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private Account account;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        account = accountService.create(new Account("Conta Corrente", OPENING, reference(user)));
+        category = categoryService.create(new Category("Mercado", reference(user)));
+    }
+
+    @Test
+    void historicalBalancesMatchDirectSum() {
+        SplittableRandom random = new SplittableRandom(3);
+        List<Transaction> written = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            // Fora de ordem: boa parte das inserções é retroativa
+            written.add(transactionService.create(new Transaction(BigDecimal.valueOf(random.nextLong(100, 10_000), 2), "T" + i,
+                    START.plusDays(random.nextInt(730)), random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    reference(category), reference(account), reference(user))));
+        }
+        // Edição que muda data e valor, e exclusão de uma transação antiga
+        Transaction edited = written.get(5);
+        edited.setDate(START.plusDays(3));
+        edited.setAmount(new BigDecimal("12.34"));
+        edited.setType(TransactionType.INCOME);
+        transactionService.update(edited);
+        transactionService.delete(written.get(7).getId());
+        written.remove(7);
+
+        assertBalancesMatch(written);
+
+        balanceCheckpointService.rebuild(account.getId());
+        assertBalancesMatch(written);
+    }
+
+    private void assertBalancesMatch(List<Transaction> transactions) {
+        for (int day = -5; day < 760; day += 17) {
+            LocalDate date = START.plusDays(day);
+            assertEquals(0, expected(transactions, date).compareTo(balanceCheckpointService.balanceAt(account.getId(), date).balance()),
+                    date.toString());
+        }
+        List<BalancePoint> history = balanceCheckpointService.history(account.getId(), YearMonth.from(START).minusMonths(1),
+                YearMonth.from(START).plusMonths(25));
+        assertEquals(27, history.size());
+        for (BalancePoint point : history) {
+            assertEquals(0, expected(transactions, point.month()).compareTo(point.balance()), point.month().toString());
+        }
+    }
+
+    private static BigDecimal expected(List<Transaction> transactions, LocalDate date) {
+        BigDecimal balance = OPENING;
+        for (Transaction t : transactions) {
+            if (!t.getDate().isAfter(date)) {
+                balance = t.getType() == TransactionType.INCOME ? balance.add(t.getAmount()) : balance.subtract(t.getAmount());
+            }
+        }
+        return balance;
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    private static Account reference(Account account) {
+        Account ref = new Account();
+        ref.setId(account.getId());
+        return ref;
+    }
+
+    private static Category reference(Category category) {
+        Category ref = new Category();
+        ref.setId(category.getId());
+        return ref;
+    }
+}
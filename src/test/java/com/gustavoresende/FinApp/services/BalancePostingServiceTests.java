@@ -0,0 +1,121 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.services.exceptions.InsufficientBalanceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Lançamentos concorrentes na mesma conta: nenhum delta se perde e o UPDATE condicional recusa
+// exatamente os que deixariam o saldo negativo
+@SpringBootTest
+@ActiveProfiles("test")
+class BalancePostingServiceTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        category = categoryService.create(new Category("Mercado", reference(user)));
+    }
+
+    @Test
+    void concurrentPostingsToOneAccountAreAllApplied() throws Exception {
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("100.00"), reference(user)));
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        create(account, "0.50", TransactionType.EXPENSE); // 8 x 25 x 0,50 = 100,00
+                    }
+                }));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get(); // propaga qualquer falha das threads
+        }
+        assertEquals(0, BigDecimal.ZERO.compareTo(balance(account)));
+
+        assertThrows(InsufficientBalanceException.class, () -> create(account, "0.01", TransactionType.EXPENSE));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balance(account)));
+    }
+
+    @Test
+    void concurrentOverdraftsAreRejectedExactly() {
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("10.00"), reference(user)));
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 20; i++) {
+                executor.submit(() -> {
+                    try {
+                        create(account, "1.00", TransactionType.EXPENSE);
+                        accepted.incrementAndGet();
+                    } catch (InsufficientBalanceException e) {
+                        rejected.incrementAndGet();
+                    }
+                });
+            }
+        }
+        assertEquals(10, accepted.get());
+        assertEquals(10, rejected.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balance(account)));
+    }
+
+    private BigDecimal balance(Account account) {
+        return accountRepository.findBalanceViewById(account.getId()).orElseThrow().balance();
+    }
+
+    private void create(Account account, String amount, TransactionType type) {
+        Account accountRef = new Account();
+        accountRef.setId(account.getId());
+        Category categoryRef = new Category();
+        categoryRef.setId(category.getId());
+        transactionService.create(new Transaction(new BigDecimal(amount), "Padaria", LocalDate.now(), type, categoryRef, accountRef,
+                reference(user)));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,135 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.BudgetAlertView;
+import com.gustavoresende.FinApp.models.dto.BudgetCrossing;
+import com.gustavoresende.FinApp.models.dto.BudgetStatus;
+import com.gustavoresende.FinApp.services.imports.ImportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Alertas de orçamento: um por lote entregue, com todos os limites cruzados nele, e só quando o
+// gasto passa de um limite para cima
+@SpringBootTest
+@ActiveProfiles("test")
+class BudgetServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 12);
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private Account account;
+    private Category groceries;
+    private Category leisure;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        account = accountService.create(new Account("Conta Corrente", new BigDecimal("10000.00"), reference(user)));
+        groceries = categoryService.create(new Category("Mercado", reference(user)));
+        leisure = categoryService.create(new Category("Lazer", reference(user)));
+        budgetService.setLimit(groceries.getId(), new BigDecimal("100.00"));
+        budgetService.setLimit(leisure.getId(), new BigDecimal("50.00"));
+    }
+
+    @Test
+    void crossingsInOneBatchBecomeOneAlert() {
+        create(groceries, "70.00", TransactionType.EXPENSE);
+        create(groceries, "500.00", TransactionType.INCOME); // receitas não contam como gasto
+        outboxService.drain();
+        assertEquals(List.of(), alerts());
+
+        // 70 -> 85: passa de 80%
+        Transaction crossing = create(groceries, "15.00", TransactionType.EXPENSE);
+        outboxService.drain();
+        List<BudgetAlertView> alerts = alerts();
+        assertEquals(1, alerts.size());
+        assertEquals(List.of(new BudgetCrossing(groceries.getId(), DAY.withDayOfMonth(1), new BigDecimal("100.00"),
+                new BigDecimal("85.00"), new BigDecimal("0.8"))), alerts.get(0).crossings());
+
+        // Importação de 10 linhas (85 -> 105) e um gasto em Lazer no mesmo lote: um único alerta
+        StringBuilder csv = new StringBuilder("data;descricao;valor\n");
+        for (int i = 0; i < 10; i++) {
+            csv.append(DAY).append(";Compra ").append(i).append(";-2.00\n");
+        }
+        transactionImportService.importStatement(account.getId(), groceries.getId(), ImportFormat.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        create(leisure, "60.00", TransactionType.EXPENSE);
+        outboxService.drain();
+        alerts = alerts();
+        assertEquals(2, alerts.size());
+        assertEquals(2, alerts.get(0).crossings().size());
+        for (BudgetCrossing c : alerts.get(0).crossings()) {
+            assertEquals(new BigDecimal("1.0"), c.threshold());
+        }
+
+        // Voltar abaixo do limite não alerta; cruzar de novo, sim
+        transactionService.delete(crossing.getId());
+        outboxService.drain();
+        assertEquals(2, alerts().size());
+        create(groceries, "15.00", TransactionType.EXPENSE);
+        outboxService.drain();
+        assertEquals(3, alerts().size());
+
+        List<BudgetStatus> status = budgetService.findStatus(user.getId(), YearMonth.from(DAY));
+        assertEquals(List.of("Lazer", "Mercado"), status.stream().map(BudgetStatus::categoryName).toList());
+        assertEquals(0, new BigDecimal("105.00").compareTo(status.get(1).spent()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(status.get(1).remaining()));
+    }
+
+    private List<BudgetAlertView> alerts() {
+        return budgetService.findAlerts(user.getId(), 20);
+    }
+
+    private Transaction create(Category category, String amount, TransactionType type) {
+        Account accountRef = new Account();
+        accountRef.setId(account.getId());
+        Category categoryRef = new Category();
+        categoryRef.setId(category.getId());
+        return transactionService.create(new Transaction(new BigDecimal(amount), "Compra", DAY, type, categoryRef, accountRef,
+                reference(user)));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,104 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.services.imports.ImportedRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// O filtro de Bloom já montado enxerga transações gravadas depois (como as de outra instância, que
+// não passam pelos eventos desta JVM) pelo maior id visto, sem esperar a expiração; anos arquivados
+// são conferidos no arquivo
+@SpringBootTest
+@ActiveProfiles("test")
+class DuplicateDetectionServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 20);
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private Account account;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        category = categoryService.create(new Category("Mercado", reference(user)));
+    }
+
+    @Test
+    void transactionsWrittenAfterTheFilterWasBuiltAreStillDetected() {
+        expense("Padaria Central", "12.34", DAY);
+        List<ImportedRow> rows = List.of(row("PADARIA  central", "12.34", DAY.plusDays(1)), row("Mercado Bom", "80.00", DAY));
+        assertArrayEquals(new boolean[] {true, false}, duplicateDetectionService.findDuplicates(
+                duplicateDetectionService.begin(user.getId(), account.getId()), rows));
+
+        // Filtro já em cache; a transação nova chega pelo id na próxima verificação
+        expense("Mercado Bom", "80.00", DAY);
+        assertArrayEquals(new boolean[] {true, true}, duplicateDetectionService.findDuplicates(
+                duplicateDetectionService.begin(user.getId(), account.getId()), rows));
+    }
+
+    // Um extrato de um ano já arquivado não recria as transações que saíram da tabela quente
+    @Test
+    void rowsOfArchivedYearsAreCheckedAgainstTheArchive() {
+        LocalDate old = LocalDate.of(2015, 12, 31);
+        expense("Farmácia Velha", "25.00", old);
+        expense("Farmácia Velha", "25.00", old);
+        transactionArchiveService.archiveYear(user.getId(), 2015);
+        List<ImportedRow> rows = List.of(row("Farmácia Velha", "25.00", old), row("Farmácia Velha", "25.00", old.plusDays(1)),
+                row("Farmácia Velha", "25.00", old), row("Farmácia Nova", "25.00", old));
+        assertArrayEquals(new boolean[] {true, true, false, false}, duplicateDetectionService.findDuplicates(
+                duplicateDetectionService.begin(user.getId(), account.getId()), rows));
+    }
+
+    private ImportedRow row(String description, String amount, LocalDate date) {
+        return new ImportedRow(date, description, new BigDecimal(amount), TransactionType.EXPENSE, null);
+    }
+
+    private void expense(String description, String amount, LocalDate date) {
+        Account accountRef = new Account();
+        accountRef.setId(account.getId());
+        Category categoryRef = new Category();
+        categoryRef.setId(category.getId());
+        transactionService.create(new Transaction(new BigDecimal(amount), description, date, TransactionType.EXPENSE,
+                categoryRef, accountRef, reference(user)));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
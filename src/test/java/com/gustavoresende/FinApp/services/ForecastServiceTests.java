@@ -0,0 +1,77 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.GoalForecast;
+import com.gustavoresende.FinApp.repositories.GoalRepository;
+import com.gustavoresende.FinApp.repositories.UserDataVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A projeção em cache vale para uma versão dos dados do usuário: uma meta criada por outra instância
+// (aqui, direto no banco e sem evento local) aparece assim que a versão é incrementada
+@SpringBootTest
+@ActiveProfiles("test")
+class ForecastServiceTests {
+
+    @Autowired
+    private ForecastService forecastService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void goalFromAnotherInstanceIsProjectedOnceTheVersionMoves() {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Goal local = goalService.create(new Goal("Viagem", new BigDecimal("5000.00"), LocalDate.now().plusYears(1), null,
+                reference(user)));
+        assertEquals(List.of(local.getId()), goals(user));
+
+        TransactionTemplate remote = new TransactionTemplate(transactionManager);
+        Goal other = remote.execute(status -> goalRepository.save(new Goal("Carro", new BigDecimal("30000.00"),
+                LocalDate.now().plusYears(3), null, reference(user))));
+        // Sem a versão nova o cache ainda serve a projeção anterior
+        assertEquals(List.of(local.getId()), goals(user));
+
+        remote.executeWithoutResult(status -> userDataVersionRepository.increment(user.getId()));
+        assertEquals(List.of(local.getId(), other.getId()), goals(user));
+    }
+
+    private List<Long> goals(User user) {
+        return forecastService.forecast(user.getId(), 12).goals().stream().map(GoalForecast::goalId).sorted().toList();
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
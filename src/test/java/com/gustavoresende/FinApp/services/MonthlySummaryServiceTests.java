@@ -0,0 +1,161 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.CategoryMonthlyTotal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Cada edição tira o valor antigo da linha (categoria, mês, tipo) de antes e soma na de depois;
+// linhas que zeram somem, e o resultado incremental é o mesmo da reconstrução
+@SpringBootTest
+@ActiveProfiles("test")
+class MonthlySummaryServiceTests {
+
+    private static final LocalDate JAN = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FEB = LocalDate.of(2024, 2, 1);
+    private static final LocalDate MAR = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void editsMoveAmountsBetweenSummaryRowsAndMatchRebuild() {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Category food = categoryService.create(new Category("Mercado", reference(user)));
+        Category fun = categoryService.create(new Category("Lazer", reference(user)));
+        Transaction edited = create(user, account, food, "10.00", JAN.withDayOfMonth(15), TransactionType.EXPENSE);
+        create(user, account, food, "5.00", JAN.withDayOfMonth(20), TransactionType.EXPENSE);
+        create(user, account, fun, "100.00", FEB.withDayOfMonth(5), TransactionType.INCOME);
+        outboxService.drain();
+        assertEquals(Set.of(
+                total(food, JAN, TransactionType.EXPENSE, "15.00", 2),
+                total(fun, FEB, TransactionType.INCOME, "100.00", 1)), totals(user));
+
+        // Categoria: sai de Mercado/jan e entra em Lazer/jan
+        update(edited, fun, "10.00", JAN.withDayOfMonth(15), TransactionType.EXPENSE);
+        outboxService.drain();
+        assertEquals(Set.of(
+                total(food, JAN, TransactionType.EXPENSE, "5.00", 1),
+                total(fun, JAN, TransactionType.EXPENSE, "10.00", 1),
+                total(fun, FEB, TransactionType.INCOME, "100.00", 1)), totals(user));
+
+        // Data: muda de mês e a linha de janeiro que zerou some
+        update(edited, fun, "10.00", MAR.withDayOfMonth(2), TransactionType.EXPENSE);
+        outboxService.drain();
+        assertEquals(Set.of(
+                total(food, JAN, TransactionType.EXPENSE, "5.00", 1),
+                total(fun, FEB, TransactionType.INCOME, "100.00", 1),
+                total(fun, MAR, TransactionType.EXPENSE, "10.00", 1)), totals(user));
+
+        // Tipo e valor juntos, e uma edição só da descrição (nenhuma linha muda)
+        update(edited, fun, "25.00", MAR.withDayOfMonth(2), TransactionType.INCOME);
+        update(edited, fun, "25.00", MAR.withDayOfMonth(2), TransactionType.INCOME);
+        outboxService.drain();
+        Set<CategoryMonthlyTotal> incremental = totals(user);
+        assertEquals(Set.of(
+                total(food, JAN, TransactionType.EXPENSE, "5.00", 1),
+                total(fun, FEB, TransactionType.INCOME, "100.00", 1),
+                total(fun, MAR, TransactionType.INCOME, "25.00", 1)), incremental);
+
+        monthlySummaryService.rebuild(user.getId());
+        assertEquals(incremental, totals(user));
+    }
+
+    // Evento ainda no outbox quando a reconstrução bloqueia o usuário (aqui, gravado na mesma transação,
+    // invisível para o drain): é entregue antes de apagar o resumo e a transação entra uma vez só.
+    // A reconstrução também muda a versão dos dados
+    @Test
+    void rebuildDeliversPendingEventsOnceAndBumpsTheVersion() {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Category food = categoryService.create(new Category("Mercado", reference(user)));
+        create(user, account, food, "10.00", JAN.withDayOfMonth(15), TransactionType.EXPENSE);
+        outboxService.drain();
+        long version = dataVersionService.current(user.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            create(user, account, food, "5.00", JAN.withDayOfMonth(20), TransactionType.EXPENSE);
+            monthlySummaryService.rebuild(user.getId());
+        });
+        outboxService.drain();
+        assertEquals(Set.of(total(food, JAN, TransactionType.EXPENSE, "15.00", 2)), totals(user));
+        assertTrue(dataVersionService.current(user.getId()) > version);
+    }
+
+    private Set<CategoryMonthlyTotal> totals(User user) {
+        return Set.copyOf(monthlySummaryService.findCategoryTotals(user.getId(), YearMonth.from(JAN), YearMonth.from(MAR)));
+    }
+
+    private static CategoryMonthlyTotal total(Category category, LocalDate month, TransactionType type, String total, long count) {
+        return new CategoryMonthlyTotal(category.getId(), category.getName(), month, type, new BigDecimal(total), count);
+    }
+
+    private Transaction create(User user, Account account, Category category, String amount, LocalDate date, TransactionType type) {
+        return transactionService.create(new Transaction(new BigDecimal(amount), "Padaria", date, type, reference(category),
+                reference(account), reference(user)));
+    }
+
+    private void update(Transaction transaction, Category category, String amount, LocalDate date, TransactionType type) {
+        Transaction changes = new Transaction(new BigDecimal(amount), "Padaria " + UUID.randomUUID(), date, type,
+                reference(category), null, null);
+        changes.setId(transaction.getId());
+        transactionService.update(changes);
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    private static Account reference(Account account) {
+        Account ref = new Account();
+        ref.setId(account.getId());
+        return ref;
+    }
+
+    private static Category reference(Category category) {
+        Category ref = new Category();
+        ref.setId(category.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,235 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.OutboxEvent;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.MonthlyTotal;
+import com.gustavoresende.FinApp.repositories.OutboxEventRepository;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionChangedEvent;
+import com.gustavoresende.FinApp.services.outbox.OutboxCodec;
+import com.gustavoresende.FinApp.services.outbox.OutboxHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// As escritas só gravam no outbox; o resumo mensal muda quando o despacho entrega os eventos,
+// cada um uma única vez mesmo quando um lote falha e é repetido, e uma linha que nunca é entregue
+// acaba estacionada sem travar a partição
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecordingHandler recordingHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void derivedViewsCatchUpOnDrainWithEachEventAppliedOnce() {
+        outboxService.drain();
+        Fixture fixture = fixture();
+        for (int i = 0; i < 5; i++) {
+            fixture.expense("10.00");
+        }
+        assertEquals(List.of(), totals(fixture));
+        assertTrue(outboxEventRepository.count() >= 5);
+
+        // O lote falha no meio: nada dele é aplicado e a mesma rodada o entrega evento a evento
+        recordingHandler.failNext = true;
+        double before = meterRegistry.get("finapp.outbox.delivered").counter().count();
+        int delivered = outboxService.drain();
+        assertTrue(delivered >= 5);
+        assertEquals(List.of(), outboxEventRepository.findPendingPartitions());
+        assertEquals(delivered, meterRegistry.get("finapp.outbox.delivered").counter().count() - before);
+        assertEquals(List.of(new MonthlyTotal(DAY.withDayOfMonth(1), TransactionType.EXPENSE, new BigDecimal("50.00"), 5L)), totals(fixture));
+    }
+
+    @Test
+    void oneBadRowIsParkedWithoutStallingItsPartition() {
+        Fixture poisoned = fixture();
+        Fixture neighbour = fixture();
+        while (partition(neighbour) != partition(poisoned)) {
+            neighbour = fixture();
+        }
+        outboxService.drain();
+        // Payload que nunca decodifica, seguido de um evento válido do mesmo usuário
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.append(poisoned.user.getId(),
+                partition(poisoned), OutboxCodec.TRANSACTION_CHANGED, "{corrompido", System.currentTimeMillis()));
+        Long badRow = outboxEventRepository.findAll().stream()
+                .filter(row -> row.getUserId().equals(poisoned.user.getId())).findFirst().orElseThrow().getId();
+        poisoned.expense("7.00");
+        for (int i = 0; i < 3; i++) {
+            neighbour.expense("3.00");
+        }
+        double parkedBefore = meterRegistry.get("finapp.outbox.parked").counter().count();
+
+        // A linha ruim segura só os eventos seguintes do seu usuário; o vizinho de partição anda
+        outboxService.drain();
+        assertEquals(new BigDecimal("9.00"), totals(neighbour).get(0).total());
+        assertEquals(List.of(), totals(poisoned));
+        assertEquals(1, outboxEventRepository.findById(badRow).orElseThrow().getAttempts());
+
+        outboxService.drain();
+        outboxService.drain();
+        OutboxEvent parked = outboxEventRepository.findById(badRow).orElseThrow();
+        assertTrue(parked.isParked());
+        assertEquals(3, parked.getAttempts());
+        assertEquals(1, meterRegistry.get("finapp.outbox.parked").counter().count() - parkedBefore);
+
+        // Estacionada, deixa de segurar o usuário
+        outboxService.drain();
+        assertEquals(new BigDecimal("7.00"), totals(poisoned).get(0).total());
+        assertTrue(outboxEventRepository.findById(badRow).orElseThrow().isParked());
+    }
+
+    @Test
+    void partitionsDrainInParallelKeepingPerUserOrder() throws Exception {
+        outboxService.drain();
+        List<Fixture> fixtures = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            fixtures.add(fixture());
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (Fixture fixture : fixtures) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 20; i++) {
+                        fixture.expense("1.00");
+                    }
+                });
+            }
+        }
+        recordingHandler.seen.clear();
+        outboxService.drain();
+
+        Map<Long, List<Long>> byUser = new HashMap<>();
+        for (TransactionChange change : recordingHandler.seen) {
+            byUser.computeIfAbsent(change.userId(), k -> new ArrayList<>()).add(change.transactionId());
+        }
+        for (Fixture fixture : fixtures) {
+            List<Long> ids = byUser.get(fixture.user.getId());
+            assertEquals(20, ids.size());
+            assertEquals(ids.stream().sorted().toList(), ids, "Eventos do usuário fora de ordem");
+            assertEquals(new BigDecimal("20.00"), totals(fixture).get(0).total());
+        }
+    }
+
+    private static int partition(Fixture fixture) {
+        return Math.floorMod(fixture.user.getId().hashCode(), 8);
+    }
+
+    private List<MonthlyTotal> totals(Fixture fixture) {
+        return monthlySummaryService.findMonthlyTotals(fixture.user.getId(), YearMonth.from(DAY), YearMonth.from(DAY));
+    }
+
+    private Fixture fixture() {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Category category = categoryService.create(new Category("Mercado", reference(user)));
+        return new Fixture(user, account, category);
+    }
+
+    private final class Fixture {
+
+        private final User user;
+        private final Account account;
+        private final Category category;
+
+        private Fixture(User user, Account account, Category category) {
+            this.user = user;
+            this.account = account;
+            this.category = category;
+        }
+
+        private void expense(String amount) {
+            Account accountRef = new Account();
+            accountRef.setId(account.getId());
+            Category categoryRef = new Category();
+            categoryRef.setId(category.getId());
+            transactionService.create(new Transaction(new BigDecimal(amount), "Padaria", DAY, TransactionType.EXPENSE,
+                    categoryRef, accountRef, reference(user)));
+        }
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    // Registra o que foi entregue e, quando armado, falha no meio da entrega: o que os outros
+    // handlers já tinham aplicado é desfeito junto com o lote
+    static class RecordingHandler implements OutboxHandler {
+
+        private final List<TransactionChange> seen = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean failNext;
+
+        @Override
+        public void onTransactionChanged(TransactionChangedEvent event) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("Falha simulada");
+            }
+            seen.addAll(event.changes());
+        }
+    }
+
+    @TestConfiguration
+    static class OutboxTestConfig {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.RecurrenceCheckpointRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Ocorrências geradas a partir da data inicial (fim de mês e 29/02 não escorregam), execuções repetidas
+// não duplicam e uma regra sem saldo fica para a próxima execução sem segurar as outras do usuário
+@SpringBootTest
+@ActiveProfiles("test")
+class RecurrenceMaterializationServiceTests {
+
+    @Autowired
+    private RecurrenceMaterializationService recurrenceMaterializationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RecurrenceCheckpointRepository recurrenceCheckpointRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        category = categoryService.create(new Category("Fixas", reference(user)));
+    }
+
+    @Test
+    void monthEndRuleRestartsWithoutDuplicates() {
+        Account account = account("1000.00");
+        Transaction rule = rule(account, "10.00", TransactionType.EXPENSE, LocalDate.of(2024, 1, 31), RecurrenceFrequency.MONTHLY);
+
+        assertEquals(4, materialize(LocalDate.of(2024, 5, 31)));
+        assertEquals(0, materialize(LocalDate.of(2024, 5, 31)));
+        assertEquals(1, materialize(LocalDate.of(2024, 6, 30)));
+
+        assertEquals(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30),
+                LocalDate.of(2024, 5, 31), LocalDate.of(2024, 6, 30)), occurrences(account));
+        assertEquals(5, recurrenceCheckpointRepository.findById(rule.getId()).orElseThrow().getLastOccurrenceIndex());
+        assertEquals(new BigDecimal("940.00"), balance(account));
+    }
+
+    @Test
+    void leapDayRuleFallsBackToFebruary28() {
+        Account account = account("1000.00");
+        rule(account, "50.00", TransactionType.INCOME, LocalDate.of(2020, 2, 29), RecurrenceFrequency.ANNUAL);
+
+        assertEquals(4, materialize(LocalDate.of(2024, 3, 1)));
+        assertEquals(List.of(LocalDate.of(2021, 2, 28), LocalDate.of(2022, 2, 28), LocalDate.of(2023, 2, 28),
+                LocalDate.of(2024, 2, 29)), occurrences(account));
+    }
+
+    @Test
+    void overdraftingRuleIsSkippedWhileOthersAdvance() {
+        Account checking = account("100.00");
+        Account savings = account("0.00");
+        Transaction rent = rule(checking, "60.00", TransactionType.EXPENSE, LocalDate.of(2024, 1, 10), RecurrenceFrequency.MONTHLY);
+        rule(savings, "10.00", TransactionType.INCOME, LocalDate.of(2024, 1, 10), RecurrenceFrequency.MONTHLY);
+
+        // Fev e mar do aluguel (-120) não cabem nos 40 restantes; a poupança anda mesmo assim
+        AtomicInteger failedRules = new AtomicInteger();
+        assertEquals(2, recurrenceMaterializationService.materializeUser(user.getId(), LocalDate.of(2024, 3, 15), failedRules));
+        assertEquals(1, failedRules.get());
+        assertEquals(List.of(), occurrences(checking));
+        assertEquals(new BigDecimal("40.00"), balance(checking));
+        assertEquals(List.of(LocalDate.of(2024, 2, 10), LocalDate.of(2024, 3, 10)), occurrences(savings));
+        assertEquals(0, recurrenceCheckpointRepository.findById(rent.getId()).map(c -> c.getLastOccurrenceIndex()).orElse(0L));
+
+        // Com saldo, a próxima execução recupera as ocorrências que ficaram para trás
+        create(new Transaction(new BigDecimal("200.00"), "Salário", LocalDate.of(2024, 3, 5), TransactionType.INCOME,
+                reference(category), reference(checking), reference(user)));
+        assertEquals(2, materialize(LocalDate.of(2024, 3, 15)));
+        assertEquals(List.of(LocalDate.of(2024, 2, 10), LocalDate.of(2024, 3, 10)), occurrences(checking));
+        assertEquals(new BigDecimal("120.00"), balance(checking));
+    }
+
+    private long materialize(LocalDate today) {
+        AtomicInteger failedRules = new AtomicInteger();
+        long created = recurrenceMaterializationService.materializeUser(user.getId(), today, failedRules);
+        assertEquals(0, failedRules.get());
+        return created;
+    }
+
+    // Datas das ocorrências materializadas na conta (a regra e os lançamentos avulsos ficam de fora)
+    private List<LocalDate> occurrences(Account account) {
+        return transactionRepository.findAll().stream()
+                .filter(t -> t.getAccount().getId().equals(account.getId()) && !t.isRecurring() && !"Salário".equals(t.getDescription()))
+                .map(Transaction::getDate)
+                .sorted()
+                .toList();
+    }
+
+    private BigDecimal balance(Account account) {
+        return accountRepository.findBalanceViewById(account.getId()).orElseThrow().balance();
+    }
+
+    private Account account(String balance) {
+        return accountService.create(new Account("Conta " + UUID.randomUUID(), new BigDecimal(balance), reference(user)));
+    }
+
+    private Transaction rule(Account account, String amount, TransactionType type, LocalDate start, RecurrenceFrequency frequency) {
+        return create(new Transaction(new BigDecimal(amount), "Regra " + frequency, start, type, reference(category),
+                reference(account), reference(user), true, frequency, null));
+    }
+
+    private Transaction create(Transaction transaction) {
+        return transactionService.create(transaction);
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    private static Account reference(Account account) {
+        Account ref = new Account();
+        ref.setId(account.getId());
+        return ref;
+    }
+
+    private static Category reference(Category category) {
+        Category ref = new Category();
+        ref.setId(category.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,109 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Resolução de nomes e donos em cache: renomear, excluir e criar (inclusive depois de um nome
+// já consultado e não encontrado) valem a partir do commit; sem evento local, vale o prazo do cache
+@SpringBootTest
+@ActiveProfiles("test")
+class ReferenceCacheServiceTests {
+
+    @Autowired
+    private ReferenceCacheService referenceCacheService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+    }
+
+    @Test
+    void renameResolvesTheNewNameAndForgetsTheOldOne() {
+        Category category = categoryService.create(new Category("Mercado", reference(user)));
+        assertEquals(Optional.of(category.getId()), referenceCacheService.findCategoryId(user.getId(), "Mercado"));
+        assertEquals(Optional.empty(), referenceCacheService.findCategoryId(user.getId(), "Supermercado"));
+
+        Category renamed = new Category("Supermercado", null);
+        renamed.setId(category.getId());
+        categoryService.update(renamed);
+        assertEquals(Optional.empty(), referenceCacheService.findCategoryId(user.getId(), "Mercado"));
+        assertEquals(Optional.of(category.getId()), referenceCacheService.findCategoryId(user.getId(), "Supermercado"));
+    }
+
+    @Test
+    void deletedCategoryAndAccountAreNoLongerResolved() {
+        Category category = categoryService.create(new Category("Lazer", reference(user)));
+        Account account = accountService.create(new Account("Carteira", new BigDecimal("10.00"), reference(user)));
+        assertEquals(Optional.of(category.getId()), referenceCacheService.findCategoryId(user.getId(), "Lazer"));
+        assertEquals(Optional.of(user.getId()), referenceCacheService.findCategoryOwner(category.getId()));
+        assertEquals(Optional.of(user.getId()), referenceCacheService.findAccountOwner(account.getId()));
+
+        categoryService.delete(category.getId());
+        accountService.delete(account.getId());
+        assertEquals(Optional.empty(), referenceCacheService.findCategoryId(user.getId(), "Lazer"));
+        assertEquals(Optional.empty(), referenceCacheService.findCategoryOwner(category.getId()));
+        assertEquals(Optional.empty(), referenceCacheService.findAccountOwner(account.getId()));
+    }
+
+    @Test
+    void nameCreatedAfterACachedMissIsResolved() {
+        assertEquals(Optional.empty(), referenceCacheService.findCategoryId(user.getId(), "Viagem"));
+        Category local = categoryService.create(new Category("Viagem", reference(user)));
+        assertEquals(Optional.of(local.getId()), referenceCacheService.findCategoryId(user.getId(), "Viagem"));
+
+        // Criada por outra instância: nenhum evento chega aqui, e a falta fica em cache pelo prazo
+        // negativo (30s nesta instância, zero na que simula um prazo já vencido)
+        ReferenceCacheService expired = new ReferenceCacheService(categoryRepository, accountRepository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10), 100, Duration.ZERO);
+        assertEquals(Optional.empty(), referenceCacheService.findCategoryId(user.getId(), "Saúde"));
+        assertEquals(Optional.empty(), expired.findCategoryId(user.getId(), "Saúde"));
+        Category remote = new TransactionTemplate(transactionManager).execute(status ->
+                categoryRepository.save(new Category("Saúde", reference(user))));
+        assertEquals(Optional.empty(), referenceCacheService.findCategoryId(user.getId(), "Saúde"));
+        assertEquals(Optional.of(remote.getId()), expired.findCategoryId(user.getId(), "Saúde"));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,93 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.PeriodTotals;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.repositories.UserDataVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// As colunas em cache valem para uma versão dos dados do usuário: uma escrita feita por outra
+// instância (aqui, direto no banco e sem evento local) só incrementa a versão, e isso basta para recarregar
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionAnalyticsServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 12);
+
+    @Autowired
+    private TransactionAnalyticsService transactionAnalyticsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writeFromAnotherInstanceIsSeenOnceTheVersionMoves() {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Category category = categoryService.create(new Category("Mercado", reference(user)));
+        transactionService.create(transaction("10.00", account, category, user));
+        assertEquals(new BigDecimal("10.00"), totals(user).expense());
+
+        TransactionTemplate remote = new TransactionTemplate(transactionManager);
+        remote.executeWithoutResult(status -> transactionRepository.save(transaction("5.50", account, category, user)));
+        // Sem a versão nova o cache ainda serve as colunas carregadas
+        assertEquals(new BigDecimal("10.00"), totals(user).expense());
+
+        remote.executeWithoutResult(status -> userDataVersionRepository.increment(user.getId()));
+        PeriodTotals totals = totals(user);
+        assertEquals(new BigDecimal("15.50"), totals.expense());
+        assertEquals(2, totals.expenseCount());
+    }
+
+    private PeriodTotals totals(User user) {
+        return transactionAnalyticsService.findTotals(user.getId(), DAY.withDayOfMonth(1), DAY);
+    }
+
+    private static Transaction transaction(String amount, Account account, Category category, User user) {
+        Account accountRef = new Account();
+        accountRef.setId(account.getId());
+        Category categoryRef = new Category();
+        categoryRef.setId(category.getId());
+        return new Transaction(new BigDecimal(amount), "Compra", DAY, TransactionType.EXPENSE, categoryRef, accountRef,
+                reference(user));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,224 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.ArchivedTransaction;
+import com.gustavoresende.FinApp.models.dto.CursorPage;
+import com.gustavoresende.FinApp.models.dto.MonthlyTotal;
+import com.gustavoresende.FinApp.models.dto.TransactionFilter;
+import com.gustavoresende.FinApp.models.dto.TransactionListItem;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.CategoryRepository;
+import com.gustavoresende.FinApp.repositories.TransactionArchiveRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.exceptions.DataBindingViolationException;
+import com.gustavoresende.FinApp.services.exports.ExportFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Depois do arquivamento, listagem, exportação, saldos históricos e resumo mensal continuam vendo as
+// transações antigas como antes, mas elas não estão mais na tabela quente
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionArchiveServiceTests {
+
+    private static final BigDecimal OPENING = new BigDecimal("1000.00");
+
+    @Autowired
+    private TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private MonthlySummaryService monthlySummaryService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionPartitionService transactionPartitionService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private Account account;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        account = accountService.create(new Account("Conta Corrente", OPENING, reference(user)));
+        category = categoryService.create(new Category("Mercado", reference(user)));
+    }
+
+    @Test
+    void archivedYearsStayVisibleToReads() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<Transaction> written = new ArrayList<>();
+        LocalDate start = LocalDate.of(2016, 1, 1);
+        for (int i = 0; i < 80; i++) {
+            written.add(transactionService.create(new Transaction(BigDecimal.valueOf(random.nextLong(100, 10_000), 2), "T" + i,
+                    start.plusDays(random.nextInt(2900)), random.nextBoolean() ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    reference(category), reference(account), reference(user))));
+        }
+
+        // Os anos que a retenção de 5 anos tiraria da tabela quente em 2024 (2016 a 2018); 2017 em
+        // duas etapas, como numa inclusão retroativa depois do primeiro arquivamento
+        List<Long> old = written.stream().filter(t -> t.getDate().getYear() <= 2018).map(Transaction::getId).toList();
+        long moved = transactionArchiveService.archiveYear(user.getId(), 2016) + transactionArchiveService.archiveYear(user.getId(), 2017);
+        written.add(transactionService.create(new Transaction(new BigDecimal("42.00"), "Retroativa", LocalDate.of(2017, 5, 2),
+                TransactionType.EXPENSE, reference(category), reference(account), reference(user))));
+        outboxService.drain();
+        List<MonthlyTotal> summaryBefore = monthlySummaryService.findMonthlyTotals(user.getId(), YearMonth.of(2016, 1), YearMonth.of(2023, 12));
+        moved += transactionArchiveService.archiveYear(user.getId(), 2017) + transactionArchiveService.archiveYear(user.getId(), 2018);
+        assertEquals(old.size() + 1, moved);
+        assertEquals(List.of(2016, 2017, 2018), transactionArchiveService.archivedYears(user.getId()));
+        assertTrue(transactionRepository.findAllById(old).isEmpty());
+
+        // Listagem por cursor, páginas pequenas para atravessar a fronteira quente/arquivado
+        List<Long> expectedOrder = written.stream()
+                .sorted(Comparator.comparing(Transaction::getDate).thenComparing(Transaction::getId).reversed())
+                .map(Transaction::getId).toList();
+        List<Long> listed = new ArrayList<>();
+        TransactionFilter filter = new TransactionFilter(user.getId(), null, null, null, null, null);
+        String cursor = null;
+        do {
+            CursorPage<TransactionListItem> page = transactionService.findPage(filter, cursor, 7);
+            page.items().forEach(item -> listed.add(item.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertEquals(expectedOrder, listed);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = transactionExportService.export(user.getId(), null, null, ExportFormat.NDJSON, out);
+        assertEquals(written.size(), exported);
+
+        for (int day = -3; day < 2950; day += 41) {
+            LocalDate date = start.plusDays(day);
+            assertEquals(0, expected(written, date).compareTo(balanceCheckpointService.balanceAt(account.getId(), date).balance()),
+                    date.toString());
+        }
+        balanceCheckpointService.rebuild(account.getId());
+        assertEquals(0, expected(written, LocalDate.of(2017, 6, 30))
+                .compareTo(balanceCheckpointService.balanceAt(account.getId(), LocalDate.of(2017, 6, 30)).balance()));
+
+        // O resumo mensal não muda com o arquivamento (a reconstrução dele usa SQL do MySQL)
+        assertEquals(summaryBefore, monthlySummaryService.findMonthlyTotals(user.getId(), YearMonth.of(2016, 1), YearMonth.of(2023, 12)));
+
+        // Arquivadas continuam referenciando a conta
+        for (Transaction t : written) {
+            if (t.getDate().getYear() > 2018) {
+                transactionService.delete(t.getId());
+            }
+        }
+        assertThrows(DataBindingViolationException.class, () -> accountService.delete(account.getId()));
+    }
+
+    // Arquivamento feito por outra instância (mesmo banco, caches próprios): esta instância já tinha
+    // a lista de anos e o ano decodificado em cache e os relê pela versão dos dados do usuário
+    @Test
+    void archivingOnAnotherInstanceIsSeenThroughTheDataVersion() {
+        TransactionArchiveService other = new TransactionArchiveService(transactionRepository, transactionArchiveRepository,
+                accountRepository, categoryRepository, transactionPartitionService, dataVersionService, transactionManager,
+                new SimpleMeterRegistry(), false, 5, 1_000_000);
+        expense("Antiga", LocalDate.of(2014, 3, 10));
+        assertEquals(List.of(), transactionArchiveService.archivedYears(user.getId()));
+
+        other.archiveYear(user.getId(), 2014);
+        assertEquals(List.of(2014), transactionArchiveService.archivedYears(user.getId()));
+        assertEquals(1, transactionArchiveService.read(user.getId(), 2014).size());
+
+        // Retroativa rearquivada pela outra instância: o arquivo cresce e o decodificado aqui é trocado
+        expense("Retroativa", LocalDate.of(2014, 4, 10));
+        other.archiveYear(user.getId(), 2014);
+        assertEquals(List.of("Antiga", "Retroativa"),
+                transactionArchiveService.read(user.getId(), 2014).stream().map(ArchivedTransaction::description).toList());
+    }
+
+    private void expense(String description, LocalDate date) {
+        transactionService.create(new Transaction(new BigDecimal("10.00"), description, date, TransactionType.EXPENSE,
+                reference(category), reference(account), reference(user)));
+    }
+
+    private static BigDecimal expected(List<Transaction> transactions, LocalDate date) {
+        BigDecimal balance = OPENING;
+        for (Transaction t : transactions) {
+            if (!t.getDate().isAfter(date)) {
+                balance = t.getType() == TransactionType.INCOME ? balance.add(t.getAmount()) : balance.subtract(t.getAmount());
+            }
+        }
+        return balance;
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    private static Account reference(Account account) {
+        Account ref = new Account();
+        ref.setId(account.getId());
+        return ref;
+    }
+
+    private static Category reference(Category category) {
+        Category ref = new Category();
+        ref.setId(category.getId());
+        return ref;
+    }
+}
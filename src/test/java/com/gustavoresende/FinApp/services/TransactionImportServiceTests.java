@@ -0,0 +1,126 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.repositories.AccountRepository;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.services.exceptions.InsufficientBalanceException;
+import com.gustavoresende.FinApp.services.imports.ImportFormat;
+import com.gustavoresende.FinApp.services.imports.ImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Extratos maiores que um bloco (finapp.import.chunk-size = 1000): cada bloco é uma transação, as
+// linhas inválidas são contadas e puladas, e o saldo insuficiente diz até onde o extrato entrou
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionImportServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        category = categoryService.create(new Category("Importadas", reference(user)));
+    }
+
+    @Test
+    void largeStatementIsWrittenInChunksSkippingMalformedRows() {
+        Account account = account("0.00");
+        StringBuilder csv = new StringBuilder("data;descricao;valor\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append(DAY.plusDays(i % 300)).append(";Depósito ").append(i).append(";1,00\n");
+            if (i % 500 == 0) {
+                csv.append("data ruim;Linha inválida;1,00\n").append(DAY).append(";Sem valor;\n");
+            }
+        }
+
+        ImportResult result = transactionImportService.importStatement(account.getId(), category.getId(), ImportFormat.CSV, csv(csv));
+        assertEquals(2500, result.imported());
+        assertEquals(3, result.chunks());
+        assertEquals(10, result.skipped());
+        assertEquals(0, result.duplicates());
+        assertEquals(new BigDecimal("2500.00"), balance(account));
+        assertEquals(2500, countOn(account));
+
+        // Reimportar o mesmo extrato não grava nada
+        ImportResult again = transactionImportService.importStatement(account.getId(), category.getId(), ImportFormat.CSV, csv(csv));
+        assertEquals(0, again.imported());
+        assertEquals(2500, again.duplicates());
+        assertEquals(2500, countOn(account));
+    }
+
+    @Test
+    void overdraftInALaterChunkReportsWhereTheImportStopped() {
+        Account account = account("100.00");
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            csv.append(DAY.plusDays(i % 300)).append(";Compra ").append(i).append(";-0,05\n");
+        }
+
+        // 1000 x 0,05 = 50 por bloco: os dois primeiros zeram o saldo e o terceiro não cabe
+        InsufficientBalanceException e = assertThrows(InsufficientBalanceException.class, () ->
+                transactionImportService.importStatement(account.getId(), category.getId(), ImportFormat.CSV, csv(csv)));
+        assertTrue(e.getMessage().contains("bloco 3 (registros 2001 a 2500"), e.getMessage());
+        assertTrue(e.getMessage().contains("(2000 linhas importadas)"), e.getMessage());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balance(account)));
+        assertEquals(2000, countOn(account));
+    }
+
+    private long countOn(Account account) {
+        return transactionRepository.findAll().stream().filter(t -> t.getAccount().getId().equals(account.getId())).count();
+    }
+
+    private BigDecimal balance(Account account) {
+        return accountRepository.findBalanceViewById(account.getId()).orElseThrow().balance();
+    }
+
+    private Account account(String balance) {
+        return accountService.create(new Account("Conta " + UUID.randomUUID(), new BigDecimal(balance), reference(user)));
+    }
+
+    private static ByteArrayInputStream csv(StringBuilder csv) {
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
@@ -0,0 +1,95 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.TransactionSearch;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+import com.gustavoresende.FinApp.repositories.TransactionRepository;
+import com.gustavoresende.FinApp.repositories.UserDataVersionRepository;
+import com.gustavoresende.FinApp.services.search.SearchMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// O índice em cache vale para uma versão dos dados do usuário: uma escrita feita por outra instância
+// (aqui, direto no banco e sem evento local) só incrementa a versão, e isso basta para remontá-lo
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionSearchServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 12);
+
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writeFromAnotherInstanceIsSeenOnceTheVersionMoves() {
+        User user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        Account account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000.00"), reference(user)));
+        Category category = categoryService.create(new Category("Mercado", reference(user)));
+        Transaction local = transactionService.create(transaction("Padaria Central", account, category, user));
+        assertEquals(List.of(local.getId()), padaria(user));
+
+        TransactionTemplate remote = new TransactionTemplate(transactionManager);
+        Transaction other = remote.execute(status -> transactionRepository.save(transaction("Padaria do Bairro", account, category, user)));
+        // Sem a versão nova o cache ainda serve o índice montado
+        assertEquals(List.of(local.getId()), padaria(user));
+
+        remote.executeWithoutResult(status -> userDataVersionRepository.increment(user.getId()));
+        assertEquals(List.of(other.getId(), local.getId()), padaria(user));
+    }
+
+    private List<Long> padaria(User user) {
+        TransactionSearch query = new TransactionSearch("padaria", SearchMatch.PREFIX, null, null, null, null, null);
+        return transactionSearchService.search(user.getId(), query, 10).items().stream().map(TransactionSearchHit::id).toList();
+    }
+
+    private static Transaction transaction(String description, Account account, Category category, User user) {
+        Account accountRef = new Account();
+        accountRef.setId(account.getId());
+        Category categoryRef = new Category();
+        categoryRef.setId(category.getId());
+        return new Transaction(new BigDecimal("10.00"), description, DAY, TransactionType.EXPENSE, categoryRef, accountRef,
+                reference(user));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+}
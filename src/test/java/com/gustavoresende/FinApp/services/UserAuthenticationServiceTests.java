@@ -0,0 +1,96 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.models.dto.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Cadastro aberto (POST /user) e login pelo UserDetailsService em cache: não carrega a entidade User
+// e deixa de aceitar a senha antiga logo depois da troca
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserAuthenticationServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserAuthenticationService userAuthenticationService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void loginUsesCachedProjectionAndPasswordChangeInvalidatesIt() throws Exception {
+        String username = UUID.randomUUID() + "@finapp.test";
+        // Login antes do cadastro: o "não existe" fica em cache até a criação invalidá-lo
+        mockMvc.perform(get("/transaction/user/1").with(httpBasic(username, "senha-segura-123"))).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/user").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"" + username + "\", \"password\": \"senha-segura-123\", \"fullName\": \"Usuário de Teste\"}"))
+                .andExpect(status().isCreated());
+        UserPrincipal user = (UserPrincipal) userAuthenticationService.loadUserByUsername(username);
+        assertTrue(passwordEncoder.matches("senha-segura-123", user.password()));
+        assertNotEquals("senha-segura-123", user.password());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long entitiesBefore = statistics.getEntityLoadCount();
+        String listing = "/transaction/user/" + user.id();
+        mockMvc.perform(get(listing).with(httpBasic(username, "senha-segura-123"))).andExpect(status().isOk());
+        assertEquals(entitiesBefore, statistics.getEntityLoadCount(), "Login não deve carregar entidades");
+        mockMvc.perform(get(listing).with(httpBasic(username, "senha-errada-123"))).andExpect(status().isUnauthorized());
+
+        mockMvc.perform(put("/user/password").with(httpBasic(username, "senha-segura-123")).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentPassword\": \"senha-segura-123\", \"newPassword\": \"outra-senha-456\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(listing).with(httpBasic(username, "senha-segura-123"))).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(listing).with(httpBasic(username, "outra-senha-456"))).andExpect(status().isOk());
+    }
+
+    // Cadastro sem login: usuário repetido é 409 e dados inválidos são 400, sem gravar nada
+    @Test
+    void registrationIsOpenAndRejectsDuplicatesAndInvalidData() throws Exception {
+        String username = UUID.randomUUID() + "@finapp.test";
+        userService.create(new User(username, "senha-segura-123", "Usuário de Teste"));
+        mockMvc.perform(post("/user").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"" + username + "\", \"password\": \"outra-senha-456\", \"fullName\": \"Outro Usuário\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/transaction/user/1").with(httpBasic(username, "outra-senha-456"))).andExpect(status().isUnauthorized());
+
+        String invalid = UUID.randomUUID() + "@finapp.test";
+        mockMvc.perform(post("/user").with(csrf()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\": \"" + invalid + "\", \"password\": \"curta\", \"fullName\": \"Usuário de Teste\"}"))
+                .andExpect(status().isBadRequest());
+        assertThrows(UsernameNotFoundException.class, () -> userAuthenticationService.loadUserByUsername(invalid));
+    }
+}
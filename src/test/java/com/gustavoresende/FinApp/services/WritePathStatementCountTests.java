@@ -0,0 +1,151 @@
+package com.gustavoresende.FinApp.services;
+
+import com.gustavoresende.FinApp.models.Account;
+import com.gustavoresende.FinApp.models.Category;
+import com.gustavoresende.FinApp.models.Goal;
+import com.gustavoresende.FinApp.models.Transaction;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.User;
+import com.gustavoresende.FinApp.services.imports.ImportFormat;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// As escritas devem preencher só o lado dono (@ManyToOne) e nunca carregar as coleções inversas
+// (Account.transactions, Category.transactions, User.accounts...). O custo de uma inserção
+// precisa ser o mesmo com 5 ou com milhares de transações já gravadas.
+@SpringBootTest
+@ActiveProfiles("test")
+class WritePathStatementCountTests {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private Account account;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        user = userService.create(new User(UUID.randomUUID() + "@finapp.test", "senha-segura-123", "Usuário de Teste"));
+        account = accountService.create(new Account("Conta Corrente", new BigDecimal("1000000.00"), reference(user)));
+        category = categoryService.create(new Category("Mercado", reference(user)));
+    }
+
+    @Test
+    void transactionInsertCostDoesNotGrowWithHistory() {
+        seedHistory(5);
+        long small = minStatementsPerInsert();
+
+        seedHistory(3000);
+        long large = minStatementsPerInsert();
+
+        assertEquals(small, large, "O número de comandos por inserção não pode depender do histórico");
+        // INSERT da transação + UPDATE do saldo + upsert do checkpoint de saldo do mês + INSERT no
+        // outbox + upsert da versão dos dados do usuário; o resumo mensal não entra nessa conta
+        assertTrue(large <= 5, "Comandos por inserção: " + large);
+    }
+
+    @Test
+    void transactionInsertNeverLoadsInverseCollections() {
+        seedHistory(500);
+        createTransaction(); // aquece o cache de referências
+
+        statistics.clear();
+        createTransaction();
+
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void accountCategoryAndGoalInsertsNeverLoadUserCollections() {
+        statistics.clear();
+        accountService.create(new Account("Poupança", BigDecimal.ZERO, reference(user)));
+        categoryService.create(new Category("Lazer", reference(user)));
+        goalService.create(new Goal("Viagem", new BigDecimal("5000.00"), LocalDate.now().plusYears(1), null, reference(user)));
+
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(3, statistics.getEntityInsertCount());
+    }
+
+    // Menor contagem entre algumas inserções, para descontar a busca ocasional de um bloco da sequência
+    private long minStatementsPerInsert() {
+        createTransaction(); // aquece o cache de referências
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            statistics.clear();
+            createTransaction();
+            min = Math.min(min, statistics.getPrepareStatementCount());
+        }
+        return min;
+    }
+
+    private void createTransaction() {
+        transactionService.create(new Transaction(new BigDecimal("12.34"), "Padaria", LocalDate.now(), TransactionType.EXPENSE,
+                reference(category), reference(account), reference(user)));
+    }
+
+    private void seedHistory(int rows) {
+        StringBuilder csv = new StringBuilder("data;descricao;valor\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(LocalDate.now().minusDays(i % 365)).append(";Compra ").append(i).append(";-1.00\n");
+        }
+        transactionImportService.importStatement(account.getId(), category.getId(), ImportFormat.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static User reference(User user) {
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    private static Account reference(Account account) {
+        Account ref = new Account();
+        ref.setId(account.getId());
+        return ref;
+    }
+
+    private static Category reference(Category category) {
+        Category ref = new Category();
+        ref.setId(category.getId());
+        return ref;
+    }
+}
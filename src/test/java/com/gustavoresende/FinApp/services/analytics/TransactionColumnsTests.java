@@ -0,0 +1,71 @@
+package com.gustavoresende.FinApp.services.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionColumnsTests {
+
+    private static final LocalDate START = LocalDate.of(2023, 1, 1);
+
+    @Test
+    void epochMonthMatchesYearMonth() {
+        for (LocalDate d = LocalDate.of(1899, 12, 1); d.isBefore(LocalDate.of(2101, 1, 1)); d = d.plusDays(13)) {
+            YearMonth ym = YearMonth.from(d);
+            assertEquals(ym.getYear() * 12 + ym.getMonthValue() - 1, TransactionColumns.epochMonth((int) d.toEpochDay()), d.toString());
+        }
+    }
+
+    // Acima do limiar a soma é paralela; o resultado precisa ser o mesmo da soma com BigDecimal
+    @Test
+    void sumsMatchBigDecimalReferenceOnParallelPath() {
+        SplittableRandom random = new SplittableRandom(7);
+        int rows = TransactionColumns.PARALLEL_THRESHOLD * 2 + 123;
+        TransactionColumns.Builder builder = new TransactionColumns.Builder(16);
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        LocalDate from = START.plusDays(100);
+        LocalDate to = START.plusDays(600);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 1_000_000), 2);
+            LocalDate date = START.plusDays(random.nextInt(730));
+            boolean isIncome = random.nextInt(4) == 0;
+            builder.add(i + 1, TransactionColumns.toCents(amount), (int) date.toEpochDay(), random.nextInt(30), 1, isIncome);
+            if (!date.isBefore(from) && !date.isAfter(to)) {
+                if (isIncome) {
+                    income = income.add(amount);
+                } else {
+                    expense = expense.add(amount);
+                }
+            }
+        }
+        long[] acc = builder.build().sum((int) from.toEpochDay(), (int) to.toEpochDay());
+
+        assertEquals(income, BigDecimal.valueOf(acc[TransactionColumns.INCOME_CENTS], 2));
+        assertEquals(expense, BigDecimal.valueOf(acc[TransactionColumns.EXPENSE_CENTS], 2));
+    }
+
+    @Test
+    void sumByCategoryGroupsByOrdinalInFirstSeenOrder() {
+        int day = (int) START.toEpochDay();
+        TransactionColumns columns = new TransactionColumns.Builder(0)
+                .add(1L, 1000, day, 20L, 1L, false)
+                .add(2L, 2550, day, 10L, 1L, true)
+                .add(3L, 200, day + 1, 20L, 1L, false)
+                .build();
+        assertArrayEquals(new long[]{2550, 1200, 1, 2}, columns.sum(0, Integer.MAX_VALUE));
+
+        long[] byCategory = columns.sumByCategory(0, Integer.MAX_VALUE);
+        assertEquals(2, columns.categoryCount());
+        assertEquals(20L, columns.categoryId(0));
+        assertArrayEquals(new long[]{0, 1200, 0, 2, 2550, 0, 1, 0}, byCategory);
+        // Fora do período nada é somado
+        assertArrayEquals(new long[]{0, 200, 0, 1}, columns.sum(day + 1, day + 1));
+    }
+}
@@ -0,0 +1,87 @@
+package com.gustavoresende.FinApp.services.categorization;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.CategorySuggestion;
+import com.gustavoresende.FinApp.services.events.TransactionChange;
+import com.gustavoresende.FinApp.services.events.TransactionSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NaiveBayesModelTests {
+
+    private static final long TRANSPORT = 1;
+    private static final long FOOD = 2;
+    private static final long HEALTH = 3;
+
+    @Test
+    void predictsFromHistoryAndSendsUnknownDescriptionsToReview() {
+        NaiveBayesModel model = trained();
+
+        List<CategorySuggestion> suggestions = model.predict(List.of("UBER *TRIP 8812", "Padaria São João", "Farmácia", "Livraria Cultura"), 0.8);
+
+        assertEquals(TRANSPORT, suggestions.get(0).categoryId());
+        assertFalse(suggestions.get(0).review());
+        assertEquals(FOOD, suggestions.get(1).categoryId());
+        assertEquals(HEALTH, suggestions.get(2).categoryId());
+        assertTrue(suggestions.get(3).review(), "Nenhuma palavra conhecida: precisa de revisão");
+        assertTrue(suggestions.get(0).confidence() > 0.8 && suggestions.get(0).confidence() <= 1.0);
+    }
+
+    @Test
+    void emptyModelSuggestsNothing() {
+        CategorySuggestion suggestion = new NaiveBayesModel().predict(List.of("Uber"), 0.8).getFirst();
+
+        assertNull(suggestion.categoryId());
+        assertTrue(suggestion.review());
+    }
+
+    // Recategorizações manuais (edições com categoria nova) mudam a sugestão
+    @Test
+    void recategorizationUpdatesTheModel() {
+        NaiveBayesModel model = new NaiveBayesModel();
+        for (long id = 1; id <= 5; id++) {
+            model.apply(List.of(TransactionChange.created(snapshot(id, "Posto Shell", TRANSPORT))));
+        }
+        assertEquals(TRANSPORT, model.predict(List.of("Shell"), 0.5).getFirst().categoryId());
+
+        for (long id = 1; id <= 5; id++) {
+            model.apply(List.of(TransactionChange.updated(snapshot(id, "Posto Shell", TRANSPORT), snapshot(id, "Posto Shell", FOOD))));
+        }
+        model.apply(List.of(TransactionChange.created(snapshot(6, "Metrô", TRANSPORT))));
+
+        assertEquals(FOOD, model.predict(List.of("Shell"), 0.5).getFirst().categoryId());
+        assertEquals(6, model.documents());
+    }
+
+    @Test
+    void tokenizeSkipsNumbersAndSingleLetters() {
+        assertArrayEquals(NaiveBayesModel.tokenize("uber trip"), NaiveBayesModel.tokenize("UBER * TRIP 8812 x 01/02"));
+    }
+
+    private static NaiveBayesModel trained() {
+        NaiveBayesModel model = new NaiveBayesModel();
+        String[][] history = {
+                {"Uber Trip", "1"}, {"UBER *TRIP", "1"}, {"99 Taxi", "1"}, {"Posto Ipiranga", "1"}, {"Metrô SP", "1"},
+                {"Padaria Real", "2"}, {"Padaria São João", "2"}, {"iFood Restaurante", "2"}, {"Supermercado Dia", "2"},
+                {"Farmácia São João", "3"}, {"Drogaria Raia", "3"}, {"Farmácia Pague Menos", "3"},
+        };
+        for (String[] row : history) {
+            model.learn(row[0], Long.parseLong(row[1]), 1);
+        }
+        return model;
+    }
+
+    private static TransactionSnapshot snapshot(long id, String description, long categoryId) {
+        return new TransactionSnapshot(id, 1L, 1L, categoryId, TransactionType.EXPENSE, BigDecimal.ONE, LocalDate.of(2025, 1, 1),
+                description, false, null, null);
+    }
+}
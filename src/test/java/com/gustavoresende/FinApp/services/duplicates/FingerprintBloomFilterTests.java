@@ -0,0 +1,63 @@
+package com.gustavoresende.FinApp.services.duplicates;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FingerprintBloomFilterTests {
+
+    // Maiúsculas, acentos e pontuação não mudam a impressão digital; conta, tipo e texto mudam
+    @Test
+    void fingerprintIgnoresFormattingOnly() {
+        long fingerprint = Fingerprints.of(1L, TransactionType.EXPENSE, "Padaria Pão de Açúcar");
+
+        assertEquals(fingerprint, Fingerprints.of(1L, TransactionType.EXPENSE, "PADARIA PAO DE ACUCAR"));
+        assertEquals(fingerprint, Fingerprints.of(1L, TransactionType.EXPENSE, "padaria  pão-de-açúcar."));
+        assertNotEquals(fingerprint, Fingerprints.of(2L, TransactionType.EXPENSE, "Padaria Pão de Açúcar"));
+        assertNotEquals(fingerprint, Fingerprints.of(1L, TransactionType.INCOME, "Padaria Pão de Açúcar"));
+        assertNotEquals(fingerprint, Fingerprints.of(1L, TransactionType.EXPENSE, "Padaria Pão de Mel"));
+    }
+
+    // Nenhum falso negativo, inclusive na janela de dias, e falsos positivos perto da taxa pedida
+    @Test
+    void noFalseNegativesAndBoundedFalsePositives() {
+        int items = 50_000;
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(items, 0.01);
+        SplittableRandom random = new SplittableRandom(5);
+        long[] fingerprints = new long[items];
+        long[] days = new long[items];
+        for (int i = 0; i < items; i++) {
+            fingerprints[i] = Fingerprints.of(1L, TransactionType.EXPENSE, "Loja " + i);
+            days[i] = 19_000 + random.nextInt(1000);
+            filter.add(fingerprints[i], days[i]);
+        }
+        for (int i = 0; i < items; i++) {
+            assertTrue(filter.mightContain(fingerprints[i], days[i], days[i]));
+            assertTrue(filter.mightContain(fingerprints[i], days[i] - 2, days[i] + 2));
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(Fingerprints.of(1L, TransactionType.EXPENSE, "Outra " + i), 19_500, 19_500)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < probes * 0.02, "falsos positivos: " + falsePositives);
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    void saturatesAfterCapacity() {
+        FingerprintBloomFilter filter = new FingerprintBloomFilter(1024, 0.01);
+        for (int i = 0; i <= 1024; i++) {
+            filter.add(i, 0);
+        }
+        assertTrue(filter.isSaturated());
+    }
+}
@@ -0,0 +1,92 @@
+package com.gustavoresende.FinApp.services.exports;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.TransactionExportRow;
+import com.gustavoresende.FinApp.services.imports.ImportFormat;
+import com.gustavoresende.FinApp.services.imports.ImportedRow;
+import com.gustavoresende.FinApp.services.imports.StatementReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportWritersTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+
+    private static final List<TransactionExportRow> ROWS = List.of(
+            new TransactionExportRow(1L, DAY, "Padaria", new BigDecimal("12.50"), TransactionType.EXPENSE, "Conta Corrente", "Mercado"),
+            new TransactionExportRow(2L, DAY, "Pão; leite", new BigDecimal("7.00"), TransactionType.EXPENSE, "Conta; Corrente", "Mercado"),
+            new TransactionExportRow(3L, DAY, "Loja \"Boa\", centro", new BigDecimal("1234.56"), TransactionType.INCOME, "Poupança", "Vendas"),
+            new TransactionExportRow(4L, DAY, "Linha 1\nLinha 2\r\nfim", new BigDecimal("3.00"), TransactionType.EXPENSE, "Poupança", null),
+            new TransactionExportRow(5L, DAY, "Tab\te barra \\ e \u0001 controle", new BigDecimal("0.01"), TransactionType.INCOME, "Poupança", "Ações"));
+
+    @Test
+    void csvQuotesSeparatorsQuotesAndNewlines() throws IOException {
+        assertEquals("id;data;descricao;valor;tipo;conta;categoria\n"
+                + "1;2024-06-03;Padaria;12.50;EXPENSE;Conta Corrente;Mercado\n"
+                + "2;2024-06-03;\"Pão; leite\";7.00;EXPENSE;\"Conta; Corrente\";Mercado\n"
+                + "3;2024-06-03;\"Loja \"\"Boa\"\", centro\";1234.56;INCOME;Poupança;Vendas\n"
+                + "4;2024-06-03;\"Linha 1\nLinha 2\r\nfim\";3.00;EXPENSE;Poupança;\n"
+                + "5;2024-06-03;Tab\te barra \\ e \u0001 controle;0.01;INCOME;Poupança;Ações\n", export(ExportFormat.CSV));
+    }
+
+    // O arquivo exportado volta pela importação (a importação lê um registro por linha)
+    @Test
+    void csvRoundTripsThroughTheImporter() throws IOException {
+        List<TransactionExportRow> singleLine = ROWS.stream().filter(r -> r.description().indexOf('\n') < 0).toList();
+        List<ImportedRow> imported = new ArrayList<>();
+        try (StatementReader reader = ImportFormat.CSV.open(new StringReader(export(ExportFormat.CSV, singleLine)))) {
+            while (reader.hasNext()) {
+                imported.add(reader.next());
+            }
+        }
+        assertEquals(singleLine.stream()
+                .map(r -> new ImportedRow(r.date(), r.description(), r.amount(), r.type(), r.categoryName()))
+                .toList(), imported);
+    }
+
+    @Test
+    void ndjsonEscapesOneObjectPerLine() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        String[] lines = export(ExportFormat.NDJSON).split("\n", -1);
+        assertEquals(ROWS.size() + 1, lines.length);
+        assertEquals("", lines[ROWS.size()]);
+        for (int i = 0; i < ROWS.size(); i++) {
+            TransactionExportRow row = ROWS.get(i);
+            JsonNode node = mapper.readTree(lines[i]);
+            assertEquals(row.id(), node.get("id").asLong());
+            assertEquals(row.description(), node.get("description").asText());
+            assertEquals(0, row.amount().compareTo(node.get("amount").decimalValue()));
+            assertEquals(row.accountName(), node.get("account").asText());
+            assertEquals(row.categoryName(), node.get("category").isNull() ? null : node.get("category").asText());
+        }
+        assertEquals("{\"id\":4,\"date\":\"2024-06-03\",\"description\":\"Linha 1\\nLinha 2\\r\\nfim\",\"amount\":3.00,"
+                + "\"type\":\"EXPENSE\",\"account\":\"Poupança\",\"category\":null}", lines[3]);
+        assertTrue(lines[4].contains("\"description\":\"Tab\\te barra \\\\ e \\u0001 controle\""), lines[4]);
+    }
+
+    private static String export(ExportFormat format) throws IOException {
+        return export(format, ROWS);
+    }
+
+    private static String export(ExportFormat format, List<TransactionExportRow> rows) throws IOException {
+        StringWriter out = new StringWriter();
+        ExportWriter writer = format.open(out, new ObjectMapper().getFactory());
+        for (TransactionExportRow row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toString();
+    }
+}
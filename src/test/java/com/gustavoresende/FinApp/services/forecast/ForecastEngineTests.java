@@ -0,0 +1,84 @@
+package com.gustavoresende.FinApp.services.forecast;
+
+import com.gustavoresende.FinApp.models.RecurrenceFrequency;
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.GoalForecast;
+import com.gustavoresende.FinApp.models.dto.GoalStatus;
+import com.gustavoresende.FinApp.models.dto.RecurringRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForecastEngineTests {
+
+    private static final LocalDate AS_OF = LocalDate.of(2025, 1, 15);
+
+    @Test
+    void projectsMonthlyBalancesFromFutureOccurrencesOnly() {
+        List<RecurringRule> rules = List.of(
+                rule(1L, 10L, "1000.00", TransactionType.INCOME, LocalDate.of(2024, 1, 10), null),
+                rule(2L, 10L, "400.00", TransactionType.EXPENSE, LocalDate.of(2024, 1, 5), LocalDate.of(2025, 3, 31)));
+
+        ForecastModel model = ForecastEngine.project(rules, List.of(), AS_OF, 4, 12);
+
+        assertEquals(0, model.cumulativeCents(10L, 0)); // janeiro: ocorrências até o dia 15 já estão no saldo
+        assertEquals(60000, model.cumulativeCents(10L, 1));
+        assertEquals(120000, model.cumulativeCents(10L, 2));
+        assertEquals(220000, model.cumulativeCents(10L, 3)); // despesa encerrada em março
+        assertEquals(0, model.cumulativeCents(99L, 3));
+    }
+
+    @Test
+    void fundsGoalsInDeadlineOrderInOnePass() {
+        List<RecurringRule> rules = List.of(
+                rule(1L, 10L, "1000.00", TransactionType.INCOME, LocalDate.of(2024, 1, 10), null),
+                rule(2L, 10L, "400.00", TransactionType.EXPENSE, LocalDate.of(2024, 1, 5), null));
+        List<GoalStatus> goals = List.of(
+                new GoalStatus(7L, "Reserva", new BigDecimal("600.00"), new BigDecimal("100.00"), null),
+                new GoalStatus(8L, "Viagem", new BigDecimal("1000.00"), BigDecimal.ZERO, LocalDate.of(2025, 2, 28)),
+                new GoalStatus(9L, "Carro", new BigDecimal("90000.00"), BigDecimal.ZERO, LocalDate.of(2026, 1, 1)),
+                new GoalStatus(6L, "Concluída", new BigDecimal("50.00"), new BigDecimal("50.00"), null));
+
+        List<GoalForecast> forecasts = ForecastEngine.project(rules, goals, AS_OF, 2, 24).goals();
+
+        // Saldo acumulado: 05/02 -400, 10/02 600, 05/03 200, 10/03 1200, 05/04 800, 10/04 1800
+        GoalForecast done = forecasts.get(0);
+        assertEquals(AS_OF, done.estimatedCompletion());
+        assertTrue(done.onTrack());
+
+        GoalForecast travel = forecasts.get(1);
+        assertEquals(8L, travel.goalId());
+        assertEquals(LocalDate.of(2025, 3, 10), travel.estimatedCompletion());
+        assertFalse(travel.onTrack());
+
+        GoalForecast car = forecasts.get(2);
+        assertNull(car.estimatedCompletion()); // 90 mil não cabem em 24 meses de 600/mês
+
+        GoalForecast reserve = forecasts.get(3);
+        assertNull(reserve.estimatedCompletion()); // vem depois do carro na fila
+    }
+
+    @Test
+    void firstIndexAfterHandlesEndOfMonth() {
+        LocalDate start = LocalDate.of(2024, 1, 31);
+        for (RecurrenceFrequency frequency : RecurrenceFrequency.values()) {
+            for (LocalDate date = start.minusDays(3); date.isBefore(start.plusYears(3)); date = date.plusDays(5)) {
+                long index = frequency.firstIndexAfter(start, date);
+                assertTrue(frequency.occurrence(start, index).isAfter(date), frequency + " " + date);
+                assertTrue(index == 1 || !frequency.occurrence(start, index - 1).isAfter(date), frequency + " " + date);
+            }
+        }
+    }
+
+    private static RecurringRule rule(Long id, Long accountId, String amount, TransactionType type, LocalDate start, LocalDate end) {
+        return new RecurringRule(id, 1L, accountId, 1L, new BigDecimal(amount), "Regra " + id, start, type,
+                RecurrenceFrequency.MONTHLY, end);
+    }
+}
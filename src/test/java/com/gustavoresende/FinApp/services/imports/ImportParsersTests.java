@@ -0,0 +1,76 @@
+package com.gustavoresende.FinApp.services.imports;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImportParsersTests {
+
+    @Test
+    void amountsInBrazilianAndIsoFormats() {
+        assertEquals(new BigDecimal("1234.56"), ImportParsers.parseAmount("1234.56"));
+        assertEquals(new BigDecimal("-1234.56"), ImportParsers.parseAmount("-1234.56"));
+        assertEquals(new BigDecimal("1234.56"), ImportParsers.parseAmount("1.234,56"));
+        assertEquals(new BigDecimal("1234.56"), ImportParsers.parseAmount("1,234.56"));
+        assertEquals(new BigDecimal("-1234.56"), ImportParsers.parseAmount("R$ -1.234,56"));
+        assertEquals(new BigDecimal("12.5"), ImportParsers.parseAmount("12,5"));
+        assertEquals(new BigDecimal("0.99"), ImportParsers.parseAmount("0,99"));
+    }
+
+    // Separador seguido de exatamente 3 dígitos é de milhar, não 1,234 arredondado para 1,23
+    @Test
+    void thousandsSeparatorAloneIsNotADecimalPoint() {
+        assertEquals(new BigDecimal("1234"), ImportParsers.parseAmount("1,234"));
+        assertEquals(new BigDecimal("1234"), ImportParsers.parseAmount("1.234"));
+        assertEquals(new BigDecimal("-1234567"), ImportParsers.parseAmount("-1.234.567"));
+        assertEquals(new BigDecimal("1234567"), ImportParsers.parseAmount("1,234,567"));
+        assertEquals(new BigDecimal("1234.5678"), ImportParsers.parseAmount("1234.5678"));
+    }
+
+    @Test
+    void malformedValuesAreRejected() {
+        assertNull(ImportParsers.parseAmount("abc"));
+        assertNull(ImportParsers.parseAmount(""));
+        assertNull(ImportParsers.parseAmount("1.2.3,4.5"));
+        assertNull(ImportParsers.parseDate("31/02/2024"));
+        assertNull(ImportParsers.parseDate("ontem"));
+        assertNull(ImportParsers.parseType("transferência"));
+        assertNull(ImportParsers.toRow(LocalDate.of(2024, 1, 10), "Zero", BigDecimal.ZERO, null, null));
+        assertNull(ImportParsers.toRow(LocalDate.now().plusDays(1), "Futura", BigDecimal.TEN, null, null));
+    }
+
+    // Linhas inválidas são contadas e puladas; o tipo vem do sinal quando não informado
+    @Test
+    void csvSkipsMalformedRowsAndInfersType() throws IOException {
+        String csv = """
+                data;descricao;valor;categoria
+                10/01/2024;"Padaria; centro";-12,50;Mercado
+                2024-01-11;Salário;"3.500,00";
+                sem data;Nada;10,00;
+                12/01/2024;Valor ruim;dez reais;
+
+                13/01/2024;Zerada;0,00;
+                """;
+        List<ImportedRow> rows = new ArrayList<>();
+        long skipped;
+        try (StatementReader reader = ImportFormat.CSV.open(new StringReader(csv))) {
+            while (reader.hasNext()) {
+                rows.add(reader.next());
+            }
+            skipped = reader.skipped();
+        }
+        assertEquals(List.of(
+                new ImportedRow(LocalDate.of(2024, 1, 10), "Padaria; centro", new BigDecimal("12.50"), TransactionType.EXPENSE, "Mercado"),
+                new ImportedRow(LocalDate.of(2024, 1, 11), "Salário", new BigDecimal("3500.00"), TransactionType.INCOME, null)), rows);
+        assertEquals(3, skipped);
+    }
+}
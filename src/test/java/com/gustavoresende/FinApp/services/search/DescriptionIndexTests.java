@@ -0,0 +1,119 @@
+package com.gustavoresende.FinApp.services.search;
+
+import com.gustavoresende.FinApp.models.TransactionType;
+import com.gustavoresende.FinApp.models.dto.TransactionSearch;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchHit;
+import com.gustavoresende.FinApp.models.dto.TransactionSearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DescriptionIndexTests {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final String[] WORDS = {"Mercado", "Supermercado", "Padaria", "Farmácia", "São", "João", "Posto", "Uber",
+            "iFood", "Pão", "de", "Açúcar", "Aluguel", "Salário", "Netflix", "Spotify", "Drogaria", "Restaurante", "Café", "123"};
+
+    // Resultado do índice (total e ordem) igual ao de uma varredura com String.contains
+    @Test
+    void searchMatchesBruteForceReference() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<TransactionSearchHit> rows = new ArrayList<>();
+        DescriptionIndex index = new DescriptionIndex(16);
+        for (int i = 0; i < 20_000; i++) {
+            TransactionSearchHit row = row(i + 1, randomDescription(random), random.nextInt(365),
+                    BigDecimal.valueOf(random.nextLong(1, 100_000), 2), 1 + random.nextInt(5));
+            rows.add(row);
+            index.put(row);
+        }
+        String[] queries = {"merc", "mercado", "MERCADO pão", "acucar pao", "sao joao", "ub", "123 cafe", "x", "", "farmacia -- drog"};
+        for (String q : queries) {
+            for (SearchMatch match : SearchMatch.values()) {
+                TransactionSearch query = new TransactionSearch(q, match, 3L, START.plusDays(30), START.plusDays(300),
+                        new BigDecimal("10.00"), new BigDecimal("700.00"));
+                assertSame(reference(rows, query, 25), index.search(query, 25), q + " " + match);
+            }
+        }
+    }
+
+    @Test
+    void prefixOnlyMatchesWordStarts() {
+        DescriptionIndex index = new DescriptionIndex(16);
+        index.put(row(1, "Supermercado Dia", 0, BigDecimal.TEN, 1));
+        index.put(row(2, "Mercado Livre", 1, BigDecimal.TEN, 1));
+
+        assertEquals(1, index.search(search("merc", SearchMatch.PREFIX), 10).matches());
+        assertEquals(2, index.search(search("merc", SearchMatch.SUBSTRING), 10).matches());
+        assertEquals(2L, index.search(search("merc", SearchMatch.PREFIX), 10).items().getFirst().id());
+    }
+
+    @Test
+    void putReplacesByIdAndCompacts() {
+        DescriptionIndex index = new DescriptionIndex(16);
+        int rows = 10_000;
+        for (int i = 1; i <= rows; i++) {
+            index.put(row(i, "Padaria " + i, i % 300, BigDecimal.ONE, 1));
+        }
+        // Substituir quase todos deixa mais da metade dos slots mortos e o índice é reconstruído
+        for (int i = 2; i <= rows; i++) {
+            index.put(row(i, "Farmácia " + i, i % 300, BigDecimal.ONE, 1));
+        }
+
+        assertEquals(rows, index.size());
+        assertEquals(List.of(1L), index.search(search("padaria", SearchMatch.PREFIX), 10).items().stream()
+                .map(TransactionSearchHit::id).toList());
+        assertEquals(rows - 1, index.search(search("farmacia", SearchMatch.PREFIX), 10).matches());
+    }
+
+    private static void assertSame(TransactionSearchResult expected, TransactionSearchResult actual, String message) {
+        assertEquals(expected.matches(), actual.matches(), message);
+        assertEquals(expected.items().stream().map(TransactionSearchHit::id).toList(),
+                actual.items().stream().map(TransactionSearchHit::id).toList(), message);
+    }
+
+    private static TransactionSearchResult reference(List<TransactionSearchHit> rows, TransactionSearch query, int limit) {
+        List<String> terms = List.of(fold(query.text()).trim().split(" +")).stream().filter(t -> !t.isEmpty()).toList();
+        List<TransactionSearchHit> hits = rows.stream()
+                .filter(r -> r.categoryId().equals(query.categoryId()))
+                .filter(r -> !r.date().isBefore(query.from()) && !r.date().isAfter(query.to()))
+                .filter(r -> r.amount().compareTo(query.minAmount()) >= 0 && r.amount().compareTo(query.maxAmount()) <= 0)
+                .filter(r -> {
+                    String text = " " + fold(r.description()) + " ";
+                    return terms.stream().allMatch(t -> text.contains(query.match() == SearchMatch.PREFIX ? " " + t : t));
+                })
+                .sorted(Comparator.comparing(TransactionSearchHit::date).thenComparing(TransactionSearchHit::id).reversed())
+                .toList();
+        return new TransactionSearchResult(hits.size(), hits.subList(0, Math.min(limit, hits.size())));
+    }
+
+    private static String fold(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{Mn}", "").toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", " ");
+    }
+
+    private static String randomDescription(SplittableRandom random) {
+        StringBuilder description = new StringBuilder();
+        int words = 1 + random.nextInt(4);
+        for (int w = 0; w < words; w++) {
+            description.append(w > 0 ? (random.nextBoolean() ? " " : " - ") : "").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    private static TransactionSearch search(String text, SearchMatch match) {
+        return new TransactionSearch(text, match, null, null, null, null, null);
+    }
+
+    private static TransactionSearchHit row(long id, String description, int day, BigDecimal amount, long categoryId) {
+        return new TransactionSearchHit(id, START.plusDays(day), description, amount, TransactionType.EXPENSE, 1L, categoryId);
+    }
+}